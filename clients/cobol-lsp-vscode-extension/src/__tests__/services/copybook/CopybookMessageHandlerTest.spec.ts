@@ -12,7 +12,10 @@
  *   Broadcom, Inc. - initial API and implementation
  */
 
-import { resolveCopybookHandler } from "../../../services/copybook/CopybookMessageHandler";
+import {
+  resolveCopybookHandler,
+  resolveCopybooksHandler,
+} from "../../../services/copybook/CopybookMessageHandler";
 import { CopybookURI } from "../../../services/copybook/CopybookURI";
 import { SettingsService } from "../../../services/Settings";
 import { searchCopybookInWorkspace } from "../../../services/util/FSUtils";
@@ -88,4 +91,21 @@ describe("Test the copybook message handler", () => {
       ),
     ).toBe("Downloaded USS copybook content");
   });
+
+  it("checks copybooks are resolved in a batch keeping the order", async () => {
+    SettingsService.getCopybookExtension = jest.fn().mockReturnValue([".cpy"]);
+    SettingsService.getCopybookLocalPath = jest
+      .fn()
+      .mockReturnValue("/configured/path/from/setting");
+    (searchCopybookInWorkspace as any) = jest
+      .fn()
+      .mockImplementation((copybookName: string) => copybookName + ".cpy");
+    expect(
+      await resolveCopybooksHandler(
+        "cobolFileName",
+        ["first", "second"],
+        "dialectType",
+      ),
+    ).toEqual(["first.cpy", "second.cpy"]);
+  });
 });
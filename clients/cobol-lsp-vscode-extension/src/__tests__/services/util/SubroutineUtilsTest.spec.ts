@@ -13,7 +13,10 @@
  */
 
 import * as vscode from "vscode";
-import { resolveSubroutineURI } from "../../../services/util/SubroutineUtils";
+import {
+  resolveSubroutineURI,
+  resolveSubroutineURIs,
+} from "../../../services/util/SubroutineUtils";
 import { searchCopybookInWorkspace } from "../../../services/util/FSUtils";
 import { COBOL_EXT_ARRAY } from "../../../constants";
 
@@ -33,4 +36,21 @@ describe("SubroutineUtils", () => {
       COBOL_EXT_ARRAY,
     );
   });
+
+  it("search in workspace by names", () => {
+    const folders = ["folder"];
+    vscode.workspace.getConfiguration = jest.fn().mockReturnValue({
+      get: jest.fn().mockReturnValue(folders),
+    });
+    (searchCopybookInWorkspace as any) = jest
+      .fn()
+      .mockImplementation((name: string) =>
+        name === "present" ? "theURI" : undefined,
+      );
+
+    expect(resolveSubroutineURIs(["present", "missing"])).toEqual([
+      "theURI",
+      undefined,
+    ]);
+  });
 });
@@ -28,6 +28,7 @@ import { initSmartTab, RangeTabShiftStore } from "./commands/SmartTabCommand";
 import {
   downloadCopybookHandler,
   resolveCopybookHandler,
+  resolveCopybooksHandler,
 } from "./services/copybook/CopybookMessageHandler";
 import { DialectRegistry } from "./services/DialectRegistry";
 import { LanguageClientService } from "./services/LanguageClientService";
@@ -37,7 +38,10 @@ import {
   pickSnippet,
   SnippetCompletionProvider,
 } from "./services/snippetcompletion/SnippetCompletionProvider";
-import { resolveSubroutineURI } from "./services/util/SubroutineUtils";
+import {
+  resolveSubroutineURI,
+  resolveSubroutineURIs,
+} from "./services/util/SubroutineUtils";
 import { ServerRuntimeCodeActionProvider } from "./services/nativeLanguageClient/serverRuntimeCodeActionProvider";
 import { ConfigurationWatcher } from "./services/util/ConfigurationWatcher";
 
@@ -114,10 +118,18 @@ export async function activate(
     "cobol/resolveSubroutine",
     resolveSubroutineURI,
   );
+  languageClientService.addRequestHandler(
+    "cobol/resolveSubroutineBatch",
+    resolveSubroutineURIs,
+  );
   languageClientService.addRequestHandler(
     "copybook/resolve",
     resolveCopybookHandler,
   );
+  languageClientService.addRequestHandler(
+    "copybook/resolveBatch",
+    resolveCopybooksHandler,
+  );
   languageClientService.addRequestHandler(
     "copybook/download",
     downloadCopybookHandler.bind(copyBooksDownloader),
@@ -46,6 +46,18 @@ export async function resolveCopybookHandler(
   return result;
 }
 
+export async function resolveCopybooksHandler(
+  documentUri: string,
+  copybookNames: string[],
+  dialectType: string,
+): Promise<(string | undefined)[]> {
+  return Promise.all(
+    copybookNames.map((copybookName) =>
+      resolveCopybookHandler(documentUri, copybookName, dialectType),
+    ),
+  );
+}
+
 function searchCopybook(
   documentUri: string,
   copybookName: string,
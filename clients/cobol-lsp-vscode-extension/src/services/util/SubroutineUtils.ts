@@ -27,3 +27,12 @@ export function resolveSubroutineURI(name: string): string {
     SettingsService.getSubroutineLocalPath();
   return searchCopybookInWorkspace(name, folders, COBOL_EXT_ARRAY)!;
 }
+
+/**
+ * This function resolves the given subroutines in one go, see {@link resolveSubroutineURI}.
+ * @param names the names of subroutines
+ * @return subroutine file URIs in the order of the names, undefined for the ones not found
+ */
+export function resolveSubroutineURIs(names: string[]): string[] {
+  return names.map(resolveSubroutineURI);
+}
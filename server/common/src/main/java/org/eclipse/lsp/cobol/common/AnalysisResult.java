@@ -16,8 +16,12 @@ package org.eclipse.lsp.cobol.common;
 
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.NodeIndex;
+import org.eclipse.lsp.cobol.common.model.tree.NodePositionIndex;
 import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
 import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp4j.Diagnostic;
@@ -36,4 +40,12 @@ public class AnalysisResult {
   @Builder.Default Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
   @Builder.Default Node rootNode = new RootNode();
   @EqualsAndHashCode.Exclude @Builder.Default Map<String, SymbolTable> symbolTableMap = new HashMap<>();
+
+  /** The index of the tree nodes by position, built on the first request */
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(lazy = true)
+  NodePositionIndex positionIndex = NodePositionIndex.build(rootNode);
+
+  /** The index of the tree nodes by type, class and uri, built on the first request */
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(lazy = true)
+  NodeIndex nodeIndex = NodeIndex.build(rootNode);
 }
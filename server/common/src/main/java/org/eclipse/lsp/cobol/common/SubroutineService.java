@@ -31,6 +31,14 @@ public interface SubroutineService {
    */
   Optional<String> getUri(String name);
 
+  /**
+   * Retrieve the URIs of the given subroutines at once, so the following {@link #getUri} calls are served from the
+   * cache.
+   *
+   * @param names the subroutine names
+   */
+  void prefetch(Collection<String> names);
+
   /**
    * Gets all known subroutine names.
    *
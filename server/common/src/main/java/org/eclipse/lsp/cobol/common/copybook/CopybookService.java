@@ -47,6 +47,22 @@ public interface CopybookService {
       @NonNull String documentUri,
       boolean preprocess);
 
+  /**
+   * Start resolving the given copybooks of the program concurrently, so the following {@link #resolve} calls
+   * don't wait for them one by one. The copybooks which are already cached are skipped.
+   *
+   * @param programDocumentUri - the currently processing program document
+   * @param copybookNames - the names of the copybooks the program is expected to use
+   */
+  void prefetch(@NonNull String programDocumentUri, @NonNull Collection<CopybookName> copybookNames);
+
+  /**
+   * Forget the prefetched copybooks of the program which were not resolved by its analysis.
+   *
+   * @param programDocumentUri - the program document which analysis is finished
+   */
+  void releasePrefetched(@NonNull String programDocumentUri);
+
   /**
    * Store the copybookModel in cache. Copybook depends on a document from where it is imported.
    *
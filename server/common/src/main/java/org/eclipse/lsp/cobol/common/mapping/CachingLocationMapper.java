@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.mapping;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the ranges of an extended document to their original locations and remembers the results. A tree visitor maps
+ * the same ranges many times: the nested rules that start with the same token, or span the same tokens, produce equal
+ * ranges. The cache is meant for a single pass over a document that is not modified meanwhile, so it should not outlive
+ * the visitor that created it.
+ */
+public final class CachingLocationMapper {
+  private final ExtendedDocument document;
+  private final Map<Range, Location> locations = new HashMap<>();
+
+  public CachingLocationMapper(ExtendedDocument document) {
+    this.document = document;
+  }
+
+  /**
+   * Map a range in the extended document to its original location
+   *
+   * @param range in the extended document
+   * @return a new location of original source, it doesn't share the range or the positions with the cached one
+   */
+  public Location mapLocation(Range range) {
+    Location location = locations.get(range);
+    if (location == null) {
+      location = document.mapLocation(range);
+      locations.put(copy(range), location);
+    }
+    return new Location(location.getUri(), copy(location.getRange()));
+  }
+
+  private static Range copy(Range range) {
+    return new Range(copy(range.getStart()), copy(range.getEnd()));
+  }
+
+  private static Position copy(Position position) {
+    return new Position(position.getLine(), position.getCharacter());
+  }
+}
@@ -22,7 +22,6 @@ import org.eclipse.lsp4j.Range;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Extended Text contains information about original text and current text with the mapping
@@ -45,6 +44,26 @@ public class ExtendedText {
     replacers = ImmutableList.of(new OneToOneReplaceStrategy(), new SingleLineReplaceStrategy(), new MultilineReplaceStrategy());
   }
 
+  private ExtendedText(String uri, List<Mapper> mappers, List<ReplaceStrategy> replacers) {
+    this.uri = uri;
+    this.mappers = mappers;
+    this.replacers = replacers;
+  }
+
+  /**
+   * Creates an independent copy of the extended text. Modifications of the copy, including the insertion into
+   * another text, don't affect the original text.
+   *
+   * @return a new extended text
+   */
+  public ExtendedText copy() {
+    ExtendedText result = new ExtendedText(uri, mappers, replacers);
+    for (ExtendedTextLine line : lines) {
+      result.lines.add(line.copy());
+    }
+    return result;
+  }
+
   @Override
   public String toString() {
     final StringBuilder builder = new StringBuilder();
@@ -99,7 +118,7 @@ public class ExtendedText {
   }
 
   private ExtendedTextLine updateLine(ExtendedTextLine textLine, Location initialLocation) {
-    textLine.getCharacters().forEach(c -> c.getInitialLocationMap().put(uri, initialLocation));
+    textLine.getCharacters().forEach(c -> c.putInitialLocation(uri, initialLocation));
     return textLine;
   }
 
@@ -287,11 +306,6 @@ public class ExtendedText {
       return null;
     }
     int shift = character - (line.size() - 1);
-    character = line.size() - 1;
-    MappedCharacter result = line.getCharacterAt(character);
-    Position originalPos = Optional.ofNullable(result.getOriginalPosition())
-        .map(op -> new Position(op.getLine(), op.getCharacter() + shift))
-        .orElse(null);
-    return new MappedCharacter(result.getCharacter(), originalPos, result.getUri(), result.getParent(), result.getInstantLocation(), result.getInitialLocationMap());
+    return line.getCharacterAt(line.size() - 1).shiftedCopy(shift);
   }
 }
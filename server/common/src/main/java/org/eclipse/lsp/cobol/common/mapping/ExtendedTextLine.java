@@ -18,24 +18,26 @@ import lombok.Getter;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Extended Text Line with symbols
  */
 class ExtendedTextLine {
   @Getter
-  private final List<MappedCharacter> characters = new ArrayList<>();
+  private final List<MappedCharacter> characters;
 
-  private ExtendedTextLine() {
+  private ExtendedTextLine(int capacity) {
+    characters = new ArrayList<>(capacity);
   }
 
   ExtendedTextLine(String line, Location instantLocation, String uri) {
+    characters = new ArrayList<>(line.length());
     for (int i = 0; i < line.length(); i++) {
       char character = line.charAt(i);
       checkCharacter(character);
-      characters.add(new MappedCharacter(character, null, uri, this, instantLocation, new HashMap<>()));
+      characters.add(new MappedCharacter(character, uri, this, instantLocation));
     }
   }
 
@@ -44,11 +46,11 @@ class ExtendedTextLine {
   }
 
   ExtendedTextLine(String line, Position start, String uri) {
+    characters = new ArrayList<>(line.length());
     for (int i = 0; i < line.length(); i++) {
       char character = line.charAt(i);
       checkCharacter(character);
-      Position position = new Position(start.getLine(), start.getCharacter() + i);
-      characters.add(new MappedCharacter(character, position, uri, this, null, new HashMap<>()));
+      characters.add(new MappedCharacter(character, start.getLine(), start.getCharacter() + i, uri, this, null));
     }
   }
 
@@ -71,7 +73,7 @@ class ExtendedTextLine {
 
   @Override
   public String toString() {
-    final StringBuilder builder = new StringBuilder();
+    final StringBuilder builder = new StringBuilder(characters.size());
     for (MappedCharacter character : characters) {
       builder.append(character.getCharacter());
     }
@@ -114,12 +116,12 @@ class ExtendedTextLine {
    * @return a new line object
    */
   ExtendedTextLine subline(int start, int end) {
-    List<MappedCharacter> newCharacters = characters.subList(start, end + 1).stream()
-        .map(MappedCharacter::shadowCopy).collect(Collectors.toList());
-
-    ExtendedTextLine result = new ExtendedTextLine();
-    result.characters.addAll(newCharacters);
-    result.characters.forEach(c -> c.setParent(result));
+    ExtendedTextLine result = new ExtendedTextLine(Math.max(0, end - start + 1));
+    for (MappedCharacter character : characters.subList(start, end + 1)) {
+      MappedCharacter copy = character.shadowCopy();
+      copy.setParent(result);
+      result.characters.add(copy);
+    }
     return result;
   }
 
@@ -153,29 +155,44 @@ class ExtendedTextLine {
    * @return a line object
    */
   ExtendedTextLine shadowCopy() {
-    ExtendedTextLine result = new ExtendedTextLine();
-    result.characters.clear();
+    ExtendedTextLine result = new ExtendedTextLine(characters.size());
     result.characters.addAll(characters);
     return result;
   }
 
+  /**
+   * Creates an independent copy of the line object that doesn't share characters with the original line
+   * @return a line object
+   */
+  ExtendedTextLine copy() {
+    ExtendedTextLine result = new ExtendedTextLine(characters.size());
+    for (MappedCharacter character : characters) {
+      result.characters.add(character.copy(result));
+    }
+    return result;
+  }
+
   /**
    * Add spaces to the beginning of the line
    * @param character - a padding position
    */
   void addPadding(int character) {
+    List<MappedCharacter> padding = new ArrayList<>(character);
     for (int i = 0; i < character; i++) {
-      characters.add(0, new MappedCharacter(' ', new Position(0, 0), "", this, null, new HashMap<>()));
+      padding.add(new MappedCharacter(' ', 0, 0, "", this, null));
     }
+    characters.addAll(0, padding);
   }
 
   /**
    * Trim spaces from the beginning of the line
    */
   void trim() {
-    while (characters.size() > 0 && characters.get(0).getCharacter() == ' ') {
-      characters.remove(0);
+    int count = 0;
+    while (count < characters.size() && characters.get(count).getCharacter() == ' ') {
+      count++;
     }
+    characters.subList(0, count).clear();
   }
 
   /**
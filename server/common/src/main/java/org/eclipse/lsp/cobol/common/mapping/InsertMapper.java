@@ -23,8 +23,8 @@ import org.eclipse.lsp4j.Range;
 class InsertMapper implements Mapper {
   @Override
   public Location apply(MappedCharacter startCharacter, MappedCharacter endCharacter) {
-    if (startCharacter != null && !startCharacter.getUri().equals(endCharacter.getUri()) && startCharacter.getOriginalPosition() != null) {
-      Location location = endCharacter.getInitialLocationMap().get(startCharacter.getUri());
+    if (startCharacter != null && !startCharacter.getUri().equals(endCharacter.getUri()) && startCharacter.hasOriginalPosition()) {
+      Location location = endCharacter.getInitialLocation(startCharacter.getUri());
       if (location != null) {
         return new Location(startCharacter.getUri(), new Range(startCharacter.getOriginalPosition(), location.getRange().getEnd()));
       }
@@ -14,30 +14,127 @@
  */
 package org.eclipse.lsp.cobol.common.mapping;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-
+import lombok.Getter;
+import lombok.Setter;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
- * Mapped character class with original position information
+ * Mapped character class with original position information. The original position is kept as a pair of primitive
+ * values and the initial location map is created on the first put, so a character of a plain source line costs a
+ * single small object. Shadow copies share the map of the character they were copied from through a reference to
+ * it, so copying doesn't allocate the map either. Characters are compared by identity.
  */
-@Data
-@AllArgsConstructor
 class MappedCharacter {
-  private final UUID id = UUID.randomUUID();
+  private static final int NO_POSITION = -1;
+
+  @Getter
+  @Setter
   private char character;
-  private Position originalPosition;
-  private String uri;
+  private final int originalLine;
+  private final int originalCharacter;
+  @Getter
+  private final String uri;
+  @Getter
+  @Setter
   private ExtendedTextLine parent;
-  private Location instantLocation;
+  @Getter
+  private final Location instantLocation;
+  // the character that keeps the initial location map, this one or the one it is a shadow copy of
+  private final MappedCharacter locationOwner;
   private Map<String, Location> initialLocationMap;
 
+  private MappedCharacter(char character, int originalLine, int originalCharacter, String uri, ExtendedTextLine parent,
+                          Location instantLocation, MappedCharacter locationOwner,
+                          Map<String, Location> initialLocationMap) {
+    this.character = character;
+    this.originalLine = originalLine;
+    this.originalCharacter = originalCharacter;
+    this.uri = uri;
+    this.parent = parent;
+    this.instantLocation = instantLocation;
+    this.locationOwner = locationOwner == null ? this : locationOwner;
+    this.initialLocationMap = initialLocationMap;
+  }
+
+  MappedCharacter(char character, int originalLine, int originalCharacter, String uri, ExtendedTextLine parent,
+                  Location instantLocation) {
+    this(character, originalLine, originalCharacter, uri, parent, instantLocation, null, null);
+  }
+
+  MappedCharacter(char character, String uri, ExtendedTextLine parent, Location instantLocation) {
+    this(character, NO_POSITION, NO_POSITION, uri, parent, instantLocation);
+  }
+
+  /**
+   * Returns the position of the character in the original source
+   * @return a new position object or null if the character doesn't have an original position
+   */
+  Position getOriginalPosition() {
+    return hasOriginalPosition() ? new Position(originalLine, originalCharacter) : null;
+  }
+
+  /**
+   * Checks if the character has a position in the original source
+   * @return true if the original position is known
+   */
+  boolean hasOriginalPosition() {
+    return originalLine != NO_POSITION;
+  }
+
+  /**
+   * Returns the location of the statement that initially introduced this character into the document with given uri
+   * @param documentUri - the document uri
+   * @return the location or null if it is unknown
+   */
+  Location getInitialLocation(String documentUri) {
+    Map<String, Location> locations = locationOwner.initialLocationMap;
+    return locations == null ? null : locations.get(documentUri);
+  }
+
+  /**
+   * Stores the location of the statement that initially introduced this character into the document with given uri
+   * @param documentUri - the document uri
+   * @param location - the statement location
+   */
+  void putInitialLocation(String documentUri, Location location) {
+    if (locationOwner.initialLocationMap == null) {
+      locationOwner.initialLocationMap = new HashMap<>();
+    }
+    locationOwner.initialLocationMap.put(documentUri, location);
+  }
+
+  /**
+   * Creates a character copy that shares the initial location map with this character
+   * @return a new character
+   */
   MappedCharacter shadowCopy() {
-    return new MappedCharacter(character, originalPosition, uri, parent, instantLocation, initialLocationMap);
+    return new MappedCharacter(character, originalLine, originalCharacter, uri, parent, instantLocation, locationOwner,
+        null);
+  }
+
+  /**
+   * Creates an independent character copy that belongs to the given line
+   * @param newParent - a line of the new character
+   * @return a new character
+   */
+  MappedCharacter copy(ExtendedTextLine newParent) {
+    Map<String, Location> locations = locationOwner.initialLocationMap;
+    return new MappedCharacter(character, originalLine, originalCharacter, uri, newParent, instantLocation, null,
+        locations == null ? null : new HashMap<>(locations));
+  }
+
+  /**
+   * Creates a character copy with the original position shifted by given number of characters. The copy shares the
+   * initial location map with this character.
+   * @param shift - a number of characters to shift
+   * @return a new character
+   */
+  MappedCharacter shiftedCopy(int shift) {
+    return new MappedCharacter(character, originalLine, hasOriginalPosition() ? originalCharacter + shift : NO_POSITION,
+        uri, parent, instantLocation, locationOwner, null);
   }
 }
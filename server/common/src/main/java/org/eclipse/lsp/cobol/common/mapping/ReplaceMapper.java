@@ -30,14 +30,14 @@ class ReplaceMapper implements Mapper {
       endCharacter = startCharacter;
     }
 
-    if (startCharacter.getOriginalPosition() == null || endCharacter.getOriginalPosition() == null) {
+    if (!startCharacter.hasOriginalPosition() || !endCharacter.hasOriginalPosition()) {
       if (startCharacter.getInstantLocation() == null && endCharacter.getInstantLocation() == null) {
         throw new RuntimeException("Cannot find original position");
       }
-      if (endCharacter.getOriginalPosition() != null) {
+      if (endCharacter.hasOriginalPosition()) {
         Range calculatedRange = new Range(startCharacter.getInstantLocation().getRange().getStart(), endCharacter.getOriginalPosition());
         return new Location(startCharacter.getUri(), calculatedRange);
-      } else if (startCharacter.getOriginalPosition() != null) {
+      } else if (startCharacter.hasOriginalPosition()) {
         Range calculatedRange = new Range(startCharacter.getOriginalPosition(), endCharacter.getInstantLocation().getRange().getEnd());
         return new Location(startCharacter.getUri(), calculatedRange);
       }
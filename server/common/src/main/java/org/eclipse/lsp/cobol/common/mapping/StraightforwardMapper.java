@@ -15,7 +15,6 @@
 package org.eclipse.lsp.cobol.common.mapping;
 
 import org.eclipse.lsp4j.Location;
-import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 /**
@@ -25,10 +24,7 @@ class StraightforwardMapper implements Mapper {
 
   @Override
   public Location apply(MappedCharacter startCharacter, MappedCharacter endCharacter) {
-    Position startPosition = new Position(startCharacter.getOriginalPosition().getLine(), startCharacter.getOriginalPosition().getCharacter());
-    Position endPosition = new Position(endCharacter.getOriginalPosition().getLine(), endCharacter.getOriginalPosition().getCharacter());
-
-    Range originalRange = new Range(startPosition, endPosition);
+    Range originalRange = new Range(startCharacter.getOriginalPosition(), endCharacter.getOriginalPosition());
     return new Location(startCharacter.getUri(), originalRange);
   }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model;
+
+import org.eclipse.lsp4j.Location;
+
+import java.util.*;
+
+/**
+ * A list of locations that keeps every location only once. The locations are stored in the
+ * insertion order and indexed by a hash set, so the check for duplicates takes constant time, and
+ * collecting thousands of references of a symbol stays linear. Adding a location that is already
+ * in the list returns false and leaves the list unchanged. Removing elements is not supported.
+ */
+public final class UniqueLocationList extends AbstractList<Location> implements RandomAccess {
+  private final List<Location> locations = new ArrayList<>();
+  private final Set<Location> index = new HashSet<>();
+
+  @Override
+  public boolean add(Location location) {
+    if (!index.add(location)) return false;
+    locations.add(location);
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public boolean contains(Object location) {
+    return index.contains(location);
+  }
+
+  @Override
+  public Location get(int i) {
+    return locations.get(i);
+  }
+
+  @Override
+  public int size() {
+    return locations.size();
+  }
+}
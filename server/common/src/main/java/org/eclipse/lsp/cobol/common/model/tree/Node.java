@@ -21,11 +21,11 @@ import lombok.ToString;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.NodeType;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** The class represents a Node in source structure tree. */
 @ToString
@@ -87,7 +87,9 @@ public abstract class Node {
    * @return the stream with all underline children.
    */
   public Stream<Node> getDepthFirstStream() {
-    return Stream.concat(Stream.of(this), children.stream().flatMap(Node::getDepthFirstStream));
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(new DepthFirstIterator(this), Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
   }
 
   /**
@@ -119,4 +121,44 @@ public abstract class Node {
   public Optional<ProgramNode> getProgram() {
     return getNearestParentByType(NodeType.PROGRAM).map(ProgramNode.class::cast);
   }
+
+  /**
+   * Pre-order iterator over a subtree that keeps the pending children on an explicit stack, so the cost of every step
+   * does not depend on the depth of the tree.
+   */
+  private static final class DepthFirstIterator implements Iterator<Node> {
+    private final Deque<Iterator<Node>> pending = new ArrayDeque<>();
+    private Node next;
+
+    private DepthFirstIterator(Node root) {
+      next = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+      while (!pending.isEmpty()) {
+        Iterator<Node> siblings = pending.peek();
+        if (siblings.hasNext()) {
+          next = siblings.next();
+          return true;
+        }
+        pending.pop();
+      }
+      return false;
+    }
+
+    @Override
+    public Node next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Node node = next;
+      next = null;
+      pending.push(node.children.iterator());
+      return node;
+    }
+  }
 }
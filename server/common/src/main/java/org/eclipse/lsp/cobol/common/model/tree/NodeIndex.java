@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.NodeType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot index of the syntax tree nodes built with a single traversal. The nodes are numbered in the depth-first
+ * pre-order, i.e. in the order of {@link Node#getDepthFirstStream()}, and every query returns the nodes in that order.
+ * Besides the lookups by node type, node class and locality URI, the index keeps the subtree bounds of every node, so
+ * the nodes of a given type below some node are found without walking the subtree.
+ *
+ * <p>The index does not follow the later modifications of the tree, so it should be built only for the trees that are
+ * not changed anymore, like the ones of the finished analysis.
+ */
+public final class NodeIndex {
+  private static final NodeIndex EMPTY = new NodeIndex(new Node[0], new int[0]);
+  private static final int[] NO_ORDINALS = new int[0];
+
+  private final Node[] nodes;
+  private final int[] subtreeEnds;
+  private final Map<Node, Integer> ordinals;
+  private final Map<NodeType, int[]> typeOrdinals;
+  private final Map<String, int[]> uriOrdinals;
+  private final Map<Class<?>, int[]> classOrdinals = new ConcurrentHashMap<>();
+
+  private NodeIndex(Node[] nodes, int[] subtreeEnds) {
+    this.nodes = nodes;
+    this.subtreeEnds = subtreeEnds;
+    ordinals = new IdentityHashMap<>(nodes.length);
+    Map<NodeType, List<Integer>> byType = new EnumMap<>(NodeType.class);
+    Map<String, List<Integer>> byUri = new HashMap<>();
+    for (int i = 0; i < nodes.length; i++) {
+      Node node = nodes[i];
+      ordinals.put(node, i);
+      byType.computeIfAbsent(node.getNodeType(), k -> new ArrayList<>()).add(i);
+      Locality locality = node.getLocality();
+      if (locality != null && locality.getUri() != null) {
+        byUri.computeIfAbsent(locality.getUri(), k -> new ArrayList<>()).add(i);
+      }
+    }
+    typeOrdinals = new EnumMap<>(NodeType.class);
+    byType.forEach((type, list) -> typeOrdinals.put(type, toArray(list)));
+    uriOrdinals = new HashMap<>();
+    byUri.forEach((uri, list) -> uriOrdinals.put(uri, toArray(list)));
+  }
+
+  /**
+   * Build the index of the tree
+   *
+   * @param rootNode the root of the tree, may be null
+   * @return the index
+   */
+  public static NodeIndex build(Node rootNode) {
+    if (rootNode == null) {
+      return EMPTY;
+    }
+    List<Node> order = new ArrayList<>();
+    List<Integer> ends = new ArrayList<>();
+    Deque<Integer> open = new ArrayDeque<>();
+    Deque<Iterator<Node>> pending = new ArrayDeque<>();
+    visit(rootNode, order, ends, open, pending);
+    while (!pending.isEmpty()) {
+      Iterator<Node> children = pending.peek();
+      if (children.hasNext()) {
+        visit(children.next(), order, ends, open, pending);
+      } else {
+        pending.pop();
+        ends.set(open.pop(), order.size());
+      }
+    }
+    int[] subtreeEnds = new int[ends.size()];
+    for (int i = 0; i < subtreeEnds.length; i++) {
+      subtreeEnds[i] = ends.get(i);
+    }
+    return new NodeIndex(order.toArray(new Node[0]), subtreeEnds);
+  }
+
+  private static void visit(
+      Node node, List<Node> order, List<Integer> ends, Deque<Integer> open, Deque<Iterator<Node>> pending) {
+    open.push(order.size());
+    order.add(node);
+    ends.add(0);
+    pending.push(node.getChildren().iterator());
+  }
+
+  /**
+   * Get the number of the indexed nodes
+   *
+   * @return the size of the tree
+   */
+  public int size() {
+    return nodes.length;
+  }
+
+  /**
+   * Get all the indexed nodes
+   *
+   * @return the stream of the nodes in the depth-first order
+   */
+  public Stream<Node> stream() {
+    return Arrays.stream(nodes);
+  }
+
+  /**
+   * Get the position of the node in the depth-first order
+   *
+   * @param node the node to find
+   * @return the ordinal of the node or -1 if the node is not indexed
+   */
+  public int ordinalOf(Node node) {
+    Integer ordinal = ordinals.get(node);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  /**
+   * Get all the nodes of the given type
+   *
+   * @param type the node type
+   * @return the list of the nodes
+   */
+  public List<Node> getNodes(NodeType type) {
+    return view(typeOrdinals.getOrDefault(type, NO_ORDINALS), 0, -1);
+  }
+
+  /**
+   * Get the nodes of the given type that belong to the subtree of the given node, including the node itself
+   *
+   * @param subtreeRoot the root of the subtree
+   * @param type the node type
+   * @return the list of the nodes, empty if the subtree root is not indexed
+   */
+  public List<Node> getNodes(Node subtreeRoot, NodeType type) {
+    int ordinal = ordinalOf(subtreeRoot);
+    if (ordinal < 0) {
+      return Collections.emptyList();
+    }
+    return view(typeOrdinals.getOrDefault(type, NO_ORDINALS), ordinal, subtreeEnds[ordinal]);
+  }
+
+  /**
+   * Get all the nodes that are instances of the given class
+   *
+   * @param type the node class
+   * @param <T> the type of the nodes
+   * @return the list of the nodes
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getNodes(Class<T> type) {
+    int[] found = classOrdinals.computeIfAbsent(type, k -> select(i -> type.isInstance(nodes[i])));
+    return (List<T>) (List<?>) view(found, 0, -1);
+  }
+
+  /**
+   * Get all the nodes with the locality in the given document
+   *
+   * @param uri the document uri
+   * @return the list of the nodes
+   */
+  public List<Node> getNodesByUri(String uri) {
+    return view(uriOrdinals.getOrDefault(uri, NO_ORDINALS), 0, -1);
+  }
+
+  private int[] select(IntPredicate predicate) {
+    List<Integer> selected = new ArrayList<>();
+    for (int i = 0; i < nodes.length; i++) {
+      if (predicate.test(i)) {
+        selected.add(i);
+      }
+    }
+    return toArray(selected);
+  }
+
+  private List<Node> view(int[] selected, int fromOrdinal, int toOrdinal) {
+    int from = 0;
+    int to = selected.length;
+    if (toOrdinal >= 0) {
+      from = lowerBound(selected, fromOrdinal);
+      to = lowerBound(selected, toOrdinal);
+    }
+    if (from >= to) {
+      return Collections.emptyList();
+    }
+    return new OrdinalList(nodes, selected, from, to);
+  }
+
+  private static int lowerBound(int[] sorted, int value) {
+    int position = Arrays.binarySearch(sorted, value);
+    return position < 0 ? -position - 1 : position;
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    int[] result = new int[list.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = list.get(i);
+    }
+    return result;
+  }
+
+  /** An unmodifiable view of the nodes with the given ordinals */
+  private static final class OrdinalList extends AbstractList<Node> implements RandomAccess {
+    private final Node[] nodes;
+    private final int[] ordinals;
+    private final int from;
+    private final int to;
+
+    private OrdinalList(Node[] nodes, int[] ordinals, int from, int to) {
+      this.nodes = nodes;
+      this.ordinals = ordinals;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public Node get(int index) {
+      if (index < 0 || index >= to - from) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+      return nodes[ordinals[from + index]];
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.*;
+
+/**
+ * A spatial index of the syntax tree nodes by their localities. For every URI the node ranges are kept in an implicit
+ * interval tree ordered by the range start, so a position lookup visits only the nodes that can contain it. A lookup
+ * returns the same node as {@link org.eclipse.lsp.cobol.common.utils.RangeUtils#findNodeByPosition}: among the nodes
+ * that contain the position, the one that comes first in the post-order traversal of the tree.
+ */
+public final class NodePositionIndex {
+  private static final NodePositionIndex EMPTY = new NodePositionIndex(Collections.emptyMap());
+
+  private final Map<String, UriIndex> uriIndexes;
+
+  private NodePositionIndex(Map<String, UriIndex> uriIndexes) {
+    this.uriIndexes = uriIndexes;
+  }
+
+  /**
+   * Build the index of the tree
+   *
+   * @param rootNode the root of the tree, may be null
+   * @return the index
+   */
+  public static NodePositionIndex build(Node rootNode) {
+    if (rootNode == null) {
+      return EMPTY;
+    }
+    Map<String, List<Entry>> entries = new HashMap<>();
+    collect(rootNode, entries, new int[1]);
+    Map<String, UriIndex> uriIndexes = new HashMap<>();
+    entries.forEach((uri, list) -> uriIndexes.put(uri, new UriIndex(list)));
+    return new NodePositionIndex(uriIndexes);
+  }
+
+  /**
+   * Find the syntax tree node that contains the position.
+   *
+   * @param uri the uri of the node locality
+   * @param position a cursor position
+   * @return the found node
+   */
+  public Optional<Node> findNodeByPosition(String uri, Position position) {
+    UriIndex index = uriIndexes.get(uri);
+    return index == null ? Optional.empty() : Optional.ofNullable(index.find(key(position)));
+  }
+
+  private static void collect(Node node, Map<String, List<Entry>> entries, int[] order) {
+    for (Node child : node.getChildren()) {
+      collect(child, entries, order);
+    }
+    Locality locality = node.getLocality();
+    int nodeOrder = order[0]++;
+    if (locality == null || locality.getUri() == null || locality.getRange() == null) {
+      return;
+    }
+    Range range = locality.getRange();
+    entries.computeIfAbsent(locality.getUri(), k -> new ArrayList<>())
+        .add(new Entry(node, key(range.getStart()), key(range.getEnd()), nodeOrder));
+  }
+
+  private static long key(Position position) {
+    return ((long) position.getLine() << 32) | (position.getCharacter() & 0xFFFFFFFFL);
+  }
+
+  /**
+   * A node with its range and post-order number
+   */
+  private static final class Entry {
+    private final Node node;
+    private final long start;
+    private final long end;
+    private final int order;
+
+    private Entry(Node node, long start, long end, int order) {
+      this.node = node;
+      this.start = start;
+      this.end = end;
+      this.order = order;
+    }
+  }
+
+  /**
+   * The nodes of one URI sorted by the range start. The element in the middle of every index range is the root of the
+   * subtree built from that range, and maxEnd keeps the farthest range end in the subtree.
+   */
+  private static final class UriIndex {
+    private final Node[] nodes;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final int[] orders;
+
+    private UriIndex(List<Entry> entries) {
+      entries.sort(Comparator.comparingLong((Entry e) -> e.start).thenComparingInt(e -> e.order));
+      int size = entries.size();
+      nodes = new Node[size];
+      starts = new long[size];
+      ends = new long[size];
+      maxEnds = new long[size];
+      orders = new int[size];
+      for (int i = 0; i < size; i++) {
+        Entry entry = entries.get(i);
+        nodes[i] = entry.node;
+        starts[i] = entry.start;
+        ends[i] = entry.end;
+        orders[i] = entry.order;
+      }
+      fillMaxEnds(0, size - 1);
+    }
+
+    private long fillMaxEnds(int low, int high) {
+      if (low > high) {
+        return Long.MIN_VALUE;
+      }
+      int middle = (low + high) >>> 1;
+      long maxEnd = Math.max(ends[middle], Math.max(fillMaxEnds(low, middle - 1), fillMaxEnds(middle + 1, high)));
+      maxEnds[middle] = maxEnd;
+      return maxEnd;
+    }
+
+    private Node find(long position) {
+      int found = find(0, nodes.length - 1, position, -1);
+      return found < 0 ? null : nodes[found];
+    }
+
+    private int find(int low, int high, long position, int best) {
+      if (low > high) {
+        return best;
+      }
+      int middle = (low + high) >>> 1;
+      if (maxEnds[middle] < position) {
+        return best;
+      }
+      best = find(low, middle - 1, position, best);
+      if (starts[middle] > position) {
+        return best;
+      }
+      if (ends[middle] >= position && (best < 0 || orders[middle] < orders[best])) {
+        best = middle;
+      }
+      return find(middle + 1, high, position, best);
+    }
+  }
+}
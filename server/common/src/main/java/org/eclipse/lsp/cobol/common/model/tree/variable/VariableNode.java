@@ -24,6 +24,7 @@ import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.message.MessageTemplate;
 import org.eclipse.lsp.cobol.common.model.DefinedAndUsedStructure;
 import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.UniqueLocationList;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp4j.Location;
@@ -48,7 +49,7 @@ public abstract class VariableNode extends Node implements DefinedAndUsedStructu
   private final VariableType variableType;
   private final String name;
   @Setter private boolean global;
-  @EqualsAndHashCode.Exclude private final List<Location> usages = new ArrayList<>();
+  @EqualsAndHashCode.Exclude private final List<Location> usages = new UniqueLocationList();
 
   protected VariableNode(
       Locality location, String name, VariableType variableType, boolean global) {
@@ -100,8 +101,7 @@ public abstract class VariableNode extends Node implements DefinedAndUsedStructu
    * @param usageNode a variable usage node
    */
   public void addUsage(VariableUsageNode usageNode) {
-    if (!usages.contains(usageNode.getLocality().toLocation())) {
-      usages.add(usageNode.getLocality().toLocation());
+    if (usages.add(usageNode.getLocality().toLocation())) {
       usageNode.addDefinition(this);
     }
   }
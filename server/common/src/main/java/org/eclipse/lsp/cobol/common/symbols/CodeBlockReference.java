@@ -15,19 +15,19 @@
 package org.eclipse.lsp.cobol.common.symbols;
 
 import lombok.Getter;
+import org.eclipse.lsp.cobol.common.model.UniqueLocationList;
 import org.eclipse.lsp4j.Location;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * The class represents definitions and references for Section and Paragraphs name node in COBOL
- * grammar.
+ * grammar. Every location is kept once, even if it is added several times.
  */
 @Getter
 public class CodeBlockReference {
-  List<Location> definitions = new ArrayList<>();
-  List<Location> usage = new ArrayList<>();
+  List<Location> definitions = new UniqueLocationList();
+  List<Location> usage = new UniqueLocationList();
 
   /**
    * Add a location of code block usage
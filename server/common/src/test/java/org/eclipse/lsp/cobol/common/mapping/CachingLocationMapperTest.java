@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.mapping;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for CachingLocationMapper
+ */
+class CachingLocationMapperTest {
+  private static final String DOCUMENT_URI = "file:///document.cbl";
+  private static final String COPYBOOK_URI = "file:///CPY.cpy";
+
+  @Test
+  void testMapsLikeTheDocument() {
+    ExtendedDocument document =
+        new ExtendedDocument("        DATA DIVISION.\n        COPY CPY.\n        PROCEDURE DIVISION.", DOCUMENT_URI);
+    document.insertCopybook(
+        new Range(new Position(1, 8), new Position(1, 16)),
+        new ExtendedText("        01 A PIC X.\n        01 B PIC X.", COPYBOOK_URI));
+    document.commitTransformations();
+    CachingLocationMapper mapper = new CachingLocationMapper(document);
+
+    for (int line = 0; line < document.getCurrentText().getLines().size(); line++) {
+      Range range = new Range(new Position(line, 8), new Position(line, 12));
+      assertEquals(document.mapLocation(range), mapper.mapLocation(range));
+      assertEquals(document.mapLocation(range), mapper.mapLocation(new Range(range.getStart(), range.getEnd())));
+    }
+  }
+
+  @Test
+  void testMapsEqualRangesOnce() {
+    ExtendedDocument document = mock(ExtendedDocument.class);
+    Range range = new Range(new Position(1, 2), new Position(1, 5));
+    when(document.mapLocation(range)).thenReturn(new Location(DOCUMENT_URI, range));
+    CachingLocationMapper mapper = new CachingLocationMapper(document);
+
+    Location first = mapper.mapLocation(range);
+    first.setUri(COPYBOOK_URI);
+    Location second = mapper.mapLocation(new Range(new Position(1, 2), new Position(1, 5)));
+
+    assertEquals(new Location(DOCUMENT_URI, range), second);
+    assertNotSame(first, second);
+    verify(document, times(1)).mapLocation(any());
+  }
+
+  @Test
+  void testMappedRangesAreNotShared() {
+    ExtendedDocument document = mock(ExtendedDocument.class);
+    Range range = new Range(new Position(1, 2), new Position(1, 5));
+    when(document.mapLocation(any())).thenReturn(new Location(DOCUMENT_URI, new Range(new Position(1, 2), new Position(1, 5))));
+    CachingLocationMapper mapper = new CachingLocationMapper(document);
+
+    Location first = mapper.mapLocation(range);
+    first.getRange().getStart().setLine(7);
+    first.getRange().setEnd(new Position(7, 9));
+    range.getStart().setCharacter(3);
+    Location second = mapper.mapLocation(new Range(new Position(1, 2), new Position(1, 5)));
+
+    assertEquals(new Location(DOCUMENT_URI, new Range(new Position(1, 2), new Position(1, 5))), second);
+    assertNotSame(first.getRange(), second.getRange());
+    verify(document, times(1)).mapLocation(any());
+  }
+}
@@ -14,11 +14,14 @@
  */
 package org.eclipse.lsp.cobol.common.mapping;
 
+import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Test for ExtendedTextLine
@@ -100,4 +103,20 @@ class ExtendedTextLineTest {
     ExtendedTextLine subline = line.subline(2, 5);
     assertEquals("xt e", subline.toString());
   }
+
+  @Test
+  void testSublineSharesInitialLocations() {
+    ExtendedTextLine line = new ExtendedTextLine("text end", 7, "uri");
+    ExtendedTextLine subline = line.subline(0, 3);
+    Location location = new Location("document", new Range(new Position(1, 0), new Position(1, 4)));
+    subline.getCharacterAt(1).putInitialLocation("document", location);
+
+    assertEquals(location, line.getCharacterAt(1).getInitialLocation("document"));
+    assertNull(line.getCharacterAt(2).getInitialLocation("document"));
+
+    ExtendedTextLine copy = line.copy();
+    copy.getCharacterAt(1).putInitialLocation("other", location);
+    assertEquals(location, copy.getCharacterAt(1).getInitialLocation("document"));
+    assertNull(line.getCharacterAt(1).getInitialLocation("other"));
+  }
 }
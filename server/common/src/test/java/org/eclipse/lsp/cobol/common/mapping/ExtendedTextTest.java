@@ -20,6 +20,7 @@ import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -371,4 +372,22 @@ class ExtendedTextTest {
     assertTrue(copybook1.getLines().get(2).toString().equals(expectedCopybook.getLines().get(2).toString()));
   }
 
+  @Test
+  void testCopyIsIndependent() {
+    ExtendedText copybook = new ExtendedText("NEW LINE", "copybook");
+    ExtendedText copy = copybook.copy();
+
+    ExtendedText extendedText = new ExtendedText(TEXT, "uri");
+    extendedText.insert(2, copy, new Location("uri", new Range(new Position(2, 0), new Position(2, 5))));
+    extendedText.clear(new Range(new Position(2, 0), new Position(2, 2)));
+
+    assertEquals("NEW LINE", copybook.toString());
+    assertEquals("    LINE", extendedText.getLines().get(2).toString());
+    assertNull(copybook.getLines().get(0).getCharacterAt(0).getInitialLocation("uri"));
+
+    Location location = copybook.mapLocation(new Range(new Position(0, 0), new Position(0, 2)));
+    assertEquals("copybook", location.getUri());
+    assertEquals(new Range(new Position(0, 0), new Position(0, 2)), location.getRange());
+  }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link UniqueLocationList} keeps the insertion order and skips duplicates */
+class UniqueLocationListTest {
+
+  @Test
+  void testDuplicatesAreSkipped() {
+    List<Location> locations = new UniqueLocationList();
+    assertTrue(locations.add(location("a", 1)));
+    assertTrue(locations.add(location("b", 1)));
+    assertFalse(locations.add(location("a", 1)));
+    assertTrue(locations.add(location("a", 2)));
+
+    assertEquals(ImmutableList.of(location("a", 1), location("b", 1), location("a", 2)), locations);
+    assertTrue(locations.contains(location("b", 1)));
+    assertFalse(locations.contains(location("b", 2)));
+  }
+
+  private static Location location(String uri, int line) {
+    return new Location(uri, new Range(new Position(line, 0), new Position(line, 5)));
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.NodeType;
+import org.eclipse.lsp.cobol.common.model.SectionType;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link NodeIndex} */
+class NodeIndexTest {
+  private static final String DOCUMENT = "file:///document.cbl";
+  private static final String COPYBOOK = "file:///COPY.cpy";
+
+  private final Node root = new RootNode(locality(DOCUMENT));
+  private final Node firstProgram = new ProgramNode(locality(DOCUMENT));
+  private final Node section = new SectionNode(locality(DOCUMENT), SectionType.WORKING_STORAGE);
+  private final Node copy = copy(DOCUMENT, "COPY1");
+  private final Node nestedProgram = new ProgramNode(locality(DOCUMENT));
+  private final Node nestedCopy = copy(COPYBOOK, "COPY2");
+  private final Node secondProgram = new ProgramNode(locality(DOCUMENT));
+  private final Node secondCopy = copy(DOCUMENT, "COPY3");
+
+  NodeIndexTest() {
+    root.addChild(firstProgram);
+    firstProgram.addChild(section);
+    section.addChild(copy);
+    firstProgram.addChild(nestedProgram);
+    nestedProgram.addChild(nestedCopy);
+    root.addChild(secondProgram);
+    secondProgram.addChild(secondCopy);
+  }
+
+  @Test
+  void testNodesAreInDepthFirstOrder() {
+    NodeIndex index = NodeIndex.build(root);
+
+    assertEquals(root.getDepthFirstStream().collect(toList()), index.stream().collect(toList()));
+    assertEquals(8, index.size());
+    assertEquals(4, index.ordinalOf(nestedProgram));
+    assertEquals(-1, index.ordinalOf(new RootNode()));
+  }
+
+  @Test
+  void testNodesByTypeClassAndUri() {
+    NodeIndex index = NodeIndex.build(root);
+
+    assertEquals(
+        ImmutableList.of(firstProgram, nestedProgram, secondProgram), index.getNodes(NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(copy, nestedCopy, secondCopy), index.getNodes(CopyNode.class));
+    assertEquals(ImmutableList.of(nestedCopy), index.getNodesByUri(COPYBOOK));
+    assertTrue(index.getNodes(NodeType.PARAGRAPH).isEmpty());
+  }
+
+  @Test
+  void testNodesOfSubtree() {
+    NodeIndex index = NodeIndex.build(root);
+
+    assertEquals(ImmutableList.of(copy, nestedCopy), index.getNodes(firstProgram, NodeType.COPY));
+    assertEquals(ImmutableList.of(nestedProgram), index.getNodes(nestedProgram, NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(secondCopy), index.getNodes(secondProgram, NodeType.COPY));
+    assertTrue(index.getNodes(section, NodeType.PROGRAM).isEmpty());
+  }
+
+  @Test
+  void testEmptyTree() {
+    NodeIndex index = NodeIndex.build(null);
+
+    assertEquals(0, index.size());
+    assertTrue(index.getNodes(NodeType.ROOT).isEmpty());
+    assertTrue(index.getNodes(root, NodeType.COPY).isEmpty());
+  }
+
+  private static Node copy(String uri, String name) {
+    return new CopyNode(locality(uri), new Location(uri, new Range(new Position(0, 0), new Position(0, 0))), name, uri);
+  }
+
+  private static Locality locality(String uri) {
+    return Locality.builder().uri(uri).build();
+  }
+}
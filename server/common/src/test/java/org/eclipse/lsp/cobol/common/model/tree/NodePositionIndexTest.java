@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link NodePositionIndex} finds the same nodes as {@link RangeUtils#findNodeByPosition} */
+class NodePositionIndexTest {
+  private static final String DOCUMENT = "file:///document.cbl";
+  private static final String COPYBOOK = "file:///COPY.cpy";
+
+  @Test
+  void testIndexMatchesTreeTraversal() {
+    Node root = node(DOCUMENT, 0, 0, 20, 10);
+    Node program = node(DOCUMENT, 1, 0, 19, 10);
+    Node first = node(DOCUMENT, 2, 4, 5, 20);
+    Node nested = node(DOCUMENT, 3, 8, 3, 15);
+    Node second = node(DOCUMENT, 5, 20, 12, 3);
+    Node copybook = node(COPYBOOK, 0, 0, 4, 10);
+    Node copybookStatement = node(COPYBOOK, 1, 7, 1, 30);
+    root.addChild(program);
+    program.addChild(first);
+    first.addChild(nested);
+    program.addChild(second);
+    second.addChild(copybook);
+    copybook.addChild(copybookStatement);
+
+    NodePositionIndex index = NodePositionIndex.build(root);
+    for (String uri : new String[] {DOCUMENT, COPYBOOK, "file:///other.cbl"}) {
+      for (int line = 0; line <= 21; line++) {
+        for (int character = 0; character <= 40; character++) {
+          Position position = new Position(line, character);
+          assertEquals(
+              RangeUtils.findNodeByPosition(root, uri, position),
+              index.findNodeByPosition(uri, position),
+              uri + " " + position);
+        }
+      }
+    }
+    assertSame(nested, index.findNodeByPosition(DOCUMENT, new Position(3, 10)).orElse(null));
+    assertSame(copybookStatement, index.findNodeByPosition(COPYBOOK, new Position(1, 7)).orElse(null));
+  }
+
+  @Test
+  void testEmptyTree() {
+    assertFalse(NodePositionIndex.build(null).findNodeByPosition(DOCUMENT, new Position(0, 0)).isPresent());
+  }
+
+  private static Node node(String uri, int startLine, int startChar, int endLine, int endChar) {
+    return new RootNode(Locality.builder()
+        .uri(uri)
+        .range(new Range(new Position(startLine, startChar), new Position(endLine, endChar)))
+        .build());
+  }
+}
@@ -90,9 +90,9 @@ public final class DaCoDialect implements CobolDialect {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     DaCoVisitor visitor = new DaCoVisitor(context);
-    List<Node> nodes = visitor.visitStartRule(parser.startRule());
+    List<Node> nodes = visitor.visitStartRule(
+        TwoStageParsing.parse(parser, new CobolErrorStrategy(messageService), DaCoParser::startRule));
     nodes.addAll(maidOutcome.getDialectNodes());
 
     List<SyntaxError> parserErrors = new LinkedList<>();
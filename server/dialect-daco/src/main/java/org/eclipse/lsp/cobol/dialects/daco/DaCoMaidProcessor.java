@@ -289,12 +289,12 @@ public class DaCoMaidProcessor {
     VariableParser parser = new VariableParser(tokens);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     parser.addParseListener(treeListener);
 
     DaCoCopybookVisitor visitor =
         new DaCoCopybookVisitor(copybookModel.getUri(), startingLevel, suffix, copybookModel.getCopybookId().toString());
-    ParserRuleContext ctx = parser.dataDescriptionEntries();
+    ParserRuleContext ctx = TwoStageParsing.parse(parser, new CobolErrorStrategy(messageService),
+        VariableParser::dataDescriptionEntries);
     return visitor.visit(ctx);
   }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.dialects.daco;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageServiceProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs the dialect parsers in two stages: SLL prediction with an error strategy that gives up on the first syntax
+ * error, and the full LL prediction with the dialect error strategy only when the first stage fails. It mirrors the
+ * two-stage parsing of the main COBOL grammar, which the dialect cannot depend on. The grammar actions get their
+ * messages from the error strategy, so the first stage strategy provides the message service of the dialect one.
+ *
+ * <p>The first stage can be switched off by setting the "parser.sll.first" system property to false.
+ */
+@Slf4j
+@UtilityClass
+class TwoStageParsing {
+  private static final String SLL_FIRST = "parser.sll.first";
+  private final Map<String, LongAdder[]> statistics = new ConcurrentHashMap<>();
+
+  /**
+   * Parse the input of the given parser
+   *
+   * @param parser the parser with the error listeners and parse listeners attached
+   * @param errorStrategy the error strategy to report and recover from syntax errors
+   * @param startRule the rule to start parsing with
+   * @param <P> the parser type
+   * @param <R> the start rule context type
+   * @return the parse tree
+   */
+  <P extends Parser, R extends ParserRuleContext> R parse(P parser, ANTLRErrorStrategy errorStrategy,
+                                                          Function<P, R> startRule) {
+    if ("false".equalsIgnoreCase(System.getProperty(SLL_FIRST))) {
+      parser.setErrorHandler(errorStrategy);
+      return startRule.apply(parser);
+    }
+    LongAdder[] counters = statistics.computeIfAbsent(parser.getGrammarFileName(),
+        k -> new LongAdder[] {new LongAdder(), new LongAdder()});
+
+    PredictionMode predictionMode = parser.getInterpreter().getPredictionMode();
+    List<ANTLRErrorListener> listeners = new ArrayList<>(parser.getErrorListeners());
+    List<Runnable> reportedErrors = new ArrayList<>();
+    parser.removeErrorListeners();
+    parser.addErrorListener(new BaseErrorListener() {
+      @Override
+      public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                              String msg, RecognitionException e) {
+        reportedErrors.add(() -> listeners.forEach(l ->
+            l.syntaxError(recognizer, offendingSymbol, line, charPositionInLine, msg, e)));
+      }
+    });
+    parser.setErrorHandler(new BailingErrorStrategy(errorStrategy));
+    parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+    try {
+      R result = startRule.apply(parser);
+      counters[0].increment();
+      reportedErrors.forEach(Runnable::run);
+      return result;
+    } catch (ParseCancellationException e) {
+      counters[1].increment();
+      LOG.debug("SLL parsing of {} failed, falling back to LL ({} fallbacks, {} SLL parses)",
+          parser.getGrammarFileName(), counters[1].sum(), counters[0].sum());
+    } finally {
+      parser.removeErrorListeners();
+      listeners.forEach(parser::addErrorListener);
+      parser.getInterpreter().setPredictionMode(predictionMode);
+    }
+
+    parser.setErrorHandler(errorStrategy);
+    parser.reset();
+    return startRule.apply(parser);
+  }
+
+  /**
+   * The error strategy of the first stage. It gives up on the first syntax error and provides the grammar actions with
+   * the message service of the dialect error strategy.
+   */
+  private static final class BailingErrorStrategy extends BailErrorStrategy implements MessageServiceProvider {
+    private final ANTLRErrorStrategy errorStrategy;
+
+    private BailingErrorStrategy(ANTLRErrorStrategy errorStrategy) {
+      this.errorStrategy = errorStrategy;
+    }
+
+    @Override
+    public MessageService getMessageService() {
+      return ((MessageServiceProvider) errorStrategy).getMessageService();
+    }
+  }
+}
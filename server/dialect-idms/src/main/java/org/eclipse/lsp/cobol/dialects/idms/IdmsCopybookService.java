@@ -92,13 +92,13 @@ class IdmsCopybookService {
     IdmsCopyParser parser = getCobolParser(tokens);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     parser.addParseListener(treeListener);
 
     IdmsCopybookVisitor visitor = new IdmsCopybookVisitor(copybookService, copybookProcessingMode, treeListener, messageService,
         programDocumentUri, copybookModel.getUri(), parentLevel, processedCopybooks);
 
-    ParserRuleContext node = parser.startRule();
+    ParserRuleContext node =
+        TwoStageParsing.parse(parser, new CobolErrorStrategy(messageService), IdmsCopyParser::startRule);
     List<Node> nodes = visitor.visit(node);
 
     List<SyntaxError> errors = new LinkedList<>(listener.getErrors());
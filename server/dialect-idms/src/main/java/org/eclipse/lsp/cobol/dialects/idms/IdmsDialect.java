@@ -236,9 +236,9 @@ public final class IdmsDialect implements CobolDialect {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
 
-    IdmsCopyParser.StartRuleContext result = parser.startRule();
+    IdmsCopyParser.StartRuleContext result =
+        TwoStageParsing.parse(parser, new CobolErrorStrategy(messageService), IdmsCopyParser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
@@ -253,9 +253,9 @@ public final class IdmsDialect implements CobolDialect {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
 
-    IdmsParser.StartRuleContext result = parser.startRule();
+    IdmsParser.StartRuleContext result =
+        TwoStageParsing.parse(parser, new CobolErrorStrategy(messageService), IdmsParser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
@@ -28,6 +28,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Singleton
 public class CliClientProvider implements Provider<CobolLanguageClient> {
@@ -97,6 +98,14 @@ public class CliClientProvider implements Provider<CobolLanguageClient> {
       return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    public CompletableFuture<List<String>> resolveCopybooks(String cobolFileUri, List<String> copybookNames,
+                                                            String dialectType) {
+      return CompletableFuture.completedFuture(copybookNames.stream()
+          .map(copybookName -> resolveCopybook(cobolFileUri, copybookName, dialectType).join())
+          .collect(Collectors.toList()));
+    }
+
     private Path makeRelativePath(String cobolFileUri, String cbPath, String copybookFileName) {
       String folder = Paths.get(URI.create((cobolFileUri))).getParent().toString();
       return Paths.get(folder, cbPath, copybookFileName);
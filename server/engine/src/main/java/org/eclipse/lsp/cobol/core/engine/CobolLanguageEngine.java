@@ -21,6 +21,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.eclipse.lsp.cobol.common.*;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.error.ErrorCodes;
@@ -71,6 +72,7 @@ public class CobolLanguageEngine {
   private static final int FIRST_LINE_SEQ_AND_EXTRA_OP = 8;
 
   private final TextPreprocessor preprocessor;
+  private final CopybookService copybookService;
   private final MessageService messageService;
   private final ErrorFinalizerService errorFinalizerService;
   private final Pipeline pipeline;
@@ -79,6 +81,7 @@ public class CobolLanguageEngine {
   public CobolLanguageEngine(
           TextPreprocessor preprocessor,
           GrammarPreprocessor grammarPreprocessor,
+          CopybookService copybookService,
           MessageService messageService,
           ParseTreeListener treeListener,
           SubroutineService subroutineService,
@@ -88,11 +91,13 @@ public class CobolLanguageEngine {
           SymbolsRepository symbolsRepository,
           ErrorFinalizerService errorFinalizerService) {
     this.preprocessor = preprocessor;
+    this.copybookService = copybookService;
     this.messageService = messageService;
     this.errorFinalizerService = errorFinalizerService;
 
     this.pipeline = new Pipeline();
     this.pipeline.add(new CompilerDirectivesStage(messageService));
+    this.pipeline.add(new CopybookPrefetchStage(copybookService));
     this.pipeline.add(new DialectProcessingStage(dialectService));
     this.pipeline.add(new PreprocessorStage(grammarPreprocessor));
     this.pipeline.add(new ImplicitDialectProcessingStage(dialectService));
@@ -171,7 +176,12 @@ public class CobolLanguageEngine {
     AnalysisContext ctx = new AnalysisContext(new ExtendedDocument(resultWithErrors.getResult(), text), analysisConfig);
     ctx.getAccumulatedErrors().addAll(resultWithErrors.getErrors());
 
-    PipelineResult pipelineResult = pipeline.run(ctx);
+    PipelineResult pipelineResult;
+    try {
+      pipelineResult = pipeline.run(ctx);
+    } finally {
+      copybookService.releasePrefetched(documentUri);
+    }
     StageResult<?> result = pipelineResult.getLastStageResult();
     PerformanceMeasurementUtils.logTiming(pipelineResult.getTimings(), ctx);
 
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.lsp.cobol.core.AntlrCobolParser;
+import org.eclipse.lsp.cobol.core.CobolPreprocessor;
+import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
+import org.eclipse.lsp.cobol.core.ParserRuntime;
+import org.eclipse.lsp.cobol.core.visitor.InterruptingTreeListener;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manages the ANTLR caches kept by {@link ParserRuntime}: fills them at startup by parsing a bundled sample program,
+ * reports their size, and drops them when the heap is close to its limit after a garbage collection. The memory
+ * listener is registered once per JVM when the server starts and removed when it stops.
+ */
+@Slf4j
+@Singleton
+public class ParserRuntimeService {
+  private static final String WARM_UP_PROGRAM = "/warmup/WARMUP.cbl";
+  private static final double MEMORY_PRESSURE_THRESHOLD = 0.85;
+  private static final AtomicReference<NotificationListener> MEMORY_LISTENER = new AtomicReference<>();
+
+  private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "Parser warm-up");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  @Inject
+  public ParserRuntimeService() {
+  }
+
+  /**
+   * Start listening to the memory pressure and parse the bundled sample program in the background to fill the caches
+   * before the first analysis
+   *
+   * @return the future that completes when the warm-up is done
+   */
+  public CompletableFuture<Void> warmUp() {
+    listenToMemoryPressure();
+    return CompletableFuture.runAsync(() -> {
+      long start = System.currentTimeMillis();
+      try {
+        parse(readWarmUpProgram());
+        LOG.debug("Parser caches warmed up in {} ms: {}", System.currentTimeMillis() - start, getCacheSizes());
+      } catch (Exception e) {
+        LOG.warn("Cannot warm up the parser caches", e);
+      }
+    }, warmUpExecutor);
+  }
+
+  /**
+   * Stop the warm-up and the memory listener
+   */
+  public void stop() {
+    warmUpExecutor.shutdownNow();
+    NotificationListener listener = MEMORY_LISTENER.getAndSet(null);
+    if (listener == null) {
+      return;
+    }
+    try {
+      ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(listener);
+    } catch (ListenerNotFoundException e) {
+      LOG.debug("The parser memory listener is already removed", e);
+    }
+  }
+
+  /**
+   * Get the sizes of the parser caches
+   *
+   * @return the cache sizes by the grammar file name
+   */
+  public Map<String, ParserRuntime.CacheSize> getCacheSizes() {
+    return ParserRuntime.getCacheSizes();
+  }
+
+  /**
+   * Drop the parser caches
+   */
+  public void trim() {
+    LOG.info("Dropping the parser caches: {}", getCacheSizes());
+    ParserRuntime.trim();
+  }
+
+  @VisibleForTesting
+  void parse(String text) {
+    CobolPreprocessorLexer preprocessorLexer = new CobolPreprocessorLexer(CharStreams.fromString(text));
+    preprocessorLexer.removeErrorListeners();
+    CobolPreprocessor preprocessor = new CobolPreprocessor(new CommonTokenStream(preprocessorLexer));
+    preprocessor.removeErrorListeners();
+    ParserRuntime.attach(preprocessor);
+    preprocessor.startRule();
+
+    new AntlrCobolParser(CharStreams.fromString(text), new BaseErrorListener(), new DefaultErrorStrategy(),
+        new InterruptingTreeListener()).runParser();
+  }
+
+  private String readWarmUpProgram() throws IOException {
+    try (InputStream stream = ParserRuntimeService.class.getResourceAsStream(WARM_UP_PROGRAM)) {
+      if (stream == null) {
+        throw new IOException(WARM_UP_PROGRAM + " not found");
+      }
+      return IOUtils.toString(stream, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static void listenToMemoryPressure() {
+    NotificationListener listener = (notification, handback) -> {
+      if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+        LOG.info("Dropping the parser caches: {}", ParserRuntime.getCacheSizes());
+        ParserRuntime.trim();
+      }
+    };
+    if (!MEMORY_LISTENER.compareAndSet(null, listener)) {
+      return;
+    }
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      long max = pool.getUsage().getMax();
+      if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported() && max > 0) {
+        pool.setCollectionUsageThreshold((long) (max * MEMORY_PRESSURE_THRESHOLD));
+      }
+    }
+    ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+  }
+}
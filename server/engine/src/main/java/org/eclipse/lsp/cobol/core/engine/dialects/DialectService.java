@@ -44,6 +44,7 @@ import org.eclipse.lsp4j.Range;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -54,6 +55,7 @@ public class DialectService {
   private final DialectDiscoveryService discoveryService;
   private final CopybookService copybookService;
   private final MessageService messageService;
+  private final AtomicLong version = new AtomicLong();
 
   @Inject
   public DialectService(
@@ -320,9 +322,21 @@ public class DialectService {
                               return dialect;
                             })
                         .orElse(null)));
+    if (changed.get()) {
+      version.incrementAndGet();
+    }
     return changed.get();
   }
 
+  /**
+   * Return the version of the dialect list, it changes every time new dialects are loaded
+   *
+   * @return the version of the dialect list
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
   private void registerDialectCodeActions(CobolDialect dialect) {
     discoveryService.registerExecuteCommandCapabilities(
         dialect.getDialectExecuteCommandCapabilities(), dialect.getName());
@@ -19,6 +19,7 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.core.CompilerDirectivesLexer;
 import org.eclipse.lsp.cobol.core.CompilerDirectivesParser;
+import org.eclipse.lsp.cobol.core.TwoStageParsing;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
 import org.eclipse.lsp.cobol.core.engine.directives.CompilerDirectivesErrorListener;
 import org.eclipse.lsp.cobol.core.engine.directives.CompilerDirectivesVisitor;
@@ -71,9 +72,9 @@ public class CompilerDirectivesStage implements Stage<Void, Void> {
     lexer.removeErrorListeners();
     CompilerDirectivesParser parser = new CompilerDirectivesParser(new CommonTokenStream(lexer));
     parser.removeErrorListeners();
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     parser.addErrorListener(new CompilerDirectivesErrorListener(ctx, startPosition));
-    new CompilerDirectivesVisitor(ctx, messageService, startPosition).visit(parser.compilerOptions());
+    new CompilerDirectivesVisitor(ctx, messageService, startPosition).visit(
+        TwoStageParsing.parse(parser, new CobolErrorStrategy(messageService), CompilerDirectivesParser::compilerOptions));
   }
 
   @Override
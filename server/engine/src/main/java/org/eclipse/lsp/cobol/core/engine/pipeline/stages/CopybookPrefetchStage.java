@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.pipeline.stages;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.utils.StringUtils;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.pipeline.Stage;
+import org.eclipse.lsp.cobol.core.engine.pipeline.StageResult;
+
+/**
+ * Scans the cleaned program text for the copybook statements and asks the {@link CopybookService} to resolve all of
+ * them at once, so the preprocessor and the dialects don't wait for the client one copybook at a time. The scan is
+ * best effort: a copybook it misses or names differently is resolved by the regular path later.
+ */
+@RequiredArgsConstructor
+public class CopybookPrefetchStage implements Stage<Void, Void> {
+  private static final String IDMS_DIALECT = "IDMS";
+  private static final String DACO_DIALECT = "DaCo";
+  private static final String COPYBOOK_NAME = "(?<name>\"[^\"\\n]*+\"|'[^'\\n]*+'|[\\w-]++)(?!\\s+(?:OF|IN)\\b)";
+  private static final Pattern COPY_STATEMENT = Pattern.compile(
+      "(?<![\\w-])(?:COPY|EXEC\\s+SQL\\s+INCLUDE)\\s+(?!(?:IDMS|MAID)\\b)" + COPYBOOK_NAME,
+      Pattern.CASE_INSENSITIVE);
+  private static final Pattern COPY_IDMS_STATEMENT = Pattern.compile(
+      "(?<![\\w-])COPY\\s+IDMS\\s+(?:(?:RECORD|FILE|MAP|MAP-CONTROL|MODULE)\\s+)?" + COPYBOOK_NAME,
+      Pattern.CASE_INSENSITIVE);
+  // follows the COPY MAID statement recognized by the DaCo dialect
+  private static final Pattern COPY_MAID_STATEMENT = Pattern.compile(
+      "^\\s*(?<level>\\d{1,2})\\s*COPY\\s+MAID\\s+(?<layoutId>[a-zA-Z\\d]*-?[a-zA-Z\\d]{0,3})\\s*(?<layoutUsage>[a-zA-Z]{3,6})?",
+      Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
+
+  private final CopybookService copybookService;
+
+  @Override
+  public StageResult<Void> run(AnalysisContext context, StageResult<Void> prevStageResult) {
+    if (context.getConfig().getCopybookProcessingMode().analyze) {
+      String text = context.getExtendedDocument().getCurrentText().toString();
+      copybookService.prefetch(context.getExtendedDocument().getUri(),
+          findCopybookNames(text, context.getConfig().getDialects()));
+    }
+    return new StageResult<>(null);
+  }
+
+  @Override
+  public String getName() {
+    return "Copybooks prefetching";
+  }
+
+  private static Set<CopybookName> findCopybookNames(String text, List<String> dialects) {
+    Set<CopybookName> names = new LinkedHashSet<>();
+    Matcher copy = COPY_STATEMENT.matcher(text);
+    while (copy.find()) {
+      names.add(new CopybookName(StringUtils.trimQuotes(copy.group("name"))));
+    }
+    if (dialects.contains(IDMS_DIALECT)) {
+      Matcher copyIdms = COPY_IDMS_STATEMENT.matcher(text);
+      while (copyIdms.find()) {
+        names.add(new CopybookName(StringUtils.trimQuotes(copyIdms.group("name").toUpperCase()), IDMS_DIALECT));
+      }
+    }
+    if (dialects.contains(DACO_DIALECT)) {
+      Matcher copyMaid = COPY_MAID_STATEMENT.matcher(text);
+      while (copyMaid.find()) {
+        names.add(new CopybookName(maidCopybookName(copyMaid), DACO_DIALECT));
+      }
+    }
+    return names;
+  }
+
+  private static String maidCopybookName(Matcher copyMaid) {
+    String layoutId = copyMaid.group("layoutId");
+    String layoutUsage = copyMaid.group("layoutUsage");
+    if (layoutUsage == null || Integer.parseInt(copyMaid.group("level")) > 1) {
+      return layoutId;
+    }
+    return String.format("%s_%s", layoutId.toUpperCase(Locale.ROOT), layoutUsage.toUpperCase(Locale.ROOT));
+  }
+}
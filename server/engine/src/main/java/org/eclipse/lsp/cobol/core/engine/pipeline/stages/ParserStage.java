@@ -60,7 +60,7 @@ public class ParserStage implements Stage<ParserStageResult, DialectOutcome> {
             ? new AntlrCobolParser(CharStreams.fromString(context.getExtendedDocument().toString()),
                 listener, errorStrategy, treeListener)
             : new SplitParser(CharStreams.fromString(context.getExtendedDocument().toString()),
-                listener, errorStrategy, treeListener);
+                listener, () -> new CobolErrorStrategy(messageService), treeListener);
     CobolParser.StartRuleContext tree = parser.runParser();
     context.getAccumulatedErrors().addAll(listener.getErrors());
     context.getAccumulatedErrors().addAll(getParsingError(context, parser));
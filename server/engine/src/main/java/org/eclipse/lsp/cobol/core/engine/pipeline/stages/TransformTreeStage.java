@@ -16,11 +16,16 @@ package org.eclipse.lsp.cobol.core.engine.pipeline.stages;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.Trees;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
@@ -32,6 +37,7 @@ import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 import org.eclipse.lsp.cobol.common.model.tree.variables.FileDescriptionNode;
 import org.eclipse.lsp.cobol.common.processor.*;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp.cobol.common.utils.StringUtils;
 import org.eclipse.lsp.cobol.core.CobolParser;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
@@ -109,6 +115,7 @@ public class TransformTreeStage implements Stage<ProcessingResult, ParserStageRe
   private List<Node> transformAST(AnalysisContext ctx,
                                   CopybooksRepository copybooksRepository, CommonTokenStream tokens,
                                   CobolParser.StartRuleContext tree) {
+    prefetchSubroutines(tree);
     CobolVisitor visitor =
         new CobolVisitor(copybooksRepository, tokens, ctx.getExtendedDocument(),
             messageService, subroutineService, cachingConfigurationService);
@@ -117,6 +124,14 @@ public class TransformTreeStage implements Stage<ProcessingResult, ParserStageRe
     return syntaxTree;
   }
 
+  private void prefetchSubroutines(CobolParser.StartRuleContext tree) {
+    Set<String> subroutineNames = Trees.findAllRuleNodes(tree, CobolParser.RULE_constantName).stream()
+        .map(ParseTree::getText)
+        .map(name -> StringUtils.trimQuotes(name).toUpperCase())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    subroutineService.prefetch(subroutineNames);
+  }
+
   private void addEmbeddedNodes(Node rootNode, List<Node> embeddedNodes) {
     for (Node dialectNode : embeddedNodes) {
       Optional<Node> nodeByPosition =
@@ -14,21 +14,33 @@
  */
 package org.eclipse.lsp.cobol.core.engine.processor;
 
+import com.google.inject.Singleton;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
-import org.eclipse.lsp.cobol.common.processor.Processor;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
 
 /**
  * AST processor. This class contains node type specific processors and handles abstract syntax tree
  * processing.
+ *
+ * <p>The processors of a node are found through a dispatch table. The analyses register the
+ * processors for the same node classes each time, so the matching of a node class against the
+ * registered classes is kept across analyses, keyed by the registered classes of the phase. Every
+ * analysis then only resolves its processor instances once per node class.
  */
+@Singleton
 public class AstProcessor {
+  private static final BiConsumer<Node, ProcessingContext>[] NO_PROCESSORS = newProcessorArray(0);
+
+  private final Map<List<Class<? extends Node>>, Map<Class<?>, int[]>> dispatchTables =
+      new ConcurrentHashMap<>();
 
   /**
    * The entry point to AST processing
@@ -52,25 +64,75 @@ public class AstProcessor {
    * @param ctx processing context
    */
   public void process(ProcessingPhase phase, Node node, ProcessingContext ctx) {
-    ThreadInterruptionUtil.checkThreadInterrupted();
-    findProcessors(ctx, phase, node.getClass()).forEach(p -> ((Processor<Node>) p).accept(node, ctx));
-    node.getChildren().forEach(n -> process(phase, n, ctx));
+    Map<Class<? extends Node>, List<BiConsumer<? extends Node, ProcessingContext>>> registered =
+        ctx.getProcessors().get(phase);
+    if (registered == null || registered.isEmpty()) {
+      return;
+    }
+    PhaseDispatch dispatch = new PhaseDispatch(registered);
+    // The children of a node are taken only after its processors have run, because a processor
+    // may change the subtree of the node it processes.
+    Deque<Iterator<Node>> pending = new ArrayDeque<>();
+    Node current = node;
+    while (current != null) {
+      ThreadInterruptionUtil.checkThreadInterrupted();
+      for (BiConsumer<Node, ProcessingContext> processor : dispatch.find(current.getClass())) {
+        processor.accept(current, ctx);
+      }
+      pending.push(current.getChildren().iterator());
+      current = null;
+      while (current == null && !pending.isEmpty()) {
+        Iterator<Node> siblings = pending.peek();
+        if (siblings.hasNext()) {
+          current = siblings.next();
+        } else {
+          pending.pop();
+        }
+      }
+    }
   }
 
-  private List<Processor<? extends Node>> findProcessors(ProcessingContext ctx,
-                                               ProcessingPhase phase, Class<? extends Node> nodeClass) {
-    List<Processor<? extends Node>> result = new ArrayList<>();
-    if (!ctx.getProcessors().containsKey(phase)) {
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Node, ProcessingContext>[] newProcessorArray(int size) {
+    return (BiConsumer<Node, ProcessingContext>[]) new BiConsumer<?, ?>[size];
+  }
+
+  /** The processors of one phase of one analysis, resolved by node class on the first request */
+  private final class PhaseDispatch {
+    private final List<Class<? extends Node>> nodeClasses;
+    private final List<List<BiConsumer<? extends Node, ProcessingContext>>> processors;
+    private final Map<Class<?>, int[]> table;
+    private final Map<Class<?>, BiConsumer<Node, ProcessingContext>[]> resolved = new HashMap<>();
+
+    private PhaseDispatch(
+        Map<Class<? extends Node>, List<BiConsumer<? extends Node, ProcessingContext>>> registered) {
+      nodeClasses = new ArrayList<>(registered.keySet());
+      processors = new ArrayList<>(registered.values());
+      table = dispatchTables.computeIfAbsent(nodeClasses, k -> new ConcurrentHashMap<>());
+    }
+
+    private BiConsumer<Node, ProcessingContext>[] find(Class<? extends Node> nodeClass) {
+      BiConsumer<Node, ProcessingContext>[] result = resolved.get(nodeClass);
+      if (result == null) {
+        result = resolve(table.computeIfAbsent(nodeClass, this::match));
+        resolved.put(nodeClass, result);
+      }
       return result;
     }
-    ctx.getProcessors()
-        .get(phase)
-        .forEach(
-            (key, value) -> {
-              if (key.isAssignableFrom(nodeClass)) {
-                value.forEach(v -> result.add((Processor<? extends Node>) v));
-              }
-            });
-    return result;
+
+    private int[] match(Class<?> nodeClass) {
+      return IntStream.range(0, nodeClasses.size())
+          .filter(index -> nodeClasses.get(index).isAssignableFrom(nodeClass))
+          .toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiConsumer<Node, ProcessingContext>[] resolve(int[] matches) {
+      List<BiConsumer<Node, ProcessingContext>> result = new ArrayList<>();
+      for (int index : matches) {
+        processors.get(index).forEach(p -> result.add((BiConsumer<Node, ProcessingContext>) p));
+      }
+      return result.isEmpty() ? NO_PROCESSORS : result.toArray(newProcessorArray(result.size()));
+    }
   }
 }
@@ -14,12 +14,10 @@
  */
 package org.eclipse.lsp.cobol.core.engine.processors.implicit;
 
-import java.util.List;
 import lombok.AllArgsConstructor;
 import org.eclipse.lsp.cobol.common.model.SectionType;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.SectionNode;
-import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.Processor;
 import org.eclipse.lsp.cobol.common.symbols.VariableAccumulator;
@@ -29,6 +27,8 @@ import org.eclipse.lsp.cobol.common.symbols.VariableAccumulator;
  */
 @AllArgsConstructor
 public class ImplicitVariablesProcessor implements Processor<SectionNode> {
+  private static final ImplicitVariablesPrototype SPECIAL_REGISTERS =
+      ImplicitVariablesPrototype.of(SRImplicitVariablesGenerator::generate);
 
   @Override
   public void accept(SectionNode sectionNode, ProcessingContext processingContext) {
@@ -36,19 +36,7 @@ public class ImplicitVariablesProcessor implements Processor<SectionNode> {
       VariableAccumulator variableAccumulator = processingContext.getVariableAccumulator();
       ProgramNode programNode = sectionNode.getProgram()
               .orElseThrow(() -> new RuntimeException("Program for section " + sectionNode.getSectionType() + " not found"));
-      registerVariables(variableAccumulator, programNode, SRImplicitVariablesGenerator.generate());
+      SPECIAL_REGISTERS.attach(variableAccumulator, programNode);
     }
   }
-
-  private void registerVariables(VariableAccumulator variableAccumulator, ProgramNode programNode, List<VariableNode> nodes) {
-    nodes.forEach(n -> registerVariable(variableAccumulator, programNode, n));
-  }
-
-  private void registerVariable(VariableAccumulator variableAccumulator, ProgramNode programNode, VariableNode variable) {
-    variableAccumulator.addVariableDefinition(programNode, variable);
-    variable.getChildren()
-            .stream()
-            .map(VariableNode.class::cast)
-            .forEach(c -> variableAccumulator.addVariableDefinition(programNode, c));
-  }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.processors.implicit;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.ElementaryItemNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.GroupItemNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.TableDataNameNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
+import org.eclipse.lsp.cobol.common.symbols.VariableAccumulator;
+
+/**
+ * A set of implicit variables that is generated only once per server and then attached to the
+ * symbol table of every program that needs it.
+ *
+ * <p>The generated nodes are kept as a prototype and are never registered themselves: variable
+ * definitions collect usages of the analyzed document, so each program receives its own copy of
+ * the structure. The copy shares the immutable parts of the prototype (names, clauses and
+ * localities) and only allocates the nodes.
+ */
+public final class ImplicitVariablesPrototype {
+  private final Supplier<List<VariableNode>> prototype;
+
+  private ImplicitVariablesPrototype(Supplier<List<VariableNode>> generator) {
+    prototype = Suppliers.memoize(() -> ImmutableList.copyOf(generator.get()));
+  }
+
+  /**
+   * Create a prototype for the given generator. The generator is called at most once, on the
+   * first attachment.
+   *
+   * @param generator the function that builds the implicit variable structures
+   * @return the prototype of the generated variables
+   */
+  public static ImplicitVariablesPrototype of(Supplier<List<VariableNode>> generator) {
+    return new ImplicitVariablesPrototype(generator);
+  }
+
+  /**
+   * Register a fresh copy of the prototype variables and their direct children as definitions of
+   * the given program.
+   *
+   * @param variableAccumulator the accumulator of the current analysis
+   * @param programNode the program to register the variables for
+   */
+  public void attach(VariableAccumulator variableAccumulator, ProgramNode programNode) {
+    for (VariableNode root : prototype.get()) {
+      VariableNode variable = copy(root);
+      variableAccumulator.addVariableDefinition(programNode, variable);
+      for (Node child : variable.getChildren()) {
+        variableAccumulator.addVariableDefinition(programNode, (VariableNode) child);
+      }
+    }
+  }
+
+  private static VariableNode copy(VariableNode original) {
+    VariableNode copy = copyNode(original);
+    for (Node child : original.getChildren()) {
+      copy.addChild(copy((VariableNode) child));
+    }
+    copy.setGlobal(original.isGlobal());
+    return copy;
+  }
+
+  private static VariableNode copyNode(VariableNode original) {
+    if (original instanceof ElementaryItemNode) {
+      ElementaryItemNode node = (ElementaryItemNode) original;
+      return new ElementaryItemNode(
+          node.getLocality(),
+          node.getLevel(),
+          node.getName(),
+          node.isSpecifiedGlobal(),
+          node.getPicClause(),
+          node.getValue(),
+          node.getUsageFormat(),
+          node.isRedefines(),
+          node.isBlankWhenZeroPresent(),
+          node.isSignClausePresent(),
+          node.isDynamicLength(),
+          node.isJustified(),
+          node.isUnBounded());
+    }
+    if (original instanceof TableDataNameNode) {
+      TableDataNameNode node = (TableDataNameNode) original;
+      return new TableDataNameNode(
+          node.getLocality(),
+          node.getLevel(),
+          node.getName(),
+          node.isRedefines(),
+          node.isSpecifiedGlobal(),
+          node.getPicClause(),
+          node.getValue(),
+          node.getOccursTimes(),
+          node.getUsageFormat(),
+          node.isBlankWhenZeroPresent(),
+          node.isSignClausePresent(),
+          node.isDynamicLength(),
+          node.isJustified(),
+          node.isUnBounded());
+    }
+    if (original instanceof GroupItemNode) {
+      GroupItemNode node = (GroupItemNode) original;
+      return new GroupItemNode(
+          node.getLocality(),
+          node.getLevel(),
+          node.getName(),
+          node.isSpecifiedGlobal(),
+          node.isRedefines(),
+          node.getUsageFormat());
+    }
+    throw new IllegalStateException(
+        "Unsupported implicit variable type: " + original.getClass().getSimpleName());
+  }
+}
@@ -35,8 +35,6 @@ import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static org.eclipse.lsp.cobol.common.utils.RangeUtils.findNodeByPosition;
-
 /** This class is a repository for symbols */
 @Singleton
 @Slf4j
@@ -103,7 +101,7 @@ public class SymbolsRepository {
     if (result == null || result.getRootNode() == null) {
       return Optional.empty();
     }
-    Optional<Node> node = findNodeByPosition(result.getRootNode(), uri, position);
+    Optional<Node> node = result.getPositionIndex().findNodeByPosition(uri, position);
 
     return node.filter(DefinedAndUsedStructure.class::isInstance)
         .map(DefinedAndUsedStructure.class::cast)
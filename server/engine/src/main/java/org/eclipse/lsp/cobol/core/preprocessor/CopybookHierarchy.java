@@ -104,6 +104,25 @@ public class CopybookHierarchy {
     }
   }
 
+  /**
+   * Get the patterns from the COPY statement that are not yet moved to the recursive replacement stack
+   *
+   * @return an unmodifiable list of replacing patterns
+   */
+  public List<Pair<String, String>> getCopyReplacingClauses() {
+    return Collections.unmodifiableList(new ArrayList<>(copyReplacingClauses));
+  }
+
+  /**
+   * Check if the hierarchy is on the program level, i.e. there are no copybooks in the stack and no pending text or
+   * recursive replacing
+   *
+   * @return true if the processing doesn't depend on the outer copybooks and REPLACE statements
+   */
+  public boolean isTopLevel() {
+    return copybookStack.isEmpty() && textReplacing.isEmpty() && recursiveReplaceStmtStack.isEmpty();
+  }
+
   /**
    * Check if there already is a copybook with the given name in the hierarchy
    *
@@ -27,6 +27,7 @@ import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 import org.eclipse.lsp.cobol.core.CobolPreprocessor;
 import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
+import org.eclipse.lsp.cobol.core.ParserRuntime;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.*;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacePreProcessorListener;
@@ -67,6 +68,7 @@ public class GrammarPreprocessorImpl implements GrammarPreprocessor {
     ThreadInterruptionUtil.checkThreadInterrupted();
     CobolPreprocessor preprocessorParser = new CobolPreprocessor(makeTokens(extendedDocument.toString()));
     preprocessorParser.removeErrorListeners();
+    ParserRuntime.attach(preprocessorParser);
 
     ReplacePreProcessorListener listener = replacingFactory.create(extendedDocument, hierarchy);
     new ParseTreeWalker().walk(listener, preprocessorParser.startRule());
@@ -84,6 +86,7 @@ public class GrammarPreprocessorImpl implements GrammarPreprocessor {
 
     CobolPreprocessor parser = new CobolPreprocessor(tokens);
     parser.removeErrorListeners();
+    ParserRuntime.attach(parser);
 
     ParseTreeWalker walker = new ParseTreeWalker();
     walker.walk(listener, parser.startRule());
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+
+/**
+ * Stores fully preprocessed copybook expansions, so a copybook included by many programs is lexed and parsed by the
+ * preprocessor only once. An expansion is addressed by the copybook content hash and everything that affects its
+ * processing: the COPY REPLACING patterns, the dialect and the copybook processing mode. The nested copybooks of an
+ * expansion are kept as dependencies that the caller validates before reusing the expansion.
+ */
+@Slf4j
+@Singleton
+public class CopybookExpansionCache {
+  private final Cache<Key, CopybookExpansion> cache;
+
+  @Inject
+  public CopybookExpansionCache(
+      @Named("CACHE-MAX-SIZE") int cacheSize,
+      @Named("CACHE-DURATION") int duration,
+      @Named("CACHE-TIME-UNIT") String timeUnitName) {
+    cache =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(duration, TimeUnit.valueOf(timeUnitName))
+            .maximumSize(cacheSize)
+            .build();
+  }
+
+  /**
+   * Gets a stored expansion
+   *
+   * @param key the expansion key
+   * @return the expansion or empty if it is not stored
+   */
+  Optional<CopybookExpansion> get(Key key) {
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  /**
+   * Stores an expansion. The text is copied, so the caller may continue to modify the passed one.
+   *
+   * @param key the expansion key
+   * @param text the expanded copybook text
+   * @param copybooks the copybook definitions and usages produced by the nested COPY statements
+   * @param dependencies the nested copybooks of the expansion
+   */
+  void store(Key key, ExtendedText text, CopybooksRepository copybooks, List<Dependency> dependencies) {
+    cache.put(key, new CopybookExpansion(text.copy(), copybooks, dependencies));
+  }
+
+  /**
+   * Invalidates all the expansions that contain the given copybook, either directly or as a nested one
+   *
+   * @param copybookUri the uri of the changed copybook
+   */
+  public void invalidate(String copybookUri) {
+    LOG.debug("Invalidate copybook expansions that depend on {}", copybookUri);
+    cache.asMap().entrySet().removeIf(e -> copybookUri.equals(e.getKey().getCopybookUri())
+        || e.getValue().getDependencies().stream().anyMatch(d -> copybookUri.equals(d.getUri())));
+  }
+
+  /**
+   * Invalidates all the expansions
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Calculates the hash of the copybook content
+   *
+   * @param content the copybook content
+   * @return the content hash
+   */
+  static HashCode hash(String content) {
+    return Hashing.sha256().hashString(content, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The expansion key
+   */
+  @Value
+  static class Key {
+    String copybookUri;
+    HashCode contentHash;
+    String dialectType;
+    List<Pair<String, String>> replacing;
+    CopybookProcessingMode processingMode;
+
+    static Key of(CopybookModel copybook, List<Pair<String, String>> replacing, CopybookProcessingMode processingMode) {
+      return new Key(copybook.getUri(), hash(copybook.getContent()), copybook.getCopybookName().getDialectType(),
+          replacing, processingMode);
+    }
+  }
+
+  /**
+   * The expanded copybook with the results of its preprocessing
+   */
+  @Value
+  static class CopybookExpansion {
+    ExtendedText text;
+    CopybooksRepository copybooks;
+    List<Dependency> dependencies;
+  }
+
+  /**
+   * A nested copybook that was resolved during the expansion
+   */
+  @Value
+  static class Dependency {
+    String name;
+    String uri;
+    HashCode contentHash;
+  }
+}
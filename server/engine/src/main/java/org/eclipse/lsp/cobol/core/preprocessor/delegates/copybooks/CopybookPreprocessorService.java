@@ -17,6 +17,8 @@ package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.*;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
@@ -67,6 +70,7 @@ class CopybookPreprocessorService {
   private final CopybookHierarchy hierarchy;
   private final ReplacingService replacingService;
   private final CopybookErrorService copybookErrorService;
+  private final CopybookExpansionCache expansionCache;
 
   private static final String HYPHEN = "-";
   private static final String UNDERSCORE = "_";
@@ -79,7 +83,8 @@ class CopybookPreprocessorService {
                                      CopybooksRepository copybooks,
                                      CopybookHierarchy hierarchy,
                                      MessageService messageService,
-                                     ReplacingService replacingService) {
+                                     ReplacingService replacingService,
+                                     CopybookExpansionCache expansionCache) {
     this.programDocumentUri = programDocumentUri;
     this.grammarPreprocessor = grammarPreprocessor;
     this.currentDocument = currentDocument;
@@ -89,6 +94,7 @@ class CopybookPreprocessorService {
     this.hierarchy = hierarchy;
     this.replacingService = replacingService;
     this.copybookErrorService = new CopybookErrorService(messageService);
+    this.expansionCache = expansionCache;
   }
 
   void addCopybook(ParserRuleContext ctx, CobolPreprocessor.CopySourceContext copySource,
@@ -118,12 +124,12 @@ class CopybookPreprocessorService {
       copybooks.addStatement(copybookName, null, statementLocality);
 
       prepareReplacements(ctx);
-      ExtendedDocument copybookDocument = processCopybookWithReplacement(replacementContext, copybook, nameLocality);
+      ExtendedText copybookText = processCopybookWithReplacement(replacementContext, copybook, nameLocality);
 
       if (firstInstruction(currentDocument, range.getStart())) {
-        currentDocument.insertCopybook(range, copybookDocument.getCurrentText());
+        currentDocument.insertCopybook(range, copybookText);
       } else {
-        currentDocument.insertCopybookWithPadding(range, copybookDocument.getCurrentText());
+        currentDocument.insertCopybookWithPadding(range, copybookText);
       }
       copybooks.define(copybookName, null, currentDocument.getUri(), copybook.getUri());
     } else {
@@ -145,13 +151,25 @@ class CopybookPreprocessorService {
     });
   }
 
-  private ExtendedDocument processCopybookWithReplacement(List<ReplacementContext> replacementContext, CopybookModel copybook,
-                                                        Locality nameLocality) {
+  private ExtendedText processCopybookWithReplacement(List<ReplacementContext> replacementContext, CopybookModel copybook,
+                                                    Locality nameLocality) {
+    // Only the expansions that don't depend on the outer copybooks and REPLACE statements are reusable
+    CopybookExpansionCache.Key expansionKey = hierarchy.isTopLevel() && (replacementContext == null || replacementContext.isEmpty())
+        ? CopybookExpansionCache.Key.of(copybook, hierarchy.getCopyReplacingClauses(), copybookConfig)
+        : null;
+
     hierarchy.push(new CopybookUsage(copybook.getCopybookName(), CopybooksRepository.toId(copybook.getCopybookName().getQualifiedName(), null, nameLocality.getUri()), nameLocality));
     if (replacementContext != null) {
       replacementContext.forEach(h -> hierarchy.addTextReplacing(h.getReplacement(), h.getLocality().getUri(), h.getLocality().getRange()));
     }
 
+    ExtendedText cachedText = Optional.ofNullable(expansionKey).flatMap(this::retrieveExpansion).orElse(null);
+    if (cachedText != null) {
+      hierarchy.prepareCopybookReplacement(copybook.getUri());
+      hierarchy.pop();
+      return cachedText;
+    }
+
     ExtendedDocument copybookDocument = new ExtendedDocument(copybook.getContent(), copybook.getUri());
     hierarchy.prepareCopybookReplacement(copybook.getUri());
 
@@ -161,7 +179,8 @@ class CopybookPreprocessorService {
 
     hierarchy.replaceCopybook(copybookDocument, replacingService::applyReplacing, errors);
 
-    PreprocessorContext copybookContext = new PreprocessorContext(programDocumentUri, copybookDocument, copybookConfig, hierarchy, copybooks);
+    CopybooksRepository expansionCopybooks = expansionKey == null ? copybooks : new CopybooksRepository();
+    PreprocessorContext copybookContext = new PreprocessorContext(programDocumentUri, copybookDocument, copybookConfig, hierarchy, expansionCopybooks);
     List<SyntaxError> copybookErrors = new LinkedList<>();
     grammarPreprocessor.preprocess(copybookContext).unwrap(copybookErrors::addAll);
 
@@ -172,7 +191,50 @@ class CopybookPreprocessorService {
 
     hierarchy.pop();
     copybookDocument.commitTransformations();
-    return copybookDocument;
+    if (expansionKey != null) {
+      copybooks.addAll(expansionCopybooks);
+      if (copybookErrors.isEmpty()) {
+        storeExpansion(expansionKey, copybookDocument.getCurrentText(), expansionCopybooks);
+      }
+    }
+    return copybookDocument.getCurrentText();
+  }
+
+  private Optional<ExtendedText> retrieveExpansion(CopybookExpansionCache.Key key) {
+    return expansionCache.get(key)
+        .filter(expansion -> expansion.getDependencies().stream().allMatch(this::isUpToDate))
+        .map(expansion -> {
+          copybooks.addAll(expansion.getCopybooks());
+          return expansion.getText().copy();
+        });
+  }
+
+  private void storeExpansion(CopybookExpansionCache.Key key, ExtendedText text, CopybooksRepository expansionCopybooks) {
+    List<CopybookExpansionCache.Dependency> dependencies = new ArrayList<>();
+    for (Map.Entry<String, String> definition : expansionCopybooks.getDefinitions().entries()) {
+      CopybookModel nested = resolveDependency(definition.getKey(), key.getCopybookUri()).getResult();
+      if (nested.getContent() == null || !definition.getValue().equals(nested.getUri())) {
+        return;
+      }
+      dependencies.add(new CopybookExpansionCache.Dependency(definition.getKey(), nested.getUri(),
+          CopybookExpansionCache.hash(nested.getContent())));
+    }
+    expansionCache.store(key, text, expansionCopybooks, dependencies);
+  }
+
+  private boolean isUpToDate(CopybookExpansionCache.Dependency dependency) {
+    ResultWithErrors<CopybookModel> resolved = resolveDependency(dependency.getName(), dependency.getUri());
+    CopybookModel nested = resolved.getResult();
+    return resolved.getErrors().isEmpty()
+        && dependency.getUri().equals(nested.getUri())
+        && nested.getContent() != null
+        && dependency.getContentHash().equals(CopybookExpansionCache.hash(nested.getContent()));
+  }
+
+  private ResultWithErrors<CopybookModel> resolveDependency(String name, String documentUri) {
+    CopybookName copybookName = new CopybookName(name);
+    return copybookService.resolve(copybookName.toCopybookId(programDocumentUri), copybookName, programDocumentUri,
+        documentUri, true);
   }
 
   private Locality mapLocality(Locality locality) {
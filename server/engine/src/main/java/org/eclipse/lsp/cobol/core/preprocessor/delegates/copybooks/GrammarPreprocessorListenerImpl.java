@@ -64,7 +64,8 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
       GrammarPreprocessor grammarPreprocessor,
       CopybookService copybookService,
       MessageService messageService,
-      ReplacingService replacingService) {
+      ReplacingService replacingService,
+      CopybookExpansionCache expansionCache) {
     this.copybookConfig = context.getCopybookProcessingMode();
     this.messageService = messageService;
     this.preprocessorService = new CopybookPreprocessorService(context.getProgramDocumentUri(),
@@ -75,7 +76,8 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
         context.getCopybooksRepository(),
         context.getHierarchy(),
         messageService,
-        replacingService);
+        replacingService,
+        expansionCache);
     this.replacingService = replacingService;
   }
 
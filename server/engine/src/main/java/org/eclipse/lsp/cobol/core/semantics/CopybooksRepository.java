@@ -68,6 +68,17 @@ public class CopybooksRepository {
     definitionStatements.put(toId(name, dialect, location.getUri()), location);
   }
 
+  /**
+   * Add all the definitions, usages and definition statements of the other repository
+   *
+   * @param other the repository to merge
+   */
+  public void addAll(CopybooksRepository other) {
+    definitions.putAll(other.getDefinitions());
+    usages.putAll(other.getUsages());
+    definitionStatements.putAll(other.getDefinitionStatements());
+  }
+
   /**
    * Check if the context contains a language element with the provided name already defined
    *
@@ -20,7 +20,7 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.RuleNode;
 import org.antlr.v4.runtime.tree.TerminalNode;
-import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.mapping.CachingLocationMapper;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.SectionType;
 import org.eclipse.lsp.cobol.common.model.tree.DivisionNode;
@@ -47,15 +47,15 @@ import static org.eclipse.lsp.cobol.core.visitor.VisitorHelper.*;
  */
 @Slf4j
 public class CobolDataDivisionVisitor extends CobolDataDivisionParserBaseVisitor<List<Node>> {
-  private final ExtendedDocument extendedDocument;
+  private final CachingLocationMapper locationMapper;
   private final CopybooksRepository copybooks;
   private final Map<String, CobolParser.FileControlEntryContext> fileControls;
 
   public CobolDataDivisionVisitor(
-          ExtendedDocument extendedDocument,
+          CachingLocationMapper locationMapper,
           CopybooksRepository copybooks,
           Map<String, CobolParser.FileControlEntryContext> fileControls) {
-    this.extendedDocument = extendedDocument;
+    this.locationMapper = locationMapper;
     this.copybooks = copybooks;
     this.fileControls = fileControls;
   }
@@ -251,7 +251,7 @@ public class CobolDataDivisionVisitor extends CobolDataDivisionParserBaseVisitor
 
   private Optional<Locality> retrieveLocality(ParserRuleContext ctx) {
     return retrieveRangeLocality(ctx)
-            .map(extendedDocument::mapLocation)
+            .map(locationMapper::mapLocation)
             .map(this::locationToLocality);
   }
 
@@ -278,7 +278,7 @@ public class CobolDataDivisionVisitor extends CobolDataDivisionParserBaseVisitor
 
   private Locality getLevelLocality(TerminalNode terminalNode) {
     try {
-      Location location = extendedDocument.mapLocation(buildTokenRange(terminalNode.getSymbol()));
+      Location location = locationMapper.mapLocation(buildTokenRange(terminalNode.getSymbol()));
       return locationToLocality(location);
     } catch (IllegalStateException e) {
       LOG.debug(
@@ -301,7 +301,7 @@ public class CobolDataDivisionVisitor extends CobolDataDivisionParserBaseVisitor
   }
 
   private Optional<Locality> getLocality(Token childToken) {
-    Location location = extendedDocument.mapLocation(buildTokenRange(childToken));
+    Location location = locationMapper.mapLocation(buildTokenRange(childToken));
     return ofNullable(locationToLocality(location));
   }
 
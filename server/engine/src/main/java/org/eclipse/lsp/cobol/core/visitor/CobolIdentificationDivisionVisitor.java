@@ -17,7 +17,7 @@ package org.eclipse.lsp.cobol.core.visitor;
 import com.google.common.collect.ImmutableList;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RuleContext;
-import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.mapping.CachingLocationMapper;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.DivisionNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
@@ -43,11 +43,11 @@ import static org.eclipse.lsp.cobol.core.visitor.VisitorHelper.retrieveRangeLoca
  */
 
 public class CobolIdentificationDivisionVisitor extends CobolIdentificationDivisionParserBaseVisitor<List<Node>> {
-  private final ExtendedDocument extendedDocument;
+  private final CachingLocationMapper locationMapper;
   private final CopybooksRepository copybooks;
 
-  public CobolIdentificationDivisionVisitor(ExtendedDocument extendedDocument, CopybooksRepository copybooks) {
-    this.extendedDocument = extendedDocument;
+  public CobolIdentificationDivisionVisitor(CachingLocationMapper locationMapper, CopybooksRepository copybooks) {
+    this.locationMapper = locationMapper;
     this.copybooks = copybooks;
   }
 
@@ -80,7 +80,7 @@ public class CobolIdentificationDivisionVisitor extends CobolIdentificationDivis
 
   private Optional<Locality> retrieveLocality(ParserRuleContext ctx) {
     return retrieveRangeLocality(ctx)
-            .map(extendedDocument::mapLocation)
+            .map(locationMapper::mapLocation)
             .map(this::locationToLocality);
   }
 
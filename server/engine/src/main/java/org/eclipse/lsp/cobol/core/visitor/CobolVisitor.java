@@ -31,6 +31,7 @@ import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.ErrorSource;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.CachingLocationMapper;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.*;
@@ -81,7 +82,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
   @Getter private final List<SyntaxError> errors = new ArrayList<>();
   private final CopybooksRepository copybooks;
   private final CommonTokenStream tokenStream;
-  private final ExtendedDocument extendedDocument;
+  private final CachingLocationMapper locationMapper;
   private final MessageService messageService;
   private final SubroutineService subroutineService;
 
@@ -98,7 +99,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
           CachingConfigurationService cachingConfigurationService) {
     this.copybooks = copybooks;
     this.tokenStream = tokenStream;
-    this.extendedDocument = extendedDocument;
+    this.locationMapper = new CachingLocationMapper(extendedDocument);
     this.messageService = messageService;
     this.subroutineService = subroutineService;
     this.cachingConfigurationService = cachingConfigurationService;
@@ -982,10 +983,10 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
   public List<Node> visitChildren(RuleNode node) {
     checkInterruption();
     if (node.getClass().getEnclosingClass() == CobolIdentificationDivisionParser.class) {
-      return new CobolIdentificationDivisionVisitor(extendedDocument, copybooks).visit(node);
+      return new CobolIdentificationDivisionVisitor(locationMapper, copybooks).visit(node);
     }
     if (node.getClass().getEnclosingClass() == CobolDataDivisionParser.class) {
-      return new CobolDataDivisionVisitor(extendedDocument, copybooks, fileControls).visit(node);
+      return new CobolDataDivisionVisitor(locationMapper, copybooks, fileControls).visit(node);
     }
     return super.visitChildren(node);
   }
@@ -1046,7 +1047,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
   }
 
   private Optional<Locality> getLocality(Token childToken) {
-    Location location = extendedDocument.mapLocation(buildTokenRange(childToken));
+    Location location = locationMapper.mapLocation(buildTokenRange(childToken));
     return ofNullable(locationToLocality(location));
   }
 
@@ -1167,7 +1168,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
 
   private Optional<Locality> retrieveLocality(ParserRuleContext ctx) {
     return retrieveRangeLocality(ctx)
-            .map(extendedDocument::mapLocation)
+            .map(locationMapper::mapLocation)
             .map(this::locationToLocality);
   }
 
@@ -1209,7 +1210,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
 
   private Locality getLevelLocality(TerminalNode terminalNode) {
     try {
-      Location location = extendedDocument.mapLocation(buildTokenRange(terminalNode.getSymbol()));
+      Location location = locationMapper.mapLocation(buildTokenRange(terminalNode.getSymbol()));
       return locationToLocality(location);
     } catch (IllegalStateException e) {
       LOG.debug("Node: {} with range: {} has issue with the mapping", terminalNode, buildTokenRange(terminalNode.getSymbol()));
@@ -31,6 +31,7 @@ import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.SectionNode;
 import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
+import org.eclipse.lsp.cobol.core.TwoStageParsing;
 import org.eclipse.lsp.cobol.implicitDialects.cics.nodes.ExecCicsNode;
 import org.eclipse.lsp.cobol.implicitDialects.cics.processor.CICSExecBlockProcessor;
 import org.eclipse.lsp.cobol.implicitDialects.cics.processor.CICSImplicitVariablesProcessor;
@@ -109,9 +110,9 @@ public class CICSDialect implements CobolDialect {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CICSErrorStrategy(messageService));
 
-    CICSParser.StartRuleContext result = parser.startRule();
+    CICSParser.StartRuleContext result =
+        TwoStageParsing.parse(parser, new CICSErrorStrategy(messageService), CICSParser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
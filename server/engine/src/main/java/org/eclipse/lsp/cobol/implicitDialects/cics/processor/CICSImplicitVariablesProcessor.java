@@ -14,20 +14,24 @@
  */
 package org.eclipse.lsp.cobol.implicitDialects.cics.processor;
 
+import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp.cobol.common.model.SectionType;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.SectionNode;
-import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.Processor;
 import org.eclipse.lsp.cobol.common.symbols.VariableAccumulator;
+import org.eclipse.lsp.cobol.core.engine.processors.implicit.ImplicitVariablesPrototype;
 import org.eclipse.lsp.cobol.implicitDialects.cics.generator.CICSBulkImplicitVariablesGenerator;
 import org.eclipse.lsp.cobol.implicitDialects.cics.generator.CICSSRImplicitVariablesGenerator;
 
-import java.util.List;
-
 /** Enrich symbolic table with predefined variables */
 public class CICSImplicitVariablesProcessor implements Processor<SectionNode> {
+  private static final ImplicitVariablesPrototype EXEC_INTERFACE_BLOCK =
+      ImplicitVariablesPrototype.of(
+          () -> ImmutableList.of(CICSBulkImplicitVariablesGenerator.generate()));
+  private static final ImplicitVariablesPrototype SPECIAL_REGISTERS =
+      ImplicitVariablesPrototype.of(CICSSRImplicitVariablesGenerator::generate);
 
   @Override
   public void accept(SectionNode sectionNode, ProcessingContext processingContext) {
@@ -40,8 +44,7 @@ public class CICSImplicitVariablesProcessor implements Processor<SectionNode> {
                   () ->
                       new RuntimeException(
                           "Program for section " + sectionNode.getSectionType() + " not found"));
-        registerVariable(
-            variableAccumulator, programNode, CICSBulkImplicitVariablesGenerator.generate());
+      EXEC_INTERFACE_BLOCK.attach(variableAccumulator, programNode);
     }
 
     if (sectionNode.getSectionType() == SectionType.WORKING_STORAGE) {
@@ -53,22 +56,7 @@ public class CICSImplicitVariablesProcessor implements Processor<SectionNode> {
                   () ->
                       new RuntimeException(
                           "Program for section " + sectionNode.getSectionType() + " not found"));
-        registerVariables(
-            variableAccumulator, programNode, CICSSRImplicitVariablesGenerator.generate());
+      SPECIAL_REGISTERS.attach(variableAccumulator, programNode);
     }
   }
-
-
-  private void registerVariables(
-      VariableAccumulator variableAccumulator, ProgramNode programNode, List<VariableNode> nodes) {
-    nodes.forEach(n -> registerVariable(variableAccumulator, programNode, n));
-  }
-
-  private void registerVariable(
-      VariableAccumulator variableAccumulator, ProgramNode programNode, VariableNode variable) {
-    variableAccumulator.addVariableDefinition(programNode, variable);
-    variable.getChildren().stream()
-        .map(VariableNode.class::cast)
-        .forEach(c -> variableAccumulator.addVariableDefinition(programNode, c));
-  }
 }
@@ -18,7 +18,8 @@ package org.eclipse.lsp.cobol.implicitDialects.sql;
 import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonElement;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -37,6 +38,7 @@ import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
+import org.eclipse.lsp.cobol.core.TwoStageParsing;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2DataAndProcedureDivisionNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2DeclareVariableNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2ProcedureDivisionNode;
@@ -49,6 +51,13 @@ public class Db2SqlDialect implements CobolDialect {
   public static final String DIALECT_NAME = "db2";
   public static final String SQL_BACKEND_SETTING = "target-sql-backend";
 
+  /**
+   * The content of the predefined copybooks depends only on the SQL backend, so the resources are
+   * read once per backend instead of once per analysis.
+   */
+  private static final Map<SQLBackend, List<CopybookModel>> PREDEFINED_COPYBOOKS =
+      new ConcurrentHashMap<>();
+
   private final CopybookService copybookService;
   private final MessageService messageService;
 
@@ -89,14 +98,8 @@ public class Db2SqlDialect implements CobolDialect {
 
   @Override
   public List<CopybookModel> getPredefinedCopybook(AnalysisConfig ctx) {
-    return ImmutableList.of("SQLDA", "SQLCA").stream()
-        .map(CopybookName::new)
-        .collect(Collectors.toList())
-        .stream()
-        .map(copybook -> tryResolvePredefinedCopybook(copybook, ctx.getDialectsSettings()))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .collect(Collectors.toList());
+    return PREDEFINED_COPYBOOKS.computeIfAbsent(
+        getSqlBackend(ctx.getDialectsSettings()), Db2SqlDialect::resolvePredefinedCopybooks);
   }
 
   @Override
@@ -139,28 +142,39 @@ public class Db2SqlDialect implements CobolDialect {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new Db2ErrorStrategy(messageService));
 
-    Db2SqlParser.StartRuleContext result = parser.startRule();
+    Db2SqlParser.StartRuleContext result =
+        TwoStageParsing.parse(parser, new Db2ErrorStrategy(messageService), Db2SqlParser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
 
+  private static SQLBackend getSqlBackend(Map<String, JsonElement> dialectsSettings) {
+    return Optional.ofNullable(dialectsSettings.get(SQL_BACKEND_SETTING))
+        .map(JsonElement::getAsString)
+        .map(SQLBackend::valueOf)
+        .orElse(SQLBackend.DB2_SERVER);
+  }
+
+  private static List<CopybookModel> resolvePredefinedCopybooks(SQLBackend sqlBackend) {
+    return Stream.of("SQLDA", "SQLCA")
+        .map(CopybookName::new)
+        .map(copybook -> tryResolvePredefinedCopybook(copybook, sqlBackend))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(ImmutableList.toImmutableList());
+  }
+
   /**
    * Retrieve optional {@link CopybookModel} of the {@link PredefinedCopybooks} for the given name
    * if it is predefined.
    *
    * @param copybookName - the name of copybook to check
-   * @param dialectsSettings - Dialect specific settings
+   * @param sqlBackend - the configured SQL backend
    * @return optional model of a predefined copybook if it exists
    */
-  private Optional<CopybookModel> tryResolvePredefinedCopybook(
-      CopybookName copybookName, Map<String, JsonElement> dialectsSettings) {
-    SQLBackend sqlBackend =
-        Optional.ofNullable(dialectsSettings.get("target-sql-backend"))
-            .map(JsonElement::getAsString)
-            .map(SQLBackend::valueOf)
-            .orElse(SQLBackend.DB2_SERVER);
+  private static Optional<CopybookModel> tryResolvePredefinedCopybook(
+      CopybookName copybookName, SQLBackend sqlBackend) {
     LOG.debug(
         "Trying to resolve predefined copybook {}, using sqlBackend {}", copybookName, sqlBackend);
 
@@ -41,6 +41,7 @@ import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.tree.variable.QualifiedReferenceNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableUsageNode;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp.cobol.core.TwoStageParsing;
 import org.eclipse.lsp.cobol.core.visitor.VisitorHelper;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2DataAndProcedureDivisionNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2DeclareVariableNode;
@@ -160,9 +161,9 @@ class Db2SqlVisitor extends Db2SqlParserBaseVisitor<List<Node>> {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new Db2ErrorStrategy(messageService));
 
-    Db2SqlParser.StartSqlRuleContext result = parser.startSqlRule();
+    Db2SqlParser.StartSqlRuleContext result =
+        TwoStageParsing.parse(parser, new Db2ErrorStrategy(messageService), Db2SqlParser::startSqlRule);
     for (SyntaxError err : listener.getErrors()) {
       errors.add(
           err.toBuilder()
@@ -14,7 +14,6 @@
  */
 package org.eclipse.lsp.cobol.implicitDialects.sql.processor;
 
-import java.util.List;
 import java.util.Objects;
 
 import com.google.gson.JsonElement;
@@ -28,12 +27,17 @@ import org.eclipse.lsp.cobol.common.model.tree.variable.VariableWithLevelNode;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.Processor;
 import org.eclipse.lsp.cobol.common.symbols.VariableAccumulator;
+import org.eclipse.lsp.cobol.core.engine.processors.implicit.ImplicitVariablesPrototype;
 import org.eclipse.lsp.cobol.implicitDialects.sql.generator.Db2ImplicitVariablesGenerator;
 
 import static org.eclipse.lsp.cobol.implicitDialects.sql.Db2SqlDialect.SQL_BACKEND_SETTING;
 
 /** Enrich symbolic table with DB2 predefined variables based on the configured SQL backend */
 public class ImplicitDb2VariablesProcessor implements Processor<SectionNode> {
+  private static final ImplicitVariablesPrototype DB2_VARIABLES =
+      ImplicitVariablesPrototype.of(Db2ImplicitVariablesGenerator::generateDb2Nodes);
+  private static final ImplicitVariablesPrototype DATACOM_VARIABLES =
+      ImplicitVariablesPrototype.of(Db2ImplicitVariablesGenerator::generateDatacomNodes);
 
   @Override
   public void accept(SectionNode sectionNode, ProcessingContext processingContext) {
@@ -47,12 +51,10 @@ public class ImplicitDb2VariablesProcessor implements Processor<SectionNode> {
                       new RuntimeException(
                           "Program for section " + sectionNode.getSectionType() + " not found"));
       if (getSqlBackendConfig(processingContext).equalsIgnoreCase(SQLBackend.DB2_SERVER.toString()) && !hasSqlCa(programNode)) {
-        registerVariables(
-            variableAccumulator, programNode, Db2ImplicitVariablesGenerator.generateDb2Nodes());
+        DB2_VARIABLES.attach(variableAccumulator, programNode);
       }
       if (getSqlBackendConfig(processingContext).equalsIgnoreCase(SQLBackend.DATACOM_SERVER.toString()) && !hasSqlCa(programNode)) {
-        registerVariables(
-            variableAccumulator, programNode, Db2ImplicitVariablesGenerator.generateDatacomNodes());
+        DATACOM_VARIABLES.attach(variableAccumulator, programNode);
       }
     }
   }
@@ -73,17 +75,4 @@ public class ImplicitDb2VariablesProcessor implements Processor<SectionNode> {
                     && (node instanceof VariableWithLevelNode)
                     && ((VariableWithLevelNode) node).getLevel() == 1);
   }
-
-  private void registerVariables(
-      VariableAccumulator variableAccumulator, ProgramNode programNode, List<VariableNode> nodes) {
-    nodes.forEach(n -> registerVariable(variableAccumulator, programNode, n));
-  }
-
-  private void registerVariable(
-      VariableAccumulator variableAccumulator, ProgramNode programNode, VariableNode variable) {
-    variableAccumulator.addVariableDefinition(programNode, variable);
-    variable.getChildren().stream()
-        .map(VariableNode.class::cast)
-        .forEach(c -> variableAccumulator.addVariableDefinition(programNode, c));
-  }
 }
@@ -99,6 +99,11 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     return lspMessageBroker.query(completionHandler.createEvent(params));
   }
 
+  @Override
+  public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+    return lspMessageBroker.query(completionHandler.createResolveEvent(unresolved));
+  }
+
   @Override
   public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
   definition(DefinitionParams params) {
@@ -16,22 +16,45 @@ package org.eclipse.lsp.cobol.lsp;
 
 import static org.eclipse.lsp.cobol.lsp.LspMessageBroker.POISON_PILL;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 /** A consumer of {@link LspMessageBroker} */
 @Slf4j
 public class LspEventConsumer {
+  private static final long SAFETY_RECHECK_DELAY_MS = 1000;
+  private static final int QUERY_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+  private static final String SHARED_LANE = "";
   @Getter private final LspMessageBroker lspMessageBroker;
   private final ExecutorService singleThreadExecutor =
       Executors.newSingleThreadExecutor(r -> new Thread(r, "LSP Event Consumer"));
   private final ExecutorService notificationThreadExecutor =
           Executors.newSingleThreadExecutor(r -> new Thread(r, "LSP Notification Consumer"));
+  private final AtomicInteger queryThreadCounter = new AtomicInteger();
   private final ExecutorService queryThreadExecutor =
-          Executors.newSingleThreadExecutor(r -> new Thread(r, "LSP Query Consumer"));
+          Executors.newFixedThreadPool(QUERY_THREADS, r -> new Thread(r, "LSP Query Consumer #" + queryThreadCounter.getAndIncrement()));
+  private final ScheduledExecutorService recheckExecutor =
+          Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "LSP Query Recheck");
+            thread.setDaemon(true);
+            return thread;
+          });
+  @Getter private final LspQueryWaitMetrics queryWaitMetrics = new LspQueryWaitMetrics();
+  private final AtomicLong arrivals = new AtomicLong();
+  private final Map<String, CompletableFuture<Void>> queryLanes = new ConcurrentHashMap<>();
+  private final Map<String, LspQuery<?>> latestQueries = new ConcurrentHashMap<>();
+  private final Map<String, Queue<ParkedQuery>> parkedQueries = new ConcurrentHashMap<>();
 
   protected LspEventConsumer(LspMessageBroker lspMessageBroker) {
     this.lspMessageBroker = lspMessageBroker;
@@ -48,17 +71,47 @@ public class LspEventConsumer {
       return;
     }
     if (event instanceof LspQuery) {
-      CompletableFuture.runAsync(() -> handle((LspQuery<?>) event), queryThreadExecutor);
+      LspQuery<?> query = (LspQuery<?>) event;
+      Optional.ofNullable(query.getSupersedeKey()).ifPresent(key -> latestQueries.put(key, query));
+      dispatch(new PendingQuery(query, System.nanoTime(), arrivals.getAndIncrement()));
     }
   }
 
-  private <T> void handle(LspQuery<T> event) {
+  /**
+   * Schedules the query on the query thread pool. Queries of the same document run in the order they were
+   * dispatched, while queries of different documents run concurrently. Queries that are not bound to a document
+   * share one lane.
+   *
+   * @param pending the query
+   */
+  private void dispatch(PendingQuery pending) {
+    String lane = pending.lane();
+    Runnable task = () -> handle(pending.query, pending);
+    CompletableFuture<Void> tail = queryLanes.compute(lane, (key, previous) -> previous == null
+        ? CompletableFuture.runAsync(task, queryThreadExecutor)
+        : previous.exceptionally(e -> null).thenRunAsync(task, queryThreadExecutor));
+    tail.whenComplete((r, e) -> queryLanes.remove(lane, tail));
+  }
+
+  private <T> void handle(LspQuery<T> event, PendingQuery pending) {
+    String supersedeKey = event.getSupersedeKey();
     if (event.getResult().isCancelled()) {
       LOG.info(event + " was canceled.");
+      Optional.ofNullable(supersedeKey).ifPresent(key -> latestQueries.remove(key, event));
+      return;
+    }
+    if (supersedeKey != null && latestQueries.get(supersedeKey) != event) {
+      LOG.debug("superseded event: " + event);
+      event.getResult().cancel(true);
       return;
     }
     try {
-      if (!event.getDependencies().stream().allMatch(LspEventDependency::isSatisfied)) {
+      List<LspEventDependency> dependencies = event.getDependencies();
+      // subscribe before the check, so a change that happens in between is not missed
+      List<CompletableFuture<?>> triggers = dependencies.stream()
+          .map(LspEventDependency::onChange)
+          .collect(Collectors.toList());
+      if (!dependencies.stream().allMatch(LspEventDependency::isSatisfied)) {
         boolean isCanceled =
             event.getCancelConditions().stream()
                 .anyMatch(LspEventCancelCondition::shouldBeCanceled);
@@ -66,16 +119,66 @@ public class LspEventConsumer {
           LOG.debug("cancel event: " + event);
           event.getResult().cancel(true);
         } else {
-          this.lspMessageBroker.putBack(event);
+          park(pending, triggers);
         }
         return;
       }
+      queryWaitMetrics.record(event, System.nanoTime() - pending.arrivedAt);
       event.getResult().complete(event.query());
     } catch (Exception e) {
       event.getResult().completeExceptionally(e);
+    } finally {
+      if (supersedeKey != null && event.getResult().isDone()) {
+        latestQueries.remove(supersedeKey, event);
+      }
     }
   }
 
+  /**
+   * Postpones the query without blocking its lane. The parked queries of the lane are dispatched again in the order
+   * they arrived as soon as a dependency of one of them changes, or the client cancels one of them.
+   *
+   * @param pending the query to postpone
+   * @param triggers the dependency change notifications
+   */
+  private void park(PendingQuery pending, List<CompletableFuture<?>> triggers) {
+    LOG.debug("park: " + pending.query);
+    CompletableFuture<Void> recheck = new CompletableFuture<>();
+    ParkedQuery parked = new ParkedQuery(pending,
+        recheckExecutor.schedule(() -> recheck.complete(null), SAFETY_RECHECK_DELAY_MS, TimeUnit.MILLISECONDS));
+    parkedQueries.compute(pending.lane(), (lane, queue) -> {
+      Queue<ParkedQuery> result = queue == null ? new PriorityQueue<>(ParkedQuery.ARRIVAL_ORDER) : queue;
+      result.add(parked);
+      return result;
+    });
+    triggers.forEach(trigger -> trigger.whenComplete((r, e) -> recheck.complete(null)));
+    pending.query.getResult().whenComplete((r, e) -> recheck.complete(null));
+    recheck.thenRun(() -> release(parked));
+  }
+
+  /**
+   * Dispatches all the parked queries of the lane in the order they arrived, if the given one is still parked. The
+   * rechecks of the released queries are stale from now on, their timers are canceled.
+   *
+   * @param trigger the parked query whose recheck fired
+   */
+  private void release(ParkedQuery trigger) {
+    List<ParkedQuery> released = new ArrayList<>();
+    parkedQueries.computeIfPresent(trigger.pending.lane(), (lane, queue) -> {
+      if (!queue.contains(trigger)) {
+        return queue;
+      }
+      while (!queue.isEmpty()) {
+        released.add(queue.poll());
+      }
+      return null;
+    });
+    released.forEach(parked -> {
+      parked.timer.cancel(false);
+      dispatch(parked.pending);
+    });
+  }
+
   private void consume() throws InterruptedException {
     LspEvent nextEvent = lspMessageBroker.take();
     while (nextEvent != POISON_PILL) {
@@ -96,10 +199,41 @@ public class LspEventConsumer {
             throw new RuntimeException(e);
           } finally {
             LOG.info("LSP Consumer shutting down");
+            LOG.debug("LSP query wait statistics: " + queryWaitMetrics.getStatistics());
+            recheckExecutor.shutdownNow();
             singleThreadExecutor.shutdown();
           }
           return null;
         },
         singleThreadExecutor);
   }
+
+  /** A query with the time and the order of its arrival */
+  private static final class PendingQuery {
+    private final LspQuery<?> query;
+    private final long arrivedAt;
+    private final long order;
+
+    private PendingQuery(LspQuery<?> query, long arrivedAt, long order) {
+      this.query = query;
+      this.arrivedAt = arrivedAt;
+      this.order = order;
+    }
+
+    private String lane() {
+      return Optional.ofNullable(query.getDocumentUri()).orElse(SHARED_LANE);
+    }
+  }
+
+  /** A single postponement of a query, together with its safety recheck */
+  private static final class ParkedQuery {
+    private static final Comparator<ParkedQuery> ARRIVAL_ORDER = Comparator.comparingLong(parked -> parked.pending.order);
+    private final PendingQuery pending;
+    private final ScheduledFuture<?> timer;
+
+    private ParkedQuery(PendingQuery pending, ScheduledFuture<?> timer) {
+      this.pending = pending;
+      this.timer = timer;
+    }
+  }
 }
@@ -14,14 +14,22 @@
  */
 package org.eclipse.lsp.cobol.lsp;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Contains event handler execution precondition.
  */
-@FunctionalInterface
 public interface LspEventDependency {
   /**
    * Chech if it's ok to run event handler.
    * @return false is execution should be postponed.
    */
   boolean isSatisfied();
+
+  /**
+   * Provides a future that completes when the dependency state may have changed, so a postponed event handler
+   * can be checked again. The future must be obtained before {@link #isSatisfied()} is checked.
+   * @return the future of the next change.
+   */
+  CompletableFuture<?> onChange();
 }
@@ -45,21 +45,6 @@ public class LspMessageBroker {
       return (int) eventQueue.stream().filter(next -> next.getClass().equals(clazz)).count();
   }
 
-  /**
-   * Put backs an event to the end of queue
-   * @param nextEven
-   * @param <Q>
-   * @throws InterruptedException
-   */
-  public <Q> void putBack(LspQuery<Q> nextEven) throws InterruptedException {
-    LOG.debug("putBack: " + nextEven);
-    if (!eventQueue.offer(nextEven)) {
-      LOG.warn("Event " + nextEven + " dropped");
-    }
-    // save the CPU
-    TimeUnit.MILLISECONDS.sleep(100);
-  }
-
   /**
    * Retrieves and removes the head of the queue.
    *
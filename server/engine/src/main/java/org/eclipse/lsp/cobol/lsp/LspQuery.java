@@ -51,6 +51,26 @@ public interface LspQuery<T> extends LspEvent {
     return ImmutableList.of();
   }
 
+  /**
+   * The document read by the query. Queries of different documents are executed concurrently, queries of the same
+   * document keep their order.
+   *
+   * @return the document URI, or null if the query has to be ordered with all other queries without a document
+   */
+  default String getDocumentUri() {
+    return null;
+  }
+
+  /**
+   * Queries with the same supersede key make the older ones obsolete, so the pending older queries are canceled
+   * instead of being executed.
+   *
+   * @return the supersede key, or null if the query is never superseded
+   */
+  default String getSupersedeKey() {
+    return null;
+  }
+
   /**
    *
    * @return CompletableFuture for a {@link LspQuery}
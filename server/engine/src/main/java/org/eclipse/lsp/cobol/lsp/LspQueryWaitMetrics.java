@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects the time LSP queries spend waiting between their arrival and the start of their execution, per query
+ * type. It includes the time a query is parked until its dependencies are satisfied.
+ */
+@Slf4j
+public class LspQueryWaitMetrics {
+  private final Map<String, QueryWaitStatistics> statistics = new ConcurrentHashMap<>();
+
+  /**
+   * Records the waiting time of a query
+   *
+   * @param query the query that is about to be executed
+   * @param waitNanos time the query waited in nanoseconds
+   */
+  void record(LspQuery<?> query, long waitNanos) {
+    String type = query.getClass().getSimpleName();
+    statistics.computeIfAbsent(type, t -> new QueryWaitStatistics()).record(waitNanos);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("{} waited {} ms", type, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+  }
+
+  /**
+   * Returns the collected statistics
+   *
+   * @return the statistics per query type
+   */
+  public Map<String, QueryWaitStatistics> getStatistics() {
+    return Collections.unmodifiableMap(statistics);
+  }
+
+  /** Waiting time statistics of a single query type */
+  public static class QueryWaitStatistics {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private void record(long waitNanos) {
+      count.incrementAndGet();
+      totalNanos.addAndGet(waitNanos);
+      maxNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /**
+     * Returns the number of executed queries
+     *
+     * @return the count
+     */
+    public long getCount() {
+      return count.get();
+    }
+
+    /**
+     * Returns the average waiting time
+     *
+     * @return the average in milliseconds
+     */
+    public long getAverageMillis() {
+      long executed = count.get();
+      return executed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / executed);
+    }
+
+    /**
+     * Returns the maximum waiting time
+     *
+     * @return the maximum in milliseconds
+     */
+    public long getMaxMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    @Override
+    public String toString() {
+      return "count=" + getCount() + ", avg=" + getAverageMillis() + "ms, max=" + getMaxMillis() + "ms";
+    }
+  }
+}
@@ -106,11 +106,8 @@ public class SourceUnitGraph implements AnalysisStateListener {
     List<CopyNode> copyNodes =
         model
             .getAnalysisResult()
-            .getRootNode()
-            .getDepthFirstStream()
-            .filter(CopyNode.class::isInstance)
-            .map(CopyNode.class::cast)
-            .collect(Collectors.toList());
+            .getNodeIndex()
+            .getNodes(CopyNode.class);
     List<NodeV> references = new ArrayList<>();
     for (CopyNode copyNode : copyNodes) {
       String parentUri = copyNode.getLocality().getUri();
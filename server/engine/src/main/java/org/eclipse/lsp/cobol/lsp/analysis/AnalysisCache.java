@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.analysis;
+
+/**
+ * Caches shared between analyses which may become stale when the workspace configuration changes
+ */
+public enum AnalysisCache {
+  /** Resolved copybooks and preprocessed copybook expansions */
+  COPYBOOKS,
+  /** Resolved subroutines */
+  SUBROUTINES
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs document analyses on a bounded thread pool. Analyses of the same document are executed one after another in
+ * the order they were submitted, while analyses of different documents run concurrently. Interactive analyses are
+ * picked before the background ones, the most recent interactive analysis first. The state of a document is released
+ * as soon as it has no more analyses to run, a cancelled analysis keeps it until it stops, so the analyses submitted
+ * after the cancellation still wait for it.
+ */
+@Slf4j
+class AnalysisScheduler {
+  /** Analysis priority, the lower ordinal is executed first */
+  enum Priority {
+    INTERACTIVE,
+    BACKGROUND
+  }
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+  private final AtomicInteger threadCounter = new AtomicInteger();
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<String, DocumentQueue> queues = new HashMap<>();
+  private final ThreadPoolExecutor pool;
+
+  AnalysisScheduler(int threads) {
+    pool = new ThreadPoolExecutor(threads, threads, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+        new PriorityBlockingQueue<>(), r -> new Thread(r, "Analysis thread #" + threadCounter.getAndIncrement()));
+    pool.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Provides an executor which runs the tasks in order of the document with the given priority
+   *
+   * @param uri the document URI
+   * @param priority the analysis priority
+   * @return the executor
+   */
+  Executor executorFor(String uri, Priority priority) {
+    return task -> execute(uri, priority, task);
+  }
+
+  private synchronized void execute(String uri, Priority priority, Runnable task) {
+    DocumentQueue queue = queues.computeIfAbsent(uri, DocumentQueue::new);
+    ScheduledAnalysis analysis = new ScheduledAnalysis(queue, task, priority, sequence.incrementAndGet());
+    if (queue.current == null) {
+      queue.current = analysis;
+      pool.execute(analysis);
+    } else {
+      queue.pending.add(analysis);
+    }
+  }
+
+  /**
+   * Drops the pending analyses of the document and interrupts the running one
+   *
+   * @param uri the document URI
+   * @param timeout the maximum time to wait for the running analysis to stop
+   * @param unit the time unit of the timeout
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  void cancel(String uri, long timeout, TimeUnit unit) throws InterruptedException {
+    try {
+      stop(uri).get(timeout, unit);
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.debug("Analysis of " + uri + " is still running after cancellation");
+    }
+  }
+
+  /**
+   * Drops the pending analyses of the documents and interrupts the running ones without waiting
+   *
+   * @param uris the document URIs
+   * @return the future which completes when none of the analyses is running anymore
+   */
+  CompletableFuture<Void> cancelAll(Collection<String> uris) {
+    return CompletableFuture.allOf(uris.stream().map(this::stop).toArray(CompletableFuture[]::new));
+  }
+
+  private synchronized CompletableFuture<Void> stop(String uri) {
+    DocumentQueue queue = queues.get(uri);
+    if (queue == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    queue.pending.clear();
+    ScheduledAnalysis current = queue.current;
+    current.cancelled = true;
+    if (queue.runner != null) {
+      queue.runner.interrupt();
+    } else if (pool.remove(current)) {
+      current.done.complete(null);
+      scheduleNext(queue);
+    }
+    return current.done;
+  }
+
+  private synchronized void scheduleNext(DocumentQueue queue) {
+    queue.current = queue.pending.poll();
+    if (queue.current != null) {
+      pool.execute(queue.current);
+    } else {
+      queues.remove(queue.uri, queue);
+    }
+  }
+
+  private static final class DocumentQueue {
+    private final String uri;
+    private final Deque<ScheduledAnalysis> pending = new ArrayDeque<>();
+    private ScheduledAnalysis current;
+    private Thread runner;
+
+    private DocumentQueue(String uri) {
+      this.uri = uri;
+    }
+  }
+
+  private final class ScheduledAnalysis implements Runnable, Comparable<ScheduledAnalysis> {
+    private final DocumentQueue queue;
+    private final Runnable task;
+    private final Priority priority;
+    private final long sequence;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private boolean cancelled;
+
+    private ScheduledAnalysis(DocumentQueue queue, Runnable task, Priority priority, long sequence) {
+      this.queue = queue;
+      this.task = task;
+      this.priority = priority;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public void run() {
+      synchronized (AnalysisScheduler.this) {
+        if (cancelled) {
+          done.complete(null);
+          scheduleNext(queue);
+          return;
+        }
+        queue.runner = Thread.currentThread();
+      }
+      try {
+        task.run();
+      } finally {
+        synchronized (AnalysisScheduler.this) {
+          queue.runner = null;
+          // the interruption was meant for this analysis only, the pool thread is reused
+          Thread.interrupted();
+          done.complete(null);
+          scheduleNext(queue);
+        }
+      }
+    }
+
+    @Override
+    public int compareTo(ScheduledAnalysis other) {
+      if (priority != other.priority) {
+        return priority.compareTo(other.priority);
+      }
+      return priority == Priority.INTERACTIVE
+          ? Long.compare(other.sequence, sequence)
+          : Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -18,10 +18,13 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.CopybookExpansionCache;
 import org.eclipse.lsp.cobol.lsp.LspEventCancelCondition;
 import org.eclipse.lsp.cobol.lsp.LspEventDependency;
 import org.eclipse.lsp.cobol.lsp.SourceUnitGraph;
@@ -30,6 +33,7 @@ import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.service.DocumentModelService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookServiceImpl;
 import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
 /**
  * Asynchronous analysis
@@ -37,39 +41,41 @@ import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
 @Slf4j
 @Singleton
 public class AsyncAnalysisService implements AnalysisStateNotifier {
+  private static final int ANALYSIS_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  private static final int REANALYSIS_BATCH_SIZE = ANALYSIS_THREADS * 2;
+  private static final long CANCEL_TIMEOUT_SECONDS = 1;
   private static final ExecutorService SINGLE_THREAD_EXECUTOR = Executors.newSingleThreadExecutor(r -> new Thread(r, "LSP workspace service"));
   private final DocumentModelService documentModelService;
   private final AnalysisService analysisService;
   private final CopybookService copybookService;
   private final SubroutineService subroutineService;
   private final Communications communications;
+  private final CopybookExpansionCache copybookExpansionCache;
 
   private final Map<String, CompletableFuture<CobolDocumentModel>> analysisResults = Collections.synchronizedMap(new HashMap<>());
   private final Map<String, Integer> analysisResultsRevisions = Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, ExecutorService> analysisExecutors = Collections.synchronizedMap(new HashMap<>());
+  private final AnalysisScheduler analysisScheduler = new AnalysisScheduler(ANALYSIS_THREADS);
+  private final AtomicInteger reanalysisGeneration = new AtomicInteger();
+  // accessed from the SINGLE_THREAD_EXECUTOR only
+  private int reanalysisTotal;
+  private final Map<String, CompletableFuture<Void>> analysisStateChanges = new ConcurrentHashMap<>();
 
   private final List<AnalysisStateListener> analysisStateListeners;
 
-  private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
-    private int counter = 0;
-
-    public Thread newThread(Runnable r) {
-      return new Thread(r, "Analysis thread #" + counter++);
-    }
-  };
-
 
   @Inject
   public AsyncAnalysisService(DocumentModelService documentModelService,
                               AnalysisService analysisService,
                               CopybookService copybookService,
                               SubroutineService subroutineService,
-                              Communications communications) {
+                              Communications communications,
+                              CopybookExpansionCache copybookExpansionCache) {
     this.documentModelService = documentModelService;
     this.analysisService = analysisService;
     this.copybookService = copybookService;
     this.subroutineService = subroutineService;
     this.communications = communications;
+    this.copybookExpansionCache = copybookExpansionCache;
     analysisStateListeners = new ArrayList<>();
   }
 
@@ -118,11 +124,13 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
       notifyAllListeners(AnalysisState.SKIPPED, documentModelService.get(uri), eventSource);
       return analysisResults.get(id);
     }
-    Executor analysisExecutor = getExecutor(uri);
+    Executor analysisExecutor = analysisScheduler.executorFor(uri,
+        force ? AnalysisScheduler.Priority.BACKGROUND : AnalysisScheduler.Priority.INTERACTIVE);
     CompletableFuture<CobolDocumentModel> value = CompletableFuture.supplyAsync(() -> {
       if (currentRevision < analysisResultsRevisions.get(uri) && !force) {
         notifyAllListeners(AnalysisState.SKIPPED, documentModelService.get(uri), eventSource);
         LOG.debug("[scheduleAnalysis] skip revision: " + currentRevision + " latest: " + analysisResultsRevisions.get(uri));
+        releaseAnalysisStateChange(uri);
         return null;
       }
       LOG.debug("[scheduleAnalysis] Start analysis: " + uri);
@@ -139,6 +147,7 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
           communications.publishDiagnostics(documentModelService.getOpenedDiagnostic());
         }
         communications.notifyProgressEnd(uri);
+        releaseAnalysisStateChange(uri);
       }
     }, analysisExecutor);
     analysisResults.put(id, value);
@@ -149,43 +158,114 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
   }
 
 
-  private Executor getExecutor(String uri) {
-    synchronized (analysisExecutors) {
-      ExecutorService analysisExecutor = analysisExecutors.computeIfAbsent(uri, u -> Executors.newSingleThreadExecutor(THREAD_FACTORY));
-      if (analysisExecutor.isShutdown()) {
-        analysisExecutor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
-        analysisExecutors.put(uri, analysisExecutor);
-      }
-      return analysisExecutor;
-    }
-  }
-
   private static String makeId(String uri, Integer revision) {
     return revision + "#" + uri;
   }
 
   /**
-   * Trigger reanalyse of opened programs.
+   * Trigger reanalyse of opened programs, invalidating all the caches.
+   *
+   * @return the future which completes when the reanalysis of all opened programs is scheduled
    */
-  public void reanalyseOpenedPrograms() throws InterruptedException {
-    List<CobolDocumentModel> openDocuments = documentModelService.getAllOpened()
-            .stream().filter(d -> !analysisService.isCopybook(d.getUri(), d.getText())).collect(Collectors.toList());
-    boolean analysisInProgress;
-    do {
-      analysisInProgress = openDocuments.stream()
-              .filter(model -> model.getLastAnalysisResult() != null)
-              .map(model -> makeId(model.getUri(), analysisResultsRevisions.get(model.getUri())))
-              .filter(analysisResults::containsKey)
-              .anyMatch(id -> !analysisResults.get(id).isDone());
-      LOG.debug(" re-analysis is waiting for prev analysis to finish");
-      TimeUnit.MILLISECONDS.sleep(100);
-    } while (analysisInProgress);
+  public CompletableFuture<Void> reanalyseOpenedPrograms() {
+    return reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
+  }
+
+  /**
+   * Trigger reanalyse of opened programs. The running analyses are cancelled, since they use a stale configuration,
+   * and the affected caches are invalidated when all of them are stopped, or the cancellation timeout expires.
+   * An analysis which ignores the interruption still delays the reanalysis of its own document only. The programs are then reanalysed in
+   * batches, reporting the progress to the client.
+   *
+   * @param affectedCaches the caches which are stale after the change
+   * @return the future which completes when the reanalysis of all opened programs is scheduled
+   */
+  public CompletableFuture<Void> reanalyseOpenedPrograms(Set<AnalysisCache> affectedCaches) {
+    List<String> openPrograms = documentModelService.getAllOpened().stream()
+            .filter(d -> !analysisService.isCopybook(d))
+            .map(CobolDocumentModel::getUri)
+            .collect(Collectors.toList());
+    int generation = reanalysisGeneration.incrementAndGet();
+    CompletableFuture<Void> stopped = analysisScheduler.cancelAll(openPrograms);
+    // the dropped analyses will never run, so their waiters are released
+    openPrograms.forEach(uri -> Optional.ofNullable(analysisResultsRevisions.get(uri))
+            .map(revision -> analysisResults.get(makeId(uri, revision)))
+            .ifPresent(result -> result.cancel(true)));
+    return CompletableFuture.runAsync(() -> {
+      awaitStopped(stopped);
+      invalidateCaches(affectedCaches);
+      startReanalysis(generation, openPrograms);
+    }, SINGLE_THREAD_EXECUTOR);
+  }
+
+  private static void awaitStopped(CompletableFuture<Void> stopped) {
+    try {
+      stopped.get(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      LOG.warn("Some analyses are still running after cancellation, reanalysing the opened programs anyway");
+    } catch (ExecutionException e) {
+      LOG.debug("Cancellation of the running analyses failed", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 
-    copybookService.invalidateCache();
-    subroutineService.invalidateCache();
-    LOG.info("Cache invalidated");
-    openDocuments
-            .forEach(doc -> scheduleAnalysis(doc.getUri(), doc.getText(), analysisResultsRevisions.get(doc.getUri()), false, true, SourceUnitGraph.EventSource.IDE));
+  private void invalidateCaches(Set<AnalysisCache> affectedCaches) {
+    if (affectedCaches.contains(AnalysisCache.COPYBOOKS)) {
+      copybookService.invalidateCache();
+      copybookExpansionCache.invalidateAll();
+    }
+    if (affectedCaches.contains(AnalysisCache.SUBROUTINES)) {
+      subroutineService.invalidateCache();
+    }
+    LOG.info("Cache invalidated: " + affectedCaches);
+  }
+
+  private void startReanalysis(int generation, List<String> uris) {
+    if (reanalysisTotal > 0) {
+      // end the progress of the superseded reanalysis
+      communications.notifyReanalysisProgress(reanalysisTotal, reanalysisTotal);
+      reanalysisTotal = 0;
+    }
+    if (uris.isEmpty()) {
+      return;
+    }
+    reanalysisTotal = uris.size();
+    communications.notifyReanalysisProgress(0, reanalysisTotal);
+    reanalyseBatch(generation, uris, 0);
+  }
+
+  private void reanalyseBatch(int generation, List<String> uris, int from) {
+    if (generation != reanalysisGeneration.get()) {
+      return;
+    }
+    if (from >= uris.size()) {
+      communications.notifyReanalysisProgress(uris.size(), uris.size());
+      reanalysisTotal = 0;
+      return;
+    }
+    if (from > 0) {
+      communications.notifyReanalysisProgress(from, uris.size());
+    }
+    List<String> batch = uris.subList(from, Math.min(from + REANALYSIS_BATCH_SIZE, uris.size()));
+    CompletableFuture<?>[] analyses = batch.stream()
+            .map(this::reanalyse)
+            .map(analysis -> analysis.handle((model, e) -> model))
+            .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(analyses)
+            .thenRunAsync(() -> reanalyseBatch(generation, uris, from + batch.size()), SINGLE_THREAD_EXECUTOR);
+  }
+
+  private CompletableFuture<CobolDocumentModel> reanalyse(String uri) {
+    CobolDocumentModel model = documentModelService.get(uri);
+    Integer revision = analysisResultsRevisions.get(uri);
+    if (model == null || !model.isOpened() || revision == null) {
+      return CompletableFuture.completedFuture(model);
+    }
+    // the model text changes only when an analysis finishes, so the edits of the cancelled analyses are taken from
+    // the synced text
+    return scheduleAnalysis(uri, documentModelService.getSyncedText(uri), revision, false, true,
+            SourceUnitGraph.EventSource.IDE);
   }
 
   /**
@@ -197,24 +277,22 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
    */
   public void reanalyseCopybooksAssociatedPrograms(List<String> uris, String copybookUri, String copybookContent, SourceUnitGraph.EventSource eventSource) {
     documentModelService.removeDocumentDiagnostics(copybookUri);
-    for (String uri : uris) {
-      //TODO: update cache directly from workspace document graph
-      if (copybookService instanceof CopybookServiceImpl) {
-        CopybookServiceImpl copybookServiceImpl = (CopybookServiceImpl) copybookService;
-        copybookServiceImpl.getCopybookUsage(uri).stream()
-                .filter(model -> Objects.nonNull(model.getUri()))
-                .filter(model -> model.getUri().equals(copybookUri))
-                .forEach(
-                        copybookModel -> {
-                          copybookServiceImpl.invalidateCache(copybookModel.getCopybookId());
-                          copybookModel.setContent(copybookContent);
-                          copybookServiceImpl.store(copybookModel, true);
-                        });
-      }
+    copybookExpansionCache.invalidate(copybookUri);
+    Set<String> programs = new LinkedHashSet<>(uris);
+    if (copybookService instanceof CopybookServiceImpl) {
+      programs.addAll(((CopybookServiceImpl) copybookService).updateCopybookContent(copybookUri, copybookContent));
+    }
+    if (eventSource == SourceUnitGraph.EventSource.FILE_SYSTEM) {
+      // a created or removed file may be a subroutine
       subroutineService.invalidateCache();
-      LOG.info("Cache invalidated");
+    }
+    LOG.info("Cache invalidated for " + copybookUri);
+    for (String uri : programs) {
       CobolDocumentModel model = documentModelService.get(uri);
-      scheduleAnalysis(uri, model.getText(), analysisResultsRevisions.get(model.getUri()), false, true, eventSource);
+      if (model != null) {
+        scheduleAnalysis(uri, documentModelService.getSyncedText(uri), analysisResultsRevisions.getOrDefault(uri, 0),
+            false, true, eventSource);
+      }
     }
   }
 
@@ -225,13 +303,8 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
    */
   public void cancelAnalysis(String uri) throws InterruptedException {
     analysisResultsRevisions.remove(uri);
-    synchronized (analysisExecutors) {
-      ExecutorService service = analysisExecutors.remove(uri);
-      if (service != null) {
-        service.shutdownNow();
-        service.awaitTermination(1, TimeUnit.SECONDS);
-      }
-    }
+    analysisScheduler.cancel(uri, CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    releaseAnalysisStateChange(uri);
     LOG.debug("[stopAnalysis] Document " + uri + " publish diagnostic: " + documentModelService.getOpenedDiagnostic());
     communications.publishDiagnostics(documentModelService.getOpenedDiagnostic());
   }
@@ -243,18 +316,49 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
    * @return LspEventDependency object
    */
   public LspEventDependency createDependencyOn(String uri) {
-    return () -> {
+    return createDependencyOn(uri, () -> {
       CobolDocumentModel doc = documentModelService.get(uri);
       if (doc == null) {
         return false;
       }
-      if (analysisService.isCopybook(uri, doc.getText())) {
+      if (analysisService.isCopybook(doc)) {
         return true;
       }
       return doc.getLastAnalysisResult() != null;
+    });
+  }
+
+  /**
+   * Creates LSP Event dependency on a state of the document that changes with its analysis
+   *
+   * @param uri url of document to wait
+   * @param condition the check of the document state, it is repeated when the analysis state of the document changes
+   * @return LspEventDependency object
+   */
+  public LspEventDependency createDependencyOn(String uri, BooleanSupplier condition) {
+    return new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        return condition.getAsBoolean();
+      }
+
+      @Override
+      public CompletableFuture<?> onChange() {
+        return analysisStateChanges.computeIfAbsent(uri, u -> new CompletableFuture<>());
+      }
     };
   }
 
+  /**
+   * Wakes up the events waiting for the analysis of the document, when the analysis is finished, skipped or
+   * the document is closed
+   *
+   * @param uri url of the document
+   */
+  private void releaseAnalysisStateChange(String uri) {
+    Optional.ofNullable(analysisStateChanges.remove(uri)).ifPresent(change -> change.complete(null));
+  }
+
   /**
    * Creates LSP Event cancel condition: cancel on document close.
    *
@@ -271,6 +375,17 @@ public class AsyncAnalysisService implements AnalysisStateNotifier {
     };
   }
 
+  /**
+   * Apply the client content changes to the latest known text of the document
+   *
+   * @param uri of document
+   * @param changes content changes in the order they were made
+   * @return the document text after the changes
+   */
+  public String applyChanges(String uri, List<TextDocumentContentChangeEvent> changes) {
+    return documentModelService.applyChanges(uri, changes);
+  }
+
   /**
    * Mark document as opened
    *
@@ -46,6 +46,16 @@ public class CompletionQuery implements LspQuery<Either<List<CompletionItem>, Co
     return completionHandler.getDocumentHighlightDependency(params);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return params.getTextDocument().getUri();
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "CompletionQuery#" + getDocumentUri() + "#" + params.getPosition().getLine() + ":" + params.getPosition().getCharacter();
+  }
+
   @Override
   public CompletableFuture<Either<List<CompletionItem>, CompletionList>> getResult() {
     return result;
@@ -45,6 +45,16 @@ public class DefinitionQuery
     return definitionHandler.getDefinitionEventDependencies(params);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return params.getTextDocument().getUri();
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "DefinitionQuery#" + getDocumentUri() + "#" + params.getPosition().getLine() + ":" + params.getPosition().getCharacter();
+  }
+
   @Override
   public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
       getResult() {
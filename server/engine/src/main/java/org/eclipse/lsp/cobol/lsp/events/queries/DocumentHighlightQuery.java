@@ -42,6 +42,16 @@ public class DocumentHighlightQuery implements LspQuery<List<? extends DocumentH
     return documentHighlightHandler.getDocumentHighlightDependency(params);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return params.getTextDocument().getUri();
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "DocumentHighlightQuery#" + getDocumentUri() + "#" + params.getPosition().getLine() + ":" + params.getPosition().getCharacter();
+  }
+
   @Override
   public CompletableFuture<List<? extends DocumentHighlight>> getResult() {
     return result;
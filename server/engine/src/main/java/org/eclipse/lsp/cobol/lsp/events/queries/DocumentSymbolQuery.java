@@ -48,6 +48,16 @@ public class DocumentSymbolQuery implements LspQuery<List<Either<SymbolInformati
     return documentSymbolHandler.getDependencies(params);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return uri;
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "DocumentSymbolQuery#" + uri;
+  }
+
   @Override
   public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> getResult() {
     return result;
@@ -50,6 +50,16 @@ public class FoldingQuery implements LspQuery<List<FoldingRange>> {
     return foldingRangeHandler.getCancelConditions(uri);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return uri;
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "FoldingQuery#" + uri;
+  }
+
   @Override
   public CompletableFuture<List<FoldingRange>> getResult() {
     return result;
@@ -42,6 +42,16 @@ public class HoverLspQuery implements LspQuery<Hover> {
     return hoverHandler.getDependencies(params);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return params.getTextDocument().getUri();
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "HoverLspQuery#" + getDocumentUri() + "#" + params.getPosition().getLine() + ":" + params.getPosition().getCharacter();
+  }
+
   @Override
   public CompletableFuture<Hover> getResult() {
     return result;
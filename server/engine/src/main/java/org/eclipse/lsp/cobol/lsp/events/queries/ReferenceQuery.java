@@ -43,6 +43,16 @@ public class ReferenceQuery implements LspQuery<List<? extends Location>> {
     return referencesHandler.getReferenceDependency(params);
   }
 
+  @Override
+  public String getDocumentUri() {
+    return params.getTextDocument().getUri();
+  }
+
+  @Override
+  public String getSupersedeKey() {
+    return "ReferenceQuery#" + getDocumentUri() + "#" + params.getPosition().getLine() + ":" + params.getPosition().getCharacter();
+  }
+
   @Override
   public CompletableFuture<List<? extends Location>> getResult() {
     return result;
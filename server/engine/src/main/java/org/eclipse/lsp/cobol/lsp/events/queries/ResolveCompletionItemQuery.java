@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.events.queries;
+
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.lsp.cobol.lsp.LspQuery;
+import org.eclipse.lsp.cobol.lsp.handlers.text.CompletionHandler;
+import org.eclipse.lsp.cobol.service.delegates.completions.CompletionData;
+import org.eclipse.lsp4j.CompletionItem;
+
+/**
+ * Completion item resolve Language server event
+ */
+public class ResolveCompletionItemQuery implements LspQuery<CompletionItem> {
+  final CompletableFuture<CompletionItem> result;
+  private final CompletionItem unresolved;
+  private final CompletionHandler completionHandler;
+
+  public ResolveCompletionItemQuery(
+      CompletionItem unresolved,
+      CompletionHandler completionHandler) {
+    this.completionHandler = completionHandler;
+    this.unresolved = unresolved;
+    result = new CompletableFuture<>();
+  }
+
+  @Override
+  public String getDocumentUri() {
+    return CompletionData.getUri(unresolved).orElse(null);
+  }
+
+  @Override
+  public CompletableFuture<CompletionItem> getResult() {
+    return result;
+  }
+
+  @Override
+  public CompletionItem query() {
+    return completionHandler.resolveCompletionItem(unresolved);
+  }
+}
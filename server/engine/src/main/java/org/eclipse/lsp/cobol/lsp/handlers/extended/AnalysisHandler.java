@@ -21,6 +21,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.cfg.CFASTBuilder;
@@ -71,7 +72,11 @@ public class AnalysisHandler {
   public ExtendedApiResult analysis(AnalysisResultEvent analysisResultEvent) throws ExecutionException, InterruptedException {
     String uri = uriDecodeService.decode(analysisResultEvent.getUri());
     CobolDocumentModel doc = documentModelService.get(uri);
-    if (analysisService.isCopybook(uri, analysisResultEvent.getText())) {
+    String text = analysisResultEvent.getText();
+    boolean copybook = doc != null && Objects.equals(doc.getText(), text)
+        ? analysisService.isCopybook(doc)
+        : analysisService.isCopybook(uri, text);
+    if (copybook) {
       communications.notifyGeneralMessage(MessageType.Info, "Cannot retrieve outline tree because file was treated as a copybook");
       return new ExtendedApiResult(ImmutableList.of());
     }
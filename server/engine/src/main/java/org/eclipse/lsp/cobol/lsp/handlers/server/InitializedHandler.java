@@ -21,6 +21,7 @@ import javax.annotation.Nullable;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.utils.LogLevelUtils;
+import org.eclipse.lsp.cobol.core.engine.ParserRuntimeService;
 import org.eclipse.lsp.cobol.service.AnalysisService;
 import org.eclipse.lsp.cobol.service.WatcherService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
@@ -39,6 +40,7 @@ public class InitializedHandler {
   private final LocaleStore localeStore;
   private final AnalysisService analysisService;
   private final MessageService messageService;
+  private final ParserRuntimeService parserRuntimeService;
 
   @Inject
   public InitializedHandler(WatcherService watchingService,
@@ -47,7 +49,8 @@ public class InitializedHandler {
                             SettingsService settingsService,
                             LocaleStore localeStore,
                             AnalysisService analysisService,
-                            MessageService messageService) {
+                            MessageService messageService,
+                            ParserRuntimeService parserRuntimeService) {
     this.watchingService = watchingService;
     this.copybookNameService = copybookNameService;
     this.keywords = keywords;
@@ -55,6 +58,7 @@ public class InitializedHandler {
     this.localeStore = localeStore;
     this.analysisService = analysisService;
     this.messageService = messageService;
+    this.parserRuntimeService = parserRuntimeService;
   }
 
   /**
@@ -69,6 +73,7 @@ public class InitializedHandler {
     keywords.updateStorage();
     messageService.reloadMessages();
     notifyConfiguredCopybookExtensions();
+    parserRuntimeService.warmUp();
   }
   private void getLocaleFromClient() {
     settingsService.fetchConfiguration(LOCALE.label).thenAccept(localeStore.notifyLocaleStore());
@@ -23,8 +23,11 @@ import org.eclipse.lsp.cobol.lsp.LspEventDependency;
 import org.eclipse.lsp.cobol.lsp.LspQuery;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.events.queries.CompletionQuery;
+import org.eclipse.lsp.cobol.lsp.events.queries.ResolveCompletionItemQuery;
+import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.service.DocumentModelService;
 import org.eclipse.lsp.cobol.service.UriDecodeService;
+import org.eclipse.lsp.cobol.service.delegates.completions.CompletionData;
 import org.eclipse.lsp.cobol.service.delegates.completions.Completions;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
@@ -62,6 +65,17 @@ public class CompletionHandler {
     return Either.forRight(completions.collectFor(documentModelService.get(uri), params));
   }
 
+  /**
+   * Handle completionItem/resolve LSP request.
+   *
+   * @param unresolved the completion item without documentation.
+   * @return the completion item with documentation if it is available.
+   */
+  public CompletionItem resolveCompletionItem(CompletionItem unresolved) {
+    CobolDocumentModel document = CompletionData.getUri(unresolved).map(documentModelService::get).orElse(null);
+    return completions.resolve(unresolved, document);
+  }
+
   /**
    * Handle completion LSP request.
    * @param params CompletionParams.
@@ -71,6 +85,15 @@ public class CompletionHandler {
     return new CompletionQuery(params, this);
   }
 
+  /**
+   * Handle completionItem/resolve LSP request.
+   * @param unresolved the completion item without documentation.
+   * @return LspQuery.
+   */
+  public LspQuery<CompletionItem> createResolveEvent(CompletionItem unresolved) {
+    return new ResolveCompletionItemQuery(unresolved, this);
+  }
+
   /**
    * Document highlight dependency
    * @param params
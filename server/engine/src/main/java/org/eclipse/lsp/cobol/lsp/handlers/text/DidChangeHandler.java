@@ -52,7 +52,10 @@ public class DidChangeHandler {
     if (!HandlerUtility.isUriSupported(uri)) {
       return;
     }
-    String text = params.getContentChanges().get(0).getText();
+    String text = asyncAnalysisService.applyChanges(uri, params.getContentChanges());
+    if (text == null) {
+      return;
+    }
     if (sourceUnitGraph.isCopybook(uri)) {
       sourceUnitGraph.updateContent(uri, text);
       List<String> allAssociatedFilesForACopybook = sourceUnitGraph.getAllAssociatedFilesForACopybook(uri);
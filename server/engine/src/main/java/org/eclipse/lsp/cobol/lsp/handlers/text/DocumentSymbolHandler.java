@@ -85,9 +85,9 @@ public class DocumentSymbolHandler {
     String uri = uriDecodeService.decode(params.getTextDocument().getUri());
     return ImmutableList.of(
             asyncAnalysisService.createDependencyOn(uri),
-            () -> documentModelService.get(uri) != null && ((documentModelService.get(uri).getOutlineResult() != null
+            asyncAnalysisService.createDependencyOn(uri, () -> documentModelService.get(uri) != null && ((documentModelService.get(uri).getOutlineResult() != null
                     && !documentModelService.get(uri).getOutlineResult().isEmpty())
-                    || analysisService.isCopybook(uri, documentModelService.get(uri).getText())));
+                    || analysisService.isCopybook(documentModelService.get(uri)))));
   }
 
   /**
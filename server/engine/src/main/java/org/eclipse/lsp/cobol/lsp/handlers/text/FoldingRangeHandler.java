@@ -20,7 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.lsp.LspEventCancelCondition;
 import org.eclipse.lsp.cobol.lsp.LspEventDependency;
 import org.eclipse.lsp.cobol.lsp.LspQuery;
@@ -57,12 +57,12 @@ public class FoldingRangeHandler {
    */
   public List<FoldingRange> foldingRange(FoldingRangeRequestParams params) {
     String uri = uriDecodeService.decode(params.getTextDocument().getUri());
-    Node rootNode =
+    AnalysisResult result =
             documentService.isDocumentSynced(uri)
-                    ? documentService.get(uri).getAnalysisResult().getRootNode()
+                    ? documentService.get(uri).getAnalysisResult()
                     : null;
-    return rootNode == null ? Collections.emptyList()
-            : new ArrayList<>(DocumentServiceHelper.getFoldingRange(rootNode, uri));
+    return result == null || result.getRootNode() == null ? Collections.emptyList()
+            : new ArrayList<>(DocumentServiceHelper.getIndexedFoldingRange(result.getNodeIndex(), uri));
   }
 
   /**
@@ -15,20 +15,26 @@
 package org.eclipse.lsp.cobol.lsp.handlers.workspace;
 
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.LOCALE;
-import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.LOGGING_LEVEL;
+import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
 
 import com.google.inject.Inject;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.utils.LogLevelUtils;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
+import org.eclipse.lsp.cobol.lsp.analysis.AnalysisCache;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
+import org.eclipse.lsp.cobol.service.CobolDocumentModel;
+import org.eclipse.lsp.cobol.service.DocumentModelService;
 import org.eclipse.lsp.cobol.service.WatcherService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 
@@ -45,6 +51,11 @@ public class DidChangeConfigurationHandler {
   private final Keywords keywords;
   private final MessageService messageService;
   private final AsyncAnalysisService asyncAnalysisService;
+  private final DialectService dialectService;
+  private final ConfigurationService configurationService;
+  private final DocumentModelService documentModelService;
+  // the settings seen on the previous change per scope, the null key holds the global ones
+  private final Map<String, Map<String, String>> lastSettings = new HashMap<>();
 
   @Inject
   public DidChangeConfigurationHandler(DisposableLSPStateService disposableLSPStateService,
@@ -54,7 +65,10 @@ public class DidChangeConfigurationHandler {
                                        LocaleStore localeStore,
                                        Keywords keywords,
                                        MessageService messageService,
-                                       AsyncAnalysisService asyncAnalysisService) {
+                                       AsyncAnalysisService asyncAnalysisService,
+                                       DialectService dialectService,
+                                       ConfigurationService configurationService,
+                                       DocumentModelService documentModelService) {
     this.disposableLSPStateService = disposableLSPStateService;
     this.settingsService = settingsService;
     this.copybookNameService = copybookNameService;
@@ -63,6 +77,9 @@ public class DidChangeConfigurationHandler {
     this.keywords = keywords;
     this.messageService = messageService;
     this.asyncAnalysisService = asyncAnalysisService;
+    this.dialectService = dialectService;
+    this.configurationService = configurationService;
+    this.documentModelService = documentModelService;
   }
 
   /**
@@ -74,18 +91,11 @@ public class DidChangeConfigurationHandler {
       return;
     }
 
+    configurationService.invalidateConfiguration();
     messageService.reloadMessages();
     copybookNameService
         .copybookLocalFolders(null)
-        .thenAccept(
-            localFolders -> {
-              try {
-                acceptSettingsChange(localFolders);
-              } catch (InterruptedException e) {
-                LOG.error("InterruptedException while accepting settings changes");
-                Thread.currentThread().interrupt();
-              }
-            });
+        .thenAcceptBoth(detectAffectedCaches(), this::acceptSettingsChange);
 
     settingsService.fetchConfiguration(LOCALE.label).thenAccept(localeStore.notifyLocaleStore());
     settingsService.fetchConfiguration(LOGGING_LEVEL.label).thenAccept(LogLevelUtils.updateLogLevel());
@@ -93,11 +103,67 @@ public class DidChangeConfigurationHandler {
     keywords.updateStorage();
   }
 
-  private void acceptSettingsChange(List<String> localFolders) throws InterruptedException {
+  private void acceptSettingsChange(List<String> localFolders, Set<AnalysisCache> affectedCaches) {
     List<String> watchingFolders = watchingService.getWatchingFolders();
 
     updateWatchers(localFolders, watchingFolders);
-    asyncAnalysisService.reanalyseOpenedPrograms();
+    asyncAnalysisService.reanalyseOpenedPrograms(affectedCaches);
+  }
+
+  /**
+   * Compares the cache related settings with the ones seen on the previous change, to invalidate only the caches
+   * the change affects. The settings are compared for the global scope and for the scope of every opened document,
+   * as the workspace folders may override them. A scope without the previous settings, or with the settings that
+   * cannot be fetched, affects all the caches.
+   *
+   * @return the future with the affected caches
+   */
+  private CompletableFuture<Set<AnalysisCache>> detectAffectedCaches() {
+    List<String> sections = Stream.of(
+            Stream.of(SUBROUTINE_LOCAL_PATHS.label, CPY_LOCAL_PATHS.label, DATASETS.label, CPY_EXTENSIONS.label,
+                DIALECTS.label, DIALECT_REGISTRY.label, COMPILER_OPTIONS.label, CICS_TRANSLATOR_ENABLED.label),
+            dialectService.getSettingsSections().stream(),
+            dialectService.getImplicitDialectSettingsSections().stream())
+        .flatMap(s -> s)
+        .distinct()
+        .collect(toList());
+    List<String> scopes = new ArrayList<>();
+    scopes.add(null);
+    documentModelService.getAllOpened().stream().map(CobolDocumentModel::getUri).forEach(scopes::add);
+    forgetClosedScopes(scopes);
+
+    List<CompletableFuture<Set<AnalysisCache>>> scopeChanges = scopes.stream()
+        .map(scope -> settingsService.fetchConfigurations(scope, sections)
+            .exceptionally(e -> null)
+            .thenApply(values -> collectAffectedCaches(scope, sections, values)))
+        .collect(toList());
+    return CompletableFuture.allOf(scopeChanges.toArray(new CompletableFuture[0]))
+        .thenApply(ignored -> {
+          Set<AnalysisCache> affectedCaches = EnumSet.noneOf(AnalysisCache.class);
+          scopeChanges.forEach(change -> affectedCaches.addAll(change.join()));
+          return affectedCaches;
+        });
+  }
+
+  private synchronized void forgetClosedScopes(List<String> scopes) {
+    lastSettings.keySet().retainAll(scopes);
+  }
+
+  private synchronized Set<AnalysisCache> collectAffectedCaches(String scope, List<String> sections, List<Object> values) {
+    if (values == null || values.size() != sections.size()) {
+      lastSettings.remove(scope);
+      return EnumSet.allOf(AnalysisCache.class);
+    }
+    Map<String, String> scopeSettings = lastSettings.computeIfAbsent(scope, s -> new HashMap<>());
+    Set<AnalysisCache> affectedCaches = EnumSet.noneOf(AnalysisCache.class);
+    for (int i = 0; i < sections.size(); i++) {
+      String section = sections.get(i);
+      String value = String.valueOf(values.get(i));
+      if (!value.equals(scopeSettings.put(section, value))) {
+        affectedCaches.add(SUBROUTINE_LOCAL_PATHS.label.equals(section) ? AnalysisCache.SUBROUTINES : AnalysisCache.COPYBOOKS);
+      }
+    }
+    return affectedCaches;
   }
 
   private void updateWatchers(List<String> newPaths, List<String> existingPaths) {
@@ -15,11 +15,13 @@
 package org.eclipse.lsp.cobol.lsp.handlers.workspace;
 
 import com.google.inject.Inject;
+import java.util.EnumSet;
 import java.util.concurrent.ExecutionException;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.error.ErrorCodes;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
+import org.eclipse.lsp.cobol.lsp.analysis.AnalysisCache;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.service.utils.ShutdownCheckUtil;
 import org.eclipse.lsp4j.ExecuteCommandParams;
@@ -51,7 +53,7 @@ public class ExecuteCommandHandler {
     if (!disposableLSPStateService.isServerShutdown()) {
       try {
         if (ErrorCodes.MISSING_COPYBOOK.getLabel().equals(params.getCommand())) {
-          asyncAnalysisService.reanalyseOpenedPrograms();
+          asyncAnalysisService.reanalyseOpenedPrograms(EnumSet.of(AnalysisCache.COPYBOOKS));
         }
         return ShutdownCheckUtil.checkServerState(disposableLSPStateService).get();
       } catch (InterruptedException | ExecutionException e) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.jrpc;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import lombok.experimental.UtilityClass;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+
+/**
+ * Utility methods for the requests sent to the {@link CobolLanguageClient}
+ */
+@UtilityClass
+public class ClientRequests {
+  /**
+   * Check if a client request failed because the client doesn't implement it
+   *
+   * @param error the failure of the request, may be wrapped by the future that completed with it
+   * @return true if the client responded that the method is not found
+   */
+  public boolean isUnsupportedRequest(Throwable error) {
+    Throwable cause = error instanceof CompletionException || error instanceof ExecutionException ? error.getCause() : error;
+    return cause instanceof ResponseErrorException
+        && ((ResponseErrorException) cause).getResponseError().getCode() == ResponseErrorCode.MethodNotFound.getValue();
+  }
+}
@@ -35,6 +35,18 @@ public interface CobolLanguageClient extends LanguageClient {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * The cobol/resolveSubroutineBatch request is sent from the server to the client to
+   * resolve several subroutine names into local file URIs at once.
+   *
+   * @param names the names of subroutines
+   * @return corresponding local file URIs in the order of the names, null for the unresolved ones
+   */
+  @JsonRequest("cobol/resolveSubroutineBatch")
+  default CompletableFuture<List<String>> resolveSubroutines(List<String> names) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * The copybook/resolve request is sent from the server to the client to
    * resolve copybook local absolute path if found
@@ -52,6 +64,23 @@ public interface CobolLanguageClient extends LanguageClient {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * The copybook/resolveBatch request is sent from the server to the client to
+   * resolve local absolute paths of several copybooks of the same dialect at once
+   *
+   * @param cobolFileUri the uri of cobol program
+   * @param copybookNames the names of copybooks to resolve
+   * @param dialectType the name of copybook dialect
+   * @return corresponding local file absolute paths in the order of the names, null for the unresolved ones
+   */
+  @JsonRequest("copybook/resolveBatch")
+  default CompletableFuture<List<String>> resolveCopybooks(
+      String cobolFileUri,
+      List<String> copybookNames,
+      String dialectType) {
+    throw new UnsupportedOperationException();
+  }
+
   /** TODO
    * The copybook/download request is sent from the server to the client to
    * download remote copybook
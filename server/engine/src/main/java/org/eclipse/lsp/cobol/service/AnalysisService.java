@@ -42,7 +42,7 @@ public class AnalysisService {
   private final CopybookIdentificationService copybookIdentificationService;
   private final CopybookService copybookService;
   private final CountDownLatch waitConfig = new CountDownLatch(1);
-  private List<String> copybookExtensions;
+  private volatile List<String> copybookExtensions;
 
   private final DocumentModelService documentService;
 
@@ -67,15 +67,23 @@ public class AnalysisService {
    * @param text - document text
    * @return true for copybook and false otherwise
    */
-  @SneakyThrows
   public boolean isCopybook(String uri, String text) {
-    if (waitConfig.getCount() > 0) {
-      LOG.info("Waiting for extension config..");
-    }
-    waitConfig.await();
+    awaitExtensionConfig();
     return copybookIdentificationService.isCopybook(uri, text, copybookExtensions);
   }
 
+  /**
+   * Check if the current text of the given document is copybook or not. The classification is memoized on the
+   * document model until its text or the extension config changes.
+   *
+   * @param document - document model
+   * @return true for copybook and false otherwise
+   */
+  public boolean isCopybook(CobolDocumentModel document) {
+    awaitExtensionConfig();
+    return document.isCopybook(copybookExtensions, copybookIdentificationService);
+  }
+
   /**
    * Set extension config
    *
@@ -86,6 +94,14 @@ public class AnalysisService {
     this.waitConfig.countDown();
   }
 
+  @SneakyThrows
+  private void awaitExtensionConfig() {
+    if (waitConfig.getCount() > 0) {
+      LOG.info("Waiting for extension config..");
+    }
+    waitConfig.await();
+  }
+
   /**
    * Analyze document
    *
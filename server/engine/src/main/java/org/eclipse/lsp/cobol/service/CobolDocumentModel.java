@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service;
 import lombok.*;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.service.copybooks.CopybookIdentificationService;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.Position;
 
@@ -41,6 +42,7 @@ public class CobolDocumentModel {
   @Getter private AnalysisResult analysisResult;
   @Getter private AnalysisResult lastAnalysisResult;
   @Getter @Setter private List<DocumentSymbol> outlineResult;
+  private volatile CopybookClassification copybookClassification;
 
   public CobolDocumentModel(String uri, String text, AnalysisResult analysisResult) {
     this.uri = uri;
@@ -91,6 +93,25 @@ public class CobolDocumentModel {
     this.analysisResult = analysisResult;
   }
 
+  /**
+   * Check if the current text of the document is a copybook. The classification is computed once per text revision
+   * and extension configuration, so the dependency checks of the waiting requests don't rescan the content.
+   *
+   * @param copybookExtensions the copybook extensions configured by the client
+   * @param identificationService the service to classify the document with
+   * @return true for copybook and false otherwise
+   */
+  public boolean isCopybook(List<String> copybookExtensions, CopybookIdentificationService identificationService) {
+    String currentText = text;
+    CopybookClassification classification = copybookClassification;
+    if (classification == null || !classification.isFor(currentText, copybookExtensions)) {
+      classification = new CopybookClassification(currentText, copybookExtensions,
+          identificationService.isCopybook(uri, currentText, copybookExtensions));
+      copybookClassification = classification;
+    }
+    return classification.copybook;
+  }
+
   /**
    * Update CobolDocumentModel with a new text
    * @param text - the new document text
@@ -99,6 +120,7 @@ public class CobolDocumentModel {
     this.text = text;
     parse(text);
     analysisResult = null;
+    copybookClassification = null;
   }
 
   String getFullTokenAtPosition(Position position) {
@@ -174,4 +196,15 @@ public class CobolDocumentModel {
     }
   }
 
+  /** The copybook classification of a document text, valid only for the exact text and configuration it was made for */
+  @RequiredArgsConstructor
+  private static final class CopybookClassification {
+    private final String text;
+    private final List<String> copybookExtensions;
+    private final boolean copybook;
+
+    boolean isFor(String text, List<String> copybookExtensions) {
+      return this.text == text && this.copybookExtensions == copybookExtensions;
+    }
+  }
 }
@@ -23,7 +23,9 @@ import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.service.utils.BuildOutlineTreeFromSyntaxTree;
+import org.eclipse.lsp.cobol.service.utils.TextChangeUtil;
 import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
 /**
  * Provides document model management functionality
@@ -33,6 +35,7 @@ import org.eclipse.lsp4j.Diagnostic;
 public class DocumentModelService {
   private final Map<String, CobolDocumentModel> docs = new HashMap<>();
   private final Map<String, List<Diagnostic>> diagnosticRepo = Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, String> syncedTexts = new HashMap<>();
 
   /**
    * Mark the document as opened and stores document text
@@ -43,6 +46,36 @@ public class DocumentModelService {
   @Synchronized
   public void openDocument(String uri, String text) {
     docs.computeIfAbsent(uri, u -> new CobolDocumentModel(uri, text)).setOpened(true);
+    syncedTexts.put(uri, text);
+  }
+
+  /**
+   * Applies the content changes sent by the client to the latest known text of the document. The text of the
+   * document model is updated only when the analysis finishes, so the latest text is tracked separately.
+   *
+   * @param uri     - document uri
+   * @param changes - the content changes in the order they were made
+   * @return the document text after the changes, or null if the document text is unknown
+   */
+  @Synchronized
+  public String applyChanges(String uri, List<TextDocumentContentChangeEvent> changes) {
+    String result = TextChangeUtil.applyChanges(uri, getSyncedText(uri), changes);
+    if (result != null) {
+      syncedTexts.put(uri, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the latest text of the document the client sent, which may be newer than the text of the document model
+   *
+   * @param uri - document uri
+   * @return the latest document text or null if the document is unknown
+   */
+  @Synchronized
+  public String getSyncedText(String uri) {
+    return Optional.ofNullable(syncedTexts.get(uri))
+        .orElseGet(() -> Optional.ofNullable(docs.get(uri)).map(CobolDocumentModel::getText).orElse(null));
   }
 
   /**
@@ -72,6 +105,7 @@ public class DocumentModelService {
     }
     removeAllRelatedDiagnostics(document);
     updateDiagnosticRepo(uri, analysisResult.getDiagnostics());
+    analysisResult.getPositionIndex();
     CobolDocumentModel updatedModel = new CobolDocumentModel(uri, text, analysisResult);
     updatedModel.setOutlineResult(BuildOutlineTreeFromSyntaxTree.convert(analysisResult.getRootNode(), uri));
     docs.put(uri, updatedModel);
@@ -100,6 +134,7 @@ public class DocumentModelService {
    */
   @Synchronized
   public void closeDocument(String uri) {
+    syncedTexts.remove(uri);
     Optional.ofNullable(docs.get(uri))
             .ifPresent(
                     d -> {
@@ -16,7 +16,6 @@ package org.eclipse.lsp.cobol.service;
 
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.common.model.NodeType.*;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -25,6 +24,7 @@ import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
@@ -37,6 +37,7 @@ import org.eclipse.lsp.cobol.common.model.tree.EvaluateWhenOtherNode;
 import org.eclipse.lsp.cobol.common.model.tree.IfElseNode;
 import org.eclipse.lsp.cobol.common.model.tree.IfNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.NodeIndex;
 import org.eclipse.lsp4j.FoldingRange;
 
 /** FoldingRange helper */
@@ -65,9 +66,23 @@ public class DocumentServiceHelper {
    * @return Set of folding ranges
    */
   public static Set<FoldingRange> getFoldingRange(@NonNull Node rootNode, @NonNull String uri) {
-    return rootNode
-        .getDepthFirstStream()
-        .filter(node -> node.getLocality().getUri().equals(uri))
+    return getFoldingRange(
+        rootNode.getDepthFirstStream().filter(node -> node.getLocality().getUri().equals(uri)), uri);
+  }
+
+  /**
+   * Creates folding ranges for given document using the node index of its analysis result
+   *
+   * @param nodeIndex the index of the analysed tree
+   * @param uri the document uri
+   * @return Set of folding ranges
+   */
+  public static Set<FoldingRange> getIndexedFoldingRange(@NonNull NodeIndex nodeIndex, @NonNull String uri) {
+    return getFoldingRange(nodeIndex.getNodesByUri(uri).stream(), uri);
+  }
+
+  private static Set<FoldingRange> getFoldingRange(Stream<Node> documentNodes, String uri) {
+    return documentNodes
         .filter(node -> NODES_FOR_FOLDING.contains(node.getNodeType()))
         .filter(
             node ->
@@ -153,9 +168,9 @@ public class DocumentServiceHelper {
    */
   public List<String> extractCopybookUris(AnalysisResult result) {
     return result
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
+        .getNodeIndex()
+        .getNodes(COPY)
+        .stream()
         .map(CopyNode.class::cast)
         .map(CopyNode::getUri)
         .filter(def -> !StringUtils.isEmpty(def))
@@ -15,31 +15,40 @@
 package org.eclipse.lsp.cobol.service;
 
 import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.lsp.jrpc.ClientRequests;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ExecutionError;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
  * This service processes subroutine requests and returns URI by its name. The service also caches
  * the URI to reduce filesystem load.
  */
+@Slf4j
 @Singleton
 public class SubroutineServiceImpl implements SubroutineService {
   private final LoadingCache<String, Optional<String>> cache;
+  private final AtomicBoolean batchResolution = new AtomicBoolean(true);
 
   @Inject
   public SubroutineServiceImpl(
@@ -55,9 +64,48 @@ public class SubroutineServiceImpl implements SubroutineService {
           public Optional<String> load(String key) throws Exception {
             return Optional.ofNullable(clientProvider.get().resolveSubroutine(key).get());
           }
+
+          @Override
+          public Map<String, Optional<String>> loadAll(Iterable<? extends String> keys) throws Exception {
+            List<String> names = ImmutableList.copyOf(keys);
+            List<String> uris = batchResolution.get() ? resolveBatch(clientProvider.get(), names) : null;
+            if (uris == null) {
+              // makes the cache fall back to the one by one loading
+              return super.loadAll(keys);
+            }
+            Map<String, Optional<String>> result = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+              result.put(names.get(i), Optional.ofNullable(uris.get(i)));
+            }
+            return result;
+          }
         });
   }
 
+  private List<String> resolveBatch(CobolLanguageClient client, List<String> names) throws InterruptedException {
+    try {
+      CompletableFuture<List<String>> future = client.resolveSubroutines(names);
+      if (future != null) {
+        List<String> uris = future.get();
+        return uris != null && uris.size() == names.size() ? uris : null;
+      }
+    } catch (UnsupportedOperationException e) {
+      disableBatchResolution(e);
+    } catch (ExecutionException e) {
+      if (ClientRequests.isUnsupportedRequest(e)) {
+        disableBatchResolution(e);
+      } else {
+        LOG.debug("Batch resolution of subroutines failed, resolving them one by one", e);
+      }
+    }
+    return null;
+  }
+
+  private void disableBatchResolution(Exception e) {
+    LOG.debug("The client doesn't resolve subroutines in batches, resolving them one by one", e);
+    batchResolution.set(false);
+  }
+
   @Override
   public Optional<String> getUri(String name) {
     try {
@@ -67,6 +115,15 @@ public class SubroutineServiceImpl implements SubroutineService {
     }
   }
 
+  @Override
+  public void prefetch(Collection<String> names) {
+    try {
+      cache.getAll(names);
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      LOG.debug("Cannot prefetch subroutines {}", names, e);
+    }
+  }
+
   @Override
   public Collection<String> getNames() {
     return cache.asMap().entrySet().stream()
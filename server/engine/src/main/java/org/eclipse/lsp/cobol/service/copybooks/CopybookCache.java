@@ -16,22 +16,39 @@ package org.eclipse.lsp.cobol.service.copybooks;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.copybook.CopybookId;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 
 /**
- * Implements copybook cache functionality
+ * Implements copybook cache functionality. Every entry remembers the hash of the content it was built from and the
+ * programs that consumed it, so a change of a copybook file invalidates only the affected entries. Invalidating the
+ * whole cache starts a new generation, the entries loaded for an older generation are never returned. The hit and
+ * miss counters of a copybook live as long as its cache entry.
  */
+@Slf4j
 @Singleton
 public class CopybookCache {
 
-  private final Cache<CopybookId, CopybookModel> cache;
+  private final Cache<CopybookId, Entry> cache;
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final Map<CopybookId, Statistics> statistics = new ConcurrentHashMap<>();
 
   @Inject
   public CopybookCache(
@@ -42,6 +59,7 @@ public class CopybookCache {
         CacheBuilder.newBuilder()
             .expireAfterWrite(duration, TimeUnit.valueOf(timeUnitName))
             .maximumSize(cacheSize)
+            .removalListener(this::onRemoval)
             .build();
   }
 
@@ -49,7 +67,9 @@ public class CopybookCache {
    * Invalidates copybook cache
    */
   public void invalidateAll() {
+    generation.incrementAndGet();
     cache.invalidateAll();
+    statistics.clear();
   }
 
   /**
@@ -60,7 +80,32 @@ public class CopybookCache {
    * @throws ExecutionException with error message
    */
   public CopybookModel get(CopybookId copybookId, Callable<CopybookModel> callable) throws ExecutionException {
-    return cache.get(copybookId, callable);
+    long currentGeneration = generation.get();
+    Entry entry = cache.getIfPresent(copybookId);
+    if (entry != null && entry.generation != currentGeneration) {
+      cache.asMap().remove(copybookId, entry);
+    }
+    AtomicBoolean loaded = new AtomicBoolean();
+    entry = cache.get(copybookId, () -> {
+      loaded.set(true);
+      return new Entry(callable.call(), currentGeneration);
+    });
+    Statistics copybookStatistics = statistics.computeIfAbsent(copybookId, id -> new Statistics());
+    (loaded.get() ? copybookStatistics.misses : copybookStatistics.hits).incrementAndGet();
+    if (!cache.asMap().containsKey(copybookId)) {
+      statistics.remove(copybookId, copybookStatistics);
+    }
+    return entry.model;
+  }
+
+  /**
+   * Checks if the copybook is cached for the current generation
+   * @param copybookId copybook id
+   * @return true if the copybook will be served from the cache
+   */
+  public boolean contains(CopybookId copybookId) {
+    Entry entry = cache.getIfPresent(copybookId);
+    return entry != null && entry.generation == generation.get();
   }
 
   /**
@@ -68,7 +113,7 @@ public class CopybookCache {
    * @param copybookModel to store
    */
   public void store(CopybookModel copybookModel) {
-    cache.put(copybookModel.getCopybookId(), copybookModel);
+    cache.put(copybookModel.getCopybookId(), new Entry(copybookModel, generation.get()));
   }
 
   /**
@@ -78,4 +123,104 @@ public class CopybookCache {
   public void invalidate(CopybookId copybookId) {
     cache.invalidate(copybookId);
   }
+
+  /**
+   * Records that the program consumed the copybook
+   * @param copybookId the copybook id
+   * @param programUri the program URI
+   */
+  public void recordUsage(CopybookId copybookId, String programUri) {
+    Optional.ofNullable(cache.getIfPresent(copybookId)).ifPresent(entry -> entry.consumers.add(programUri));
+  }
+
+  /**
+   * Finds the cached copybooks resolved from the given file whose content differs from the new one
+   * @param copybookUri the copybook file URI
+   * @param contents the new content of the file, as it is or cleaned up by the preprocessor
+   * @return the outdated copybooks
+   */
+  public List<CopybookModel> findOutdated(String copybookUri, String... contents) {
+    Set<HashCode> contentHashes = new HashSet<>();
+    Arrays.stream(contents).map(CopybookCache::hash).forEach(contentHashes::add);
+    List<CopybookModel> outdated = new ArrayList<>();
+    cache.asMap().values().stream()
+        .filter(entry -> copybookUri.equals(entry.model.getUri()))
+        .filter(entry -> !contentHashes.contains(entry.contentHash))
+        .forEach(entry -> outdated.add(entry.model));
+    return outdated;
+  }
+
+  /**
+   * Returns the programs which consumed the cached copybooks
+   * @param copybookIds the copybook ids
+   * @return URIs of the programs
+   */
+  public Set<String> getConsumers(Collection<CopybookId> copybookIds) {
+    Set<String> consumers = new HashSet<>();
+    copybookIds.stream()
+        .map(cache::getIfPresent)
+        .filter(Objects::nonNull)
+        .forEach(entry -> consumers.addAll(entry.consumers));
+    return consumers;
+  }
+
+  /**
+   * Returns the cache hit and miss counters of the cached copybooks for diagnostics
+   * @return the statistics
+   */
+  public Map<CopybookId, Statistics> getStatistics() {
+    return Collections.unmodifiableMap(statistics);
+  }
+
+  private void onRemoval(RemovalNotification<CopybookId, Entry> notification) {
+    if (notification.getCause() == RemovalCause.REPLACED || notification.getKey() == null) {
+      return;
+    }
+    if (notification.wasEvicted()) {
+      evictions.incrementAndGet();
+    }
+    statistics.remove(notification.getKey());
+  }
+
+  private static HashCode hash(String content) {
+    return content == null ? null : Hashing.sha256().hashString(content, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return "CopybookCache{generation=" + generation.get() + ", size=" + cache.size() + ", evictions=" + evictions.get() + "}";
+  }
+
+  /** Cached copybook with the data it was built from */
+  private static final class Entry {
+    private final CopybookModel model;
+    private final HashCode contentHash;
+    private final long generation;
+    private final Set<String> consumers = ConcurrentHashMap.newKeySet();
+
+    private Entry(CopybookModel model, long generation) {
+      this.model = model;
+      this.contentHash = hash(model.getContent());
+      this.generation = generation;
+    }
+  }
+
+  /** Cache counters of a copybook */
+  public static final class Statistics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public long getHits() {
+      return hits.get();
+    }
+
+    public long getMisses() {
+      return misses.get();
+    }
+
+    @Override
+    public String toString() {
+      return "hits=" + hits.get() + ", misses=" + misses.get();
+    }
+  }
 }
@@ -14,30 +14,23 @@
  */
 package org.eclipse.lsp.cobol.service.copybooks;
 
-import com.google.common.collect.ImmutableList;
 import com.google.inject.Singleton;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /** Identifies a copybook based on the content. */
 @Singleton
 public class CopybookIdentificationServiceBasedOnContent implements CopybookIdentificationService {
+  private static final int INDICATOR_AREA = 6;
+  private static final String PROGRAM_ID = "PROGRAM-ID";
+  private static final String DIVISION = "DIVISION";
+  private static final String[] IDENTIFICATION_KEYWORDS = {"IDENTIFICATION", "ID"};
 
-  private final List<Pattern> patterns = new LinkedList<>();
-  public CopybookIdentificationServiceBasedOnContent() {
-    patterns.add(Pattern.compile(
-        "(?i)^(?<sequence>.{0,6})(?<indicator>.?)\\h*(PROGRAM-ID)\\s*\\.?\\s*(?<programName>.{1,30})\\s*\\.?$",
-        Pattern.MULTILINE | Pattern.CASE_INSENSITIVE));
-    patterns.add(Pattern.compile("(?i)^(?<sequence>.{0,6})(?<indicator>.?)\\s*((IDENTIFICATION|ID)\\s+DIVISION)\\s*\\.",
-        Pattern.MULTILINE | Pattern.CASE_INSENSITIVE));
-  }
   /**
    * Identifies a copybook based on the content. If the text contains a valid program-id, we detect
-   * it as a cobol program, else it's a copybook.
+   * it as a cobol program, else it's a copybook. The text is scanned line by line, and the scan
+   * stops at the first PROGRAM-ID or IDENTIFICATION DIVISION which is not commented out.
    *
    * @param uri of the document
    * @param text of the document
@@ -46,15 +39,71 @@ public class CopybookIdentificationServiceBasedOnContent implements CopybookIden
    */
   @Override
   public boolean isCopybook(String uri, String text, List<String> config) throws UndeterminedDocumentException {
-    String copybookContent = Optional.ofNullable(text).orElse("");
-    for (Pattern pattern : patterns) {
-      Matcher matcher = pattern.matcher(copybookContent);
-      while (matcher.find()) {
-        if (!ImmutableList.of("*", "/").contains(matcher.group("indicator"))) {
-          return false;
-        }
+    String content = Optional.ofNullable(text).orElse("");
+    int lineStart = 0;
+    while (lineStart < content.length()) {
+      int lineEnd = lineStart;
+      while (lineEnd < content.length() && !isLineBreak(content.charAt(lineEnd))) {
+        lineEnd++;
+      }
+      if (isProgramHeader(content, lineStart, lineEnd)) {
+        return false;
       }
+      lineStart = lineEnd + 1;
     }
     return true;
   }
+
+  /**
+   * A header keyword starting right after the indicator area counts unless the indicator marks the
+   * line as a comment. A keyword starting inside the sequence area has no indicator at all.
+   */
+  private static boolean isProgramHeader(String text, int lineStart, int lineEnd) {
+    int indicator = lineStart + INDICATOR_AREA;
+    if (indicator >= lineEnd) {
+      return false;
+    }
+    if (isHeaderKeyword(text, skipWhitespaces(text, indicator + 1, lineEnd), lineEnd)) {
+      char indicatorChar = text.charAt(indicator);
+      return indicatorChar != '*' && indicatorChar != '/';
+    }
+    for (int position = lineStart; position <= indicator; position++) {
+      if (!Character.isWhitespace(text.charAt(position)) && isHeaderKeyword(text, position, lineEnd)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isHeaderKeyword(String text, int position, int lineEnd) {
+    if (startsWith(text, position, lineEnd, PROGRAM_ID)) {
+      return true;
+    }
+    for (String keyword : IDENTIFICATION_KEYWORDS) {
+      if (startsWith(text, position, lineEnd, keyword)) {
+        int divisionStart = skipWhitespaces(text, position + keyword.length(), lineEnd);
+        if (divisionStart > position + keyword.length() && startsWith(text, divisionStart, lineEnd, DIVISION)) {
+          int end = skipWhitespaces(text, divisionStart + DIVISION.length(), lineEnd);
+          return end < lineEnd && text.charAt(end) == '.';
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean startsWith(String text, int position, int lineEnd, String keyword) {
+    return position + keyword.length() <= lineEnd && text.regionMatches(true, position, keyword, 0, keyword.length());
+  }
+
+  private static int skipWhitespaces(String text, int position, int lineEnd) {
+    int result = position;
+    while (result < lineEnd && Character.isWhitespace(text.charAt(result))) {
+      result++;
+    }
+    return result;
+  }
+
+  private static boolean isLineBreak(char character) {
+    return character == '\n' || character == '\r';
+  }
 }
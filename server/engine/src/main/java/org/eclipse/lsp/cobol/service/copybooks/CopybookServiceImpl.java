@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.service.copybooks;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -30,6 +31,8 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
@@ -42,6 +45,7 @@ import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.lsp.jrpc.ClientRequests;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 
 /**
@@ -62,28 +66,35 @@ public class CopybookServiceImpl implements CopybookService {
 
   private final Map<String, Set<CopybookName>> copybooksForDownloading =
       new ConcurrentHashMap<>(8, 0.9f, 1);
+  private final Map<String, Map<CopybookName, CompletableFuture<String>>> prefetchedUris = new ConcurrentHashMap<>();
+  private final AtomicBoolean batchResolution = new AtomicBoolean(true);
 
   private final CopybookCache copybookCache;
+  private final PersistentCopybookCache persistentCopybookCache;
 
   @Inject
   public CopybookServiceImpl(Provider<CobolLanguageClient> clientProvider,
       FileSystemService files,
       TextPreprocessor preprocessor,
-      CopybookCache copybookCache) {
+      CopybookCache copybookCache,
+      PersistentCopybookCache persistentCopybookCache) {
     this.files = files;
     this.clientProvider = clientProvider;
     this.preprocessor = preprocessor;
     this.copybookCache = copybookCache;
+    this.persistentCopybookCache = persistentCopybookCache;
   }
 
   @Override
   public void invalidateCache() {
     LOG.debug("Copybooks for downloading: {}", copybooksForDownloading);
-    LOG.debug("Copybook cache: {}", copybookCache);
+    LOG.debug("Copybook cache: {}, statistics: {}", copybookCache, copybookCache.getStatistics());
     LOG.debug("Cache invalidated");
     copybookUsage.clear();
     copybooksForDownloading.clear();
+    prefetchedUris.clear();
     copybookCache.invalidateAll();
+    persistentCopybookCache.distrustResolutions();
   }
 
   /**
@@ -94,6 +105,32 @@ public class CopybookServiceImpl implements CopybookService {
     copybookCache.invalidate(copybookId);
   }
 
+  /**
+   * Replaces the cached copybooks resolved from the changed copybook file, if their content differs from the new one
+   * @param copybookUri the URI of the changed copybook file
+   * @param content the new content of the file or null if the file was removed
+   * @return URIs of the programs that consumed the outdated copybooks
+   */
+  public Set<String> updateCopybookContent(String copybookUri, String content) {
+    if (content == null) {
+      List<CopybookModel> removed = copybookCache.findOutdated(copybookUri);
+      Set<String> consumers = copybookCache.getConsumers(removed.stream().map(CopybookModel::getCopybookId).collect(toList()));
+      removed.forEach(model -> copybookCache.invalidate(model.getCopybookId()));
+      return consumers;
+    }
+    ResultWithErrors<ExtendedText> cleanText = preprocessor.cleanUpCode(copybookUri, content);
+    List<CopybookModel> outdated = copybookCache.findOutdated(copybookUri, content, trimText(cleanText));
+    Set<String> consumers = copybookCache.getConsumers(outdated.stream().map(CopybookModel::getCopybookId).collect(toList()));
+    for (CopybookModel model : outdated) {
+      CopybookModel dirtyCopybook = new CopybookModel(model.getCopybookId(), model.getCopybookName(), copybookUri, content);
+      ResultWithErrors<CopybookModel> processedCopybook = cleanupCopybook(dirtyCopybook, cleanText);
+      preprocessCopybookErrors.put(copybookUri, processedCopybook.getErrors());
+      store(processedCopybook.getResult());
+    }
+    LOG.debug("Copybook {} changed, outdated: {}, consumers: {}", copybookUri, outdated.size(), consumers);
+    return consumers;
+  }
+
   /**
    * Retrieve and return a CopybookModel by its name and preprocessed errors for
    * the Retrieved copybook wrapped inside {@link ResultWithErrors}.
@@ -123,6 +160,7 @@ public class CopybookServiceImpl implements CopybookService {
       CopybookModel copybookModel = getFromCache(programDocumentUri, copybookId, copybookName,
               preprocess);
       copybookUsage.computeIfAbsent(programDocumentUri, k -> new HashSet<>()).add(copybookModel);
+      copybookCache.recordUsage(copybookId, programDocumentUri);
 
       List<SyntaxError> errors = Optional.ofNullable(copybookModel.getUri())
           .map(d -> preprocessCopybookErrors.getOrDefault(d, Collections.emptyList()))
@@ -138,8 +176,15 @@ public class CopybookServiceImpl implements CopybookService {
   private CopybookModel getFromCache(String programDocumentUri, CopybookId copybookId,
                                      CopybookName copybookName, boolean preprocess) throws ExecutionException {
     return copybookCache.get(copybookId, () -> {
+      if (preprocess) {
+        Optional<CopybookModel> persisted = getPersistedCopybook(copybookId, copybookName);
+        if (persisted.isPresent()) {
+          return persisted.get();
+        }
+      }
       CopybookModel copybookModel = resolveSync(copybookName, programDocumentUri);
       if (preprocess && copybookModel.getUri() != null) {
+        persistResolution(copybookId, copybookModel);
         ResultWithErrors<CopybookModel> copybookModelResultWithErrors = cleanupCopybook(copybookModel);
         copybookModel = copybookModelResultWithErrors.getResult();
         preprocessCopybookErrors.put(copybookModel.getUri(), copybookModelResultWithErrors.getErrors());
@@ -148,6 +193,104 @@ public class CopybookServiceImpl implements CopybookService {
     });
   }
 
+  private Optional<CopybookModel> getPersistedCopybook(CopybookId copybookId, CopybookName copybookName) {
+    return persistentCopybookCache.getResolvedCopybook(copybookId, copybookName, files::getPathFromURI);
+  }
+
+  private void persistResolution(CopybookId copybookId, CopybookModel dirtyCopybook) {
+    if (!ImplicitCodeUtils.isImplicit(dirtyCopybook.getUri())) {
+      persistentCopybookCache.putResolvedCopybook(copybookId, dirtyCopybook.getUri(),
+          files.getPathFromURI(dirtyCopybook.getUri()), dirtyCopybook.getContent());
+    }
+  }
+
+  /**
+   * Requests the workspace URIs of the copybooks which are not cached yet, one batch request per dialect. The URIs are
+   * consumed by the following resolutions of the program instead of sending a request per copybook. The copybooks
+   * restored from the persistent cache are not requested.
+   *
+   * @param programDocumentUri - the currently processing program document
+   * @param copybookNames - the names of the copybooks the program is expected to use
+   */
+  @Override
+  public void prefetch(@NonNull String programDocumentUri, @NonNull Collection<CopybookName> copybookNames) {
+    Map<CopybookName, CompletableFuture<String>> prefetched = new ConcurrentHashMap<>();
+    copybookNames.stream()
+        .distinct()
+        .filter(name -> !copybookCache.contains(name.toCopybookId(programDocumentUri)))
+        .filter(name -> !restorePersisted(name.toCopybookId(programDocumentUri), name))
+        .collect(groupingBy(name -> Optional.ofNullable(name.getDialectType()).orElse(COBOL), LinkedHashMap::new, toList()))
+        .forEach((dialectType, names) -> prefetched.putAll(requestUris(programDocumentUri, dialectType, names)));
+    LOG.debug("Prefetching {} copybooks for {}", prefetched.size(), programDocumentUri);
+    if (prefetched.isEmpty()) {
+      prefetchedUris.remove(programDocumentUri);
+    } else {
+      prefetchedUris.put(programDocumentUri, prefetched);
+    }
+  }
+
+  private boolean restorePersisted(CopybookId copybookId, CopybookName copybookName) {
+    Optional<CopybookModel> persisted = getPersistedCopybook(copybookId, copybookName);
+    persisted.ifPresent(copybookCache::store);
+    return persisted.isPresent();
+  }
+
+  @Override
+  public void releasePrefetched(@NonNull String programDocumentUri) {
+    prefetchedUris.remove(programDocumentUri);
+  }
+
+  private Map<CopybookName, CompletableFuture<String>> requestUris(String programUri, String dialectType,
+                                                                   List<CopybookName> copybookNames) {
+    CompletableFuture<List<String>> batch = batchResolution.get()
+        ? requestBatch(programUri, dialectType, copybookNames.stream().map(CopybookName::getDisplayName).collect(toList()))
+        : null;
+    Map<CopybookName, CompletableFuture<String>> result = new HashMap<>();
+    for (int i = 0; i < copybookNames.size(); i++) {
+      int index = i;
+      CopybookName copybookName = copybookNames.get(i);
+      result.put(copybookName, batch == null
+          ? requestUri(programUri, copybookName)
+          : batch.handle((uris, error) -> {
+            if (error == null && uris != null && uris.size() == copybookNames.size()) {
+              return CompletableFuture.completedFuture(uris.get(index));
+            }
+            if (ClientRequests.isUnsupportedRequest(error) && batchResolution.compareAndSet(true, false)) {
+              LOG.debug("The client doesn't resolve copybooks in batches, resolving them one by one");
+            }
+            return requestUri(programUri, copybookName);
+          }).thenCompose(Function.identity()));
+    }
+    return result;
+  }
+
+  private CompletableFuture<List<String>> requestBatch(String programUri, String dialectType, List<String> names) {
+    try {
+      return clientProvider.get().resolveCopybooks(programUri, names, dialectType);
+    } catch (UnsupportedOperationException e) {
+      batchResolution.set(false);
+      return null;
+    }
+  }
+
+  private CompletableFuture<String> requestUri(String programUri, CopybookName copybookName) {
+    try {
+      return Optional.ofNullable(clientProvider.get().resolveCopybook(programUri, copybookName.getDisplayName(),
+              Optional.ofNullable(copybookName.getDialectType()).orElse(COBOL)))
+          .orElseGet(() -> CompletableFuture.completedFuture(null));
+    } catch (RuntimeException e) {
+      CompletableFuture<String> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  private Optional<CompletableFuture<String>> takePrefetched(String programUri, CopybookName copybookName) {
+    return Optional.ofNullable(prefetchedUris.get(programUri))
+        .map(prefetched -> prefetched.remove(copybookName))
+        .filter(future -> !future.isCompletedExceptionally());
+  }
+
   @Override
   public void store(CopybookModel copybookModel) {
     copybookCache.store(copybookModel);
@@ -191,12 +334,30 @@ public class CopybookServiceImpl implements CopybookService {
   }
 
   private ResultWithErrors<CopybookModel> cleanupCopybook(CopybookModel dirtyCopybook) {
-    ResultWithErrors<ExtendedText> textTransformationsResultWithErrors = preprocessor.cleanUpCode(dirtyCopybook.getUri(), dirtyCopybook.getContent());
-    String cleanText = CharMatcher.whitespace().trimTrailingFrom(textTransformationsResultWithErrors.getResult().toString());
+    Optional<String> persistedText = persistentCopybookCache.getCleanText(dirtyCopybook.getContent());
+    if (persistedText.isPresent()) {
+      return new ResultWithErrors<>(new CopybookModel(dirtyCopybook.getCopybookId(), dirtyCopybook.getCopybookName(),
+          dirtyCopybook.getUri(), persistedText.get()), Collections.emptyList());
+    }
+    ResultWithErrors<ExtendedText> cleanText = preprocessor.cleanUpCode(dirtyCopybook.getUri(), dirtyCopybook.getContent());
+    // only the copybooks without preprocessing errors are persisted, so an entry always means no errors
+    if (cleanText.getErrors().isEmpty()) {
+      persistentCopybookCache.putCleanText(dirtyCopybook.getContent(), trimText(cleanText));
+    }
+    return cleanupCopybook(dirtyCopybook, cleanText);
+  }
+
+  private ResultWithErrors<CopybookModel> cleanupCopybook(CopybookModel dirtyCopybook,
+                                                          ResultWithErrors<ExtendedText> textTransformationsResultWithErrors) {
+    String cleanText = trimText(textTransformationsResultWithErrors);
     CopybookModel copybookModel = new CopybookModel(dirtyCopybook.getCopybookId(), dirtyCopybook.getCopybookName(), dirtyCopybook.getUri(), cleanText);
     return new ResultWithErrors<>(copybookModel, adjustErrorLocation(dirtyCopybook, textTransformationsResultWithErrors.getErrors()));
   }
 
+  private static String trimText(ResultWithErrors<ExtendedText> textTransformationsResultWithErrors) {
+    return CharMatcher.whitespace().trimTrailingFrom(textTransformationsResultWithErrors.getResult().toString());
+  }
+
   private List<SyntaxError> adjustErrorLocation(
       CopybookModel dirtyCopybook, List<SyntaxError> originalErrors) {
     return originalErrors.stream()
@@ -231,6 +392,14 @@ public class CopybookServiceImpl implements CopybookService {
   @SuppressWarnings("java:S2142")
   private Optional<String> resolveCopybookFromWorkspace(CopybookName copybookName, String programUri) {
     try {
+      Optional<CompletableFuture<String>> prefetched = takePrefetched(programUri, copybookName);
+      if (prefetched.isPresent()) {
+        try {
+          return Optional.ofNullable(prefetched.get().get());
+        } catch (ExecutionException e) {
+          LOG.debug("Prefetching of copybook {} failed, requesting it again", copybookName, e);
+        }
+      }
       CompletableFuture<String> future = clientProvider.get().resolveCopybook(
           programUri,
           copybookName.getDisplayName(),
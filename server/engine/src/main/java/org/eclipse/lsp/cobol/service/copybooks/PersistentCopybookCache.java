@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.copybooks;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.common.copybook.CopybookId;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+
+/**
+ * Optional on-disk cache of cleaned up copybook text, which survives server restarts. It is enabled by the
+ * {@value #CACHE_DIR_PROPERTY} system property pointing to a local directory. The entries are keyed by the hash of
+ * the original copybook content, so a changed copybook never hits a stale entry, and are ignored when they were
+ * written by another server build. A release build is identified by its version, a development build by the time its
+ * jar was built; the cache is disabled if the build can't be identified. The entries are read lazily, when the
+ * copybook is resolved.
+ *
+ * <p>The cache also records where each copybook was resolved, together with the modification time and the size of its
+ * file. While they match, the copybook is taken from the cache without asking the client to resolve it and without
+ * reading the file. A change of the copybook settings made while the server was stopped is not detected this way, so
+ * the records are trusted only until the copybook cache is invalidated for the first time.
+ *
+ * <p>On the first write the entries of other server builds are removed, and the least recently used entries are
+ * removed when the cache grows over {@value #MAX_CACHE_BYTES} bytes.
+ */
+@Slf4j
+@Singleton
+public class PersistentCopybookCache {
+  public static final String CACHE_DIR_PROPERTY = "copybook.cache.dir";
+  private static final int MAGIC = 0xC0B0CA5E;
+  private static final int FORMAT_VERSION = 2;
+  private static final String ENTRY_EXTENSION = ".cln";
+  private static final String RESOLUTION_EXTENSION = ".res";
+  private static final long MAX_CACHE_BYTES = 256L * 1024 * 1024;
+
+  private final Path directory;
+  private final String serverVersion;
+  private final long maxCacheBytes;
+  private final Executor pruneExecutor;
+  private final AtomicBoolean pruned = new AtomicBoolean();
+  private volatile boolean resolutionsTrusted = true;
+
+  @Inject
+  public PersistentCopybookCache() {
+    this(Optional.ofNullable(System.getProperty(CACHE_DIR_PROPERTY)).map(Paths::get).orElse(null),
+        buildVersion());
+  }
+
+  @VisibleForTesting
+  PersistentCopybookCache(Path directory, String serverVersion) {
+    this(directory, serverVersion, MAX_CACHE_BYTES, ForkJoinPool.commonPool());
+  }
+
+  @VisibleForTesting
+  PersistentCopybookCache(Path directory, String serverVersion, long maxCacheBytes, Executor pruneExecutor) {
+    if (directory != null && serverVersion == null) {
+      LOG.info("The server build can't be identified, the persistent copybook cache is disabled");
+    }
+    this.directory = serverVersion == null ? null : directory;
+    this.serverVersion = serverVersion;
+    this.maxCacheBytes = maxCacheBytes;
+    this.pruneExecutor = pruneExecutor;
+  }
+
+  private static String buildVersion() {
+    String version = PersistentCopybookCache.class.getPackage().getImplementationVersion();
+    if (version != null && !version.endsWith("-SNAPSHOT")) {
+      return version;
+    }
+    try {
+      Path location = Paths.get(PersistentCopybookCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+      return Files.isRegularFile(location) ? "dev-" + Files.getLastModifiedTime(location).toMillis() : null;
+    } catch (URISyntaxException | IOException | RuntimeException e) {
+      LOG.debug("Cannot identify the server build", e);
+      return null;
+    }
+  }
+
+  /**
+   * Check if the cache is enabled
+   * @return true if the cache directory is configured
+   */
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  /**
+   * Reads the cleaned up text of the copybook with the given content
+   * @param content the original copybook content
+   * @return the cleaned up text if it was stored by the same server version
+   */
+  public Optional<String> getCleanText(String content) {
+    if (!isEnabled() || content == null) {
+      return Optional.empty();
+    }
+    return read(entryPath(hash(content)), true);
+  }
+
+  /**
+   * Stores the cleaned up text of the copybook with the given content
+   * @param content the original copybook content
+   * @param cleanText the cleaned up text
+   */
+  public void putCleanText(String content, String cleanText) {
+    if (!isEnabled() || content == null || cleanText == null) {
+      return;
+    }
+    write(entryPath(hash(content)), cleanText);
+  }
+
+  /**
+   * Reads the copybook resolved before, if its file didn't change since then and its cleaned up text is stored
+   * @param copybookId the id of the copybook
+   * @param copybookName the name of the copybook
+   * @param toPath converts the copybook uri to the path of its file
+   * @return the copybook with the cleaned up text
+   */
+  public Optional<CopybookModel> getResolvedCopybook(CopybookId copybookId, CopybookName copybookName,
+                                                     Function<String, Path> toPath) {
+    if (!isEnabled() || !resolutionsTrusted) {
+      return Optional.empty();
+    }
+    return read(resolutionPath(copybookId), true)
+        .flatMap(Resolution::parse)
+        .filter(resolution -> resolution.matches(toPath.apply(resolution.getUri())))
+        .flatMap(resolution -> read(entryPath(resolution.getContentHash()), true)
+            .map(cleanText -> new CopybookModel(copybookId, copybookName, resolution.getUri(), cleanText)));
+  }
+
+  /**
+   * Records where the copybook was resolved
+   * @param copybookId the id of the copybook
+   * @param uri the uri the copybook was resolved to
+   * @param file the file of the copybook
+   * @param content the content of the copybook file
+   */
+  public void putResolvedCopybook(CopybookId copybookId, String uri, Path file, String content) {
+    if (!isEnabled() || uri == null || file == null || content == null) {
+      return;
+    }
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      write(resolutionPath(copybookId),
+          new Resolution(uri, attributes.lastModifiedTime().toMillis(), attributes.size(), hash(content)).format());
+    } catch (IOException e) {
+      LOG.debug("Cannot read the attributes of the copybook file " + file, e);
+    }
+  }
+
+  /**
+   * Stops taking the copybooks from the recorded resolutions, as the copybook settings may have changed
+   */
+  public void distrustResolutions() {
+    resolutionsTrusted = false;
+  }
+
+  private Optional<String> read(Path entry, boolean touch) {
+    if (!Files.isRegularFile(entry)) {
+      return Optional.empty();
+    }
+    try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !serverVersion.equals(readString(buffer))) {
+        return Optional.empty();
+      }
+      String value = readString(buffer);
+      if (touch) {
+        // the modification time orders the entries for the removal of the least recently used ones
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+      }
+      return Optional.of(value);
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Cannot read the copybook cache entry " + entry, e);
+      return Optional.empty();
+    }
+  }
+
+  private void write(Path entry, String value) {
+    try {
+      Files.createDirectories(entry.getParent());
+      Path temp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+      try (OutputStream stream = Files.newOutputStream(temp);
+           DataOutputStream output = new DataOutputStream(stream)) {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        writeString(output, serverVersion);
+        writeString(output, value);
+      }
+      try {
+        Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      LOG.debug("Cannot write the copybook cache entry " + entry, e);
+    }
+    if (pruned.compareAndSet(false, true)) {
+      CompletableFuture.runAsync(this::prune, pruneExecutor);
+    }
+  }
+
+  /**
+   * Removes the entries written by other server builds, and the least recently used entries over the size limit
+   */
+  @VisibleForTesting
+  void prune() {
+    List<Path> entries;
+    try (Stream<Path> files = Files.walk(directory, 2)) {
+      entries = files.filter(Files::isRegularFile)
+          .filter(file -> file.toString().endsWith(ENTRY_EXTENSION) || file.toString().endsWith(RESOLUTION_EXTENSION))
+          .collect(Collectors.toList());
+    } catch (IOException | UncheckedIOException e) {
+      LOG.debug("Cannot list the copybook cache entries", e);
+      return;
+    }
+    List<Path> current = new ArrayList<>();
+    for (Path entry : entries) {
+      if (read(entry, false).isPresent()) {
+        current.add(entry);
+      } else {
+        delete(entry);
+      }
+    }
+    current.sort(Comparator.comparingLong(PersistentCopybookCache::lastModified).reversed());
+    long size = 0;
+    for (Path entry : current) {
+      size += size(entry);
+      if (size > maxCacheBytes) {
+        delete(entry);
+      }
+    }
+  }
+
+  private Path entryPath(String hash) {
+    return directory.resolve(hash.substring(0, 2)).resolve(hash + ENTRY_EXTENSION);
+  }
+
+  private Path resolutionPath(CopybookId copybookId) {
+    String hash = hash(copybookId.toString());
+    return directory.resolve(hash.substring(0, 2)).resolve(hash + RESOLUTION_EXTENSION);
+  }
+
+  private static String hash(String value) {
+    return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+  }
+
+  private static long lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static long size(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.debug("Cannot remove the copybook cache entry " + file, e);
+    }
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(MappedByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** The location of a resolved copybook and the state of its file */
+  @Value
+  private static class Resolution {
+    private static final String SEPARATOR = "\n";
+
+    String uri;
+    long lastModified;
+    long size;
+    String contentHash;
+
+    static Optional<Resolution> parse(String value) {
+      String[] parts = value.split(SEPARATOR);
+      try {
+        return parts.length == 4
+            ? Optional.of(new Resolution(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3]))
+            : Optional.empty();
+      } catch (NumberFormatException e) {
+        return Optional.empty();
+      }
+    }
+
+    String format() {
+      return String.join(SEPARATOR, uri, Long.toString(lastModified), Long.toString(size), contentHash);
+    }
+
+    boolean matches(Path file) {
+      try {
+        BasicFileAttributes attributes = file == null ? null : Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes != null && attributes.lastModifiedTime().toMillis() == lastModified && attributes.size() == size;
+      } catch (IOException e) {
+        return false;
+      }
+    }
+  }
+}
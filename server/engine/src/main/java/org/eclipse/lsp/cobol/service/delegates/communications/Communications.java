@@ -34,6 +34,8 @@ public interface Communications {
 
   void notifyProgressEnd(String uri);
 
+  void notifyReanalysisProgress(int analysed, int total);
+
   void registerExecuteCommandCapability(List<String> capabilities, String id);
 
   void unregisterExecuteCommandCapability(String id);
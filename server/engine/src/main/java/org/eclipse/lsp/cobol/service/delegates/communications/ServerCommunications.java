@@ -16,17 +16,23 @@
 package org.eclipse.lsp.cobol.service.delegates.communications;
 
 import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp4j.MessageType.Info;
 
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.Singleton;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.file.FileSystemService;
@@ -53,11 +59,26 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
  * This class serves the communications between server and client. It also allows sending delayable
  * messages. Notice, that all the messages that are going to be sent from server to client should be
  * cleaned by removing line breaks to prevent incorrect parsing.
+ *
+ * <p>Diagnostics are published with a short delay, so the successive publications are coalesced, and
+ * only for the documents which diagnostics differ from the ones the client already has.
  */
 @Slf4j
+@Singleton
 public class ServerCommunications implements Communications {
+  private static final String REANALYSIS_PROGRESS_TOKEN = "cobol-reanalysis";
+  private static final long DIAGNOSTICS_DELAY_MS = 50;
 
   private final Set<String> uriInProgress = new HashSet<>();
+  private final Map<String, List<Diagnostic>> pendingDiagnostics = new LinkedHashMap<>();
+  private final Map<String, List<Diagnostic>> publishedDiagnostics = new HashMap<>();
+  private final ScheduledExecutorService diagnosticsExecutor =
+          Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Diagnostics Publisher");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private boolean diagnosticsScheduled;
   private final MessageService messageService;
   private final Provider<CobolLanguageClient> provider;
   private final FileSystemService files;
@@ -105,20 +126,48 @@ public class ServerCommunications implements Communications {
 
   /**
    * This method raise a diagnostic message to the client with syntax error retrieved by the COBOL
-   * LSP server for related files.
+   * LSP server for related files. The diagnostics are sent after a short delay together with the
+   * ones published in the meantime, and only for the files which diagnostics have changed since
+   * the last notification.
    *
    * @param diagnostics map of URIs and errors populated by the language engine
    */
   public void publishDiagnostics(Map<String, List<Diagnostic>> diagnostics) {
-    diagnostics.forEach(
-            (uri, diagnostic) -> {
-              PublishDiagnosticsParams diagnostics1 = new PublishDiagnosticsParams(uriDecodeService.getOriginalUri(uri), clean(diagnostic));
-              LOG.debug("publishDiagnostics " + diagnostics1);
-              getClient().publishDiagnostics(diagnostics1);
-            }
-    );
+    synchronized (pendingDiagnostics) {
+      pendingDiagnostics.putAll(diagnostics);
+      if (diagnosticsScheduled) return;
+      diagnosticsScheduled = true;
+    }
+    diagnosticsExecutor.schedule(this::sendPendingDiagnostics, DIAGNOSTICS_DELAY_MS, MILLISECONDS);
   }
 
+  private void sendPendingDiagnostics() {
+    Map<String, List<Diagnostic>> diagnostics;
+    synchronized (pendingDiagnostics) {
+      diagnostics = new LinkedHashMap<>(pendingDiagnostics);
+      pendingDiagnostics.clear();
+      diagnosticsScheduled = false;
+    }
+    diagnostics.forEach(this::sendDiagnostics);
+  }
+
+  private void sendDiagnostics(String uri, List<Diagnostic> diagnostics) {
+    List<Diagnostic> cleaned = clean(diagnostics);
+    if (cleaned.equals(publishedDiagnostics.getOrDefault(uri, ImmutableList.of()))) return;
+    PublishDiagnosticsParams params = new PublishDiagnosticsParams(uriDecodeService.getOriginalUri(uri), cleaned);
+    LOG.debug("publishDiagnostics " + params);
+    try {
+      getClient().publishDiagnostics(params);
+    } catch (RuntimeException e) {
+      LOG.error("Cannot publish diagnostics for " + uri, e);
+      return;
+    }
+    if (cleaned.isEmpty()) {
+      publishedDiagnostics.remove(uri);
+    } else {
+      publishedDiagnostics.put(uri, cleaned);
+    }
+  }
 
   @Override
   public void notifyProgressBegin(String uri) {
@@ -178,6 +227,27 @@ public class ServerCommunications implements Communications {
     }
   }
 
+  @Override
+  public void notifyReanalysisProgress(int analysed, int total) {
+    if (analysed == 0) {
+      getClient().createProgress(new WorkDoneProgressCreateParams(Either.forLeft(REANALYSIS_PROGRESS_TOKEN)));
+      WorkDoneProgressBegin begin = new WorkDoneProgressBegin();
+      begin.setTitle(messageService.getMessage("Communications.reanalysisInProgressTitle", total));
+      begin.setPercentage(0);
+      getClient().notifyProgress(new ProgressParams(Either.forLeft(REANALYSIS_PROGRESS_TOKEN), Either.forLeft(begin)));
+      return;
+    }
+    if (analysed >= total) {
+      getClient().notifyProgress(new ProgressParams(Either.forLeft(REANALYSIS_PROGRESS_TOKEN),
+              Either.forLeft(new WorkDoneProgressEnd())));
+      return;
+    }
+    WorkDoneProgressReport report = new WorkDoneProgressReport();
+    report.setMessage(analysed + "/" + total);
+    report.setPercentage(analysed * 100 / total);
+    getClient().notifyProgress(new ProgressParams(Either.forLeft(REANALYSIS_PROGRESS_TOKEN), Either.forLeft(report)));
+  }
+
   @Override
   public void registerExecuteCommandCapability(List<String> capabilities, String id) {
     Registration registrations =
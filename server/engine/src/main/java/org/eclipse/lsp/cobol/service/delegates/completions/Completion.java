@@ -22,6 +22,8 @@ import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Objects;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * Completion provider that allows to resolve autocomplete requests with specific items based on
  * type. The type of completion items may be dynamic (depends on the current document) and static
@@ -40,6 +42,33 @@ public interface Completion {
   Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document);
 
+  /**
+   * Provide a limited list of completion items of specific kind. Providers that index their
+   * elements should override it to stop the lookup as soon as the limit is reached.
+   *
+   * @param token - token to filter the suggestions
+   * @param document - object that contains text and analysis output
+   * @param limit - the maximum number of items to return
+   * @return collection of strings to be converted into completion items
+   */
+  @NonNull
+  default Collection<CompletionItem> getCompletionItems(
+      @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
+    return getCompletionItems(token, document).stream().limit(limit).collect(toList());
+  }
+
+  /**
+   * Fill in the documentation of a completion item created by this provider. The items are sent
+   * without documentation, and the client requests it only for the selected item.
+   *
+   * @param item - the completion item to resolve
+   * @param document - the document the completion was requested for. May be null.
+   * @return true if the item was created by this provider
+   */
+  default boolean resolve(@NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    return false;
+  }
+
   /**
    * Checks if the supplied document is ready for collection based on weather document is analysis.
    *
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * This utility class creates and reads the data attached to completion items. The client sends the
+ * data back with the completionItem/resolve request, so it identifies the provider and the element
+ * which documentation should be resolved.
+ */
+@UtilityClass
+public class CompletionData {
+  private static final String KIND = "kind";
+  private static final String URI = "uri";
+  private static final String DEFINITION = "definition";
+
+  /**
+   * Create the data of a completion item
+   *
+   * @param kind the kind of the completion item
+   * @param documentUri the uri of the document the completion was requested for, may be null
+   * @return the item data
+   */
+  @NonNull
+  JsonObject create(@NonNull CompletionOrder kind, @Nullable String documentUri) {
+    JsonObject data = new JsonObject();
+    data.addProperty(KIND, kind.name());
+    if (documentUri != null) data.addProperty(URI, documentUri);
+    return data;
+  }
+
+  /**
+   * Create the data of a completion item for an element defined in the document
+   *
+   * @param kind the kind of the completion item
+   * @param documentUri the uri of the document the completion was requested for
+   * @param definition the locality of the element definition
+   * @return the item data
+   */
+  @NonNull
+  JsonObject create(@NonNull CompletionOrder kind, @NonNull String documentUri, @NonNull Locality definition) {
+    JsonObject data = create(kind, documentUri);
+    data.addProperty(DEFINITION, toDefinitionKey(definition));
+    return data;
+  }
+
+  /**
+   * Check if the item has the data of the given kind
+   *
+   * @param item the completion item
+   * @param kind the kind to check
+   * @return true if the item data has the given kind
+   */
+  boolean isOf(@NonNull CompletionItem item, @NonNull CompletionOrder kind) {
+    return getProperty(item, KIND).filter(kind.name()::equals).isPresent();
+  }
+
+  /**
+   * Get the uri of the document the completion item was created for
+   *
+   * @param item the completion item
+   * @return the document uri or empty if the item has no such data
+   */
+  @NonNull
+  public Optional<String> getUri(@NonNull CompletionItem item) {
+    return getProperty(item, URI);
+  }
+
+  /**
+   * Check if the item was created for an element defined at the given locality
+   *
+   * @param item the completion item
+   * @param definition the locality of the element definition
+   * @return true if the item data points to the given definition
+   */
+  boolean isDefinedAt(@NonNull CompletionItem item, @NonNull Locality definition) {
+    return getProperty(item, DEFINITION).filter(toDefinitionKey(definition)::equals).isPresent();
+  }
+
+  private Optional<String> getProperty(CompletionItem item, String property) {
+    Object data = item.getData();
+    if (!(data instanceof JsonObject)) return Optional.empty();
+    JsonElement value = ((JsonObject) data).get(property);
+    return value == null || !value.isJsonPrimitive() ? Optional.empty() : Optional.of(value.getAsString());
+  }
+
+  private String toDefinitionKey(Locality definition) {
+    Position start = definition.getRange().getStart();
+    return definition.getUri() + ":" + start.getLine() + ":" + start.getCharacter();
+  }
+}
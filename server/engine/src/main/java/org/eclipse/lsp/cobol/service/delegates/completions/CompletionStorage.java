@@ -18,10 +18,10 @@ import com.google.common.collect.ImmutableList;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIALECTS;
 
@@ -32,7 +32,9 @@ import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIAL
 @Slf4j
 public abstract class CompletionStorage<T> {
   private List<String> dialectType = ImmutableList.of();
-  private Map<String, T> storage;
+  private volatile Map<String, T> storage;
+  private volatile PrefixIndex<String> labels;
+  private volatile long dataVersion;
   private final SettingsService settingsService;
 
   CompletionStorage(final SettingsService settingsService) {
@@ -48,13 +50,26 @@ public abstract class CompletionStorage<T> {
   protected abstract Map<String, T> getDataMap(List<String> dialectType);
 
   /**
-   * Return a full set of the registered keywords
+   * Return the version of the sources of the data map. The storage is rebuilt when the version changes.
    *
-   * @return A set of keywords
+   * @return the version of the data sources
    */
-  Set<String> getLabels() {
-    resetStorage();
-    return storage.keySet();
+  protected long getDataVersion() {
+    return 0;
+  }
+
+  /**
+   * Return the registered keywords that start with the given prefix ignoring case
+   *
+   * @param prefix - The prefix of the keywords
+   * @param limit - The maximum number of keywords to return
+   * @return A list of keywords
+   */
+  List<String> findLabels(final String prefix, final int limit) {
+    if (dataVersion != getDataVersion()) {
+      resetStorage();
+    }
+    return labels.find(prefix, limit);
   }
 
   /**
@@ -68,8 +83,8 @@ public abstract class CompletionStorage<T> {
   }
 
   private void fillInStorage(final Map<String, T> props) {
-    this.storage =
-        props.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    this.storage = new HashMap<>(props);
+    this.labels = PrefixIndex.of(storage.keySet(), Function.identity());
   }
 
   private void updateDialects(final List<String> dialects) {
@@ -77,9 +92,11 @@ public abstract class CompletionStorage<T> {
     resetStorage();
   }
 
-  private void resetStorage() {
-    Map<String, T> dataMap;
-    dataMap = getDataMap(this.dialectType);
+  private synchronized void resetStorage() {
+    long version = getDataVersion();
+    Map<String, T> dataMap = getDataMap(this.dialectType);
+    dataVersion = version;
+    if (dataMap.equals(storage)) return;
     fillInStorage(dataMap);
     LOG.info("The properties file has been loaded successfully");
   }
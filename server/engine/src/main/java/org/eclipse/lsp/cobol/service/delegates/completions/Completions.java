@@ -25,12 +25,10 @@ import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
 
 import javax.annotation.Nullable;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.nullsLast;
 
 /**
  * This class is used as a delegate for code completion operations. It requires type-specific
@@ -40,6 +38,9 @@ import static java.util.stream.Collectors.toList;
  * all the completions suggestions are sent without any documentation. To fulfill it, there is a
  * special "resolve" request.
  *
+ * <p>The number of the suggestions is limited. If there are more of them, the list is marked as
+ * incomplete, so the client requests it again when the user continues typing.
+ *
  * <p>For maintainers: If you add a new completion providers, please, specify a new dependency in
  * the DI configuration {@link ServiceModule}
  */
@@ -47,6 +48,8 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class Completions {
 
+  private static final int MAX_ITEMS = 1000;
+
   private final Set<Completion> providers;
 
   @Inject
@@ -69,19 +72,34 @@ public class Completions {
   public CompletionList collectFor(
           @Nullable CobolDocumentModel document, @NonNull CompletionParams params) {
     List<CompletionItem> items = collectCompletions(document, params);
-    return new CompletionList(false, items);
+    if (items.size() <= MAX_ITEMS) return new CompletionList(false, items);
+    items.sort(comparing(CompletionItem::getSortText, nullsLast(String::compareTo)));
+    return new CompletionList(true, new ArrayList<>(items.subList(0, MAX_ITEMS)));
+  }
+
+  /**
+   * Fill in the documentation of a completion item using the provider that created it. Document
+   * may be null if it was closed after the completion request.
+   *
+   * @param item     - the completion item to resolve
+   * @param document - document model the completion was requested for. May be null.
+   * @return the same completion item with documentation if it is available
+   */
+  @NonNull
+  public CompletionItem resolve(@NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    for (Completion provider : providers) {
+      if (provider.resolve(item, document)) break;
+    }
+    return item;
   }
 
   @NonNull
   private List<CompletionItem> collectCompletions(
           @Nullable CobolDocumentModel document, @NonNull CompletionParams params) {
     String token = retrieveToken(document, params);
-    return providers
-            .stream()
-            .map(it -> it.getCompletionItems(token, document))
-            .flatMap(Collection::stream)
-            .distinct()
-            .collect(toList());
+    Set<CompletionItem> items = new LinkedHashSet<>();
+    providers.forEach(it -> items.addAll(it.getCompletionItems(token, document, MAX_ITEMS + 1)));
+    return new ArrayList<>(items);
   }
 
   @NonNull
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.CompletionItem;
@@ -23,33 +24,49 @@ import org.eclipse.lsp4j.CompletionItemKind;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
 
 /** This class provides completion suggestions for copybook usages in the document */
 @Singleton
 public class CopybookCompletion implements Completion {
+  private final Function<AnalysisResult, PrefixIndex<String>> indexes =
+      PrefixIndex.perAnalysisResult(CopybookCompletion::buildIndex);
 
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
+    return getCompletionItems(token, document, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public @NonNull Collection<CompletionItem> getCompletionItems(
+      @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
     if (!isDocumentReadyForSemanticCollection(document)) return emptyList();
-    return document
-        .getLastAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
-        .map(CopyNode.class::cast)
-        .map(CopyNode::getName)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.apply(document.getLastAnalysisResult())
+        .find(token, limit)
+        .stream()
         .map(CopybookCompletion::toCopybookCompletion)
         .collect(toList());
   }
 
+  private static PrefixIndex<String> buildIndex(AnalysisResult result) {
+    return PrefixIndex.of(
+        result.getNodeIndex()
+            .getNodes(COPY)
+            .stream()
+            .map(CopyNode.class::cast)
+            .map(CopyNode::getName)
+            .collect(toCollection(LinkedHashSet::new)),
+        Function.identity());
+  }
+
   private static CompletionItem toCopybookCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
@@ -48,11 +48,17 @@ public class CopybookNameCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
+    return getCompletionItems(token, document, Integer.MAX_VALUE);
+  }
 
+  @Override
+  public @NonNull Collection<CompletionItem> getCompletionItems(
+      @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
     List<CopybookName> names = copybookNameService.getNames(document == null ? null : document.getUri());
     return names.stream()
             .map(CopybookName::getQualifiedName)
             .filter(DocumentationUtils.startsWithIgnoreCase(token))
+            .limit(limit)
             .map(CopybookNameCompletion::toCopybookCompletion)
             .collect(toList());
   }
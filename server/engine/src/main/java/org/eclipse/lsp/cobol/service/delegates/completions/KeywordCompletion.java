@@ -41,17 +41,29 @@ public class KeywordCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
           @NonNull String token, @Nullable CobolDocumentModel document) {
-    return keywords.getLabels().stream()
-            .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return getCompletionItems(token, document, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public @NonNull Collection<CompletionItem> getCompletionItems(
+          @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
+    return keywords.findLabels(token, limit).stream()
             .map(this::toKeywordCompletion)
             .collect(toList());
   }
 
+  @Override
+  public boolean resolve(@NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    if (!CompletionData.isOf(item, KEYWORDS)) return false;
+    item.setDocumentation(DocumentationUtils.wrapWithMarkup(keywords.getInformationFor(item.getLabel())));
+    return true;
+  }
+
   private CompletionItem toKeywordCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
-    item.setDocumentation(DocumentationUtils.wrapWithMarkup(keywords.getInformationFor(name)));
+    item.setData(CompletionData.create(KEYWORDS, null));
     item.setSortText(KEYWORDS.prefix + name);
     item.setKind(Keyword);
     return item;
@@ -14,6 +14,8 @@
  */
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +31,8 @@ import java.util.*;
 @Slf4j
 public class Keywords extends CompletionStorage<String> {
   private static final String KEYWORDS_FILE_PATH = "LanguageKeywords.txt";
+  private static final Supplier<Map<String, String>> LANGUAGE_KEYWORDS =
+      Suppliers.memoize(() -> KeywordsUtils.getKeywords(KEYWORDS_FILE_PATH));
 
   private final DialectService dialectService;
 
@@ -40,7 +44,7 @@ public class Keywords extends CompletionStorage<String> {
 
   @Override
   protected Map<String, String> getDataMap(List<String> dialectTypes) {
-    Map<String, String> result = new HashMap<>(KeywordsUtils.getKeywords(KEYWORDS_FILE_PATH));
+    Map<String, String> result = new HashMap<>(LANGUAGE_KEYWORDS.get());
 
     dialectTypes.forEach(
         dialectType -> result.putAll(dialectService.getDialectByName(dialectType)
@@ -50,4 +54,10 @@ public class Keywords extends CompletionStorage<String> {
     return result;
   }
 
+  @Override
+  protected long getDataVersion() {
+    // the storage is filled in by the super constructor, before the dialect service is assigned
+    return dialectService == null ? 0 : dialectService.getVersion();
+  }
+
 }
@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
@@ -24,11 +25,13 @@ import org.eclipse.lsp4j.CompletionItem;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.common.model.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.PARAGRAPHS;
 import static org.eclipse.lsp4j.CompletionItemKind.Method;
@@ -38,6 +41,8 @@ import static org.eclipse.lsp4j.CompletionItemKind.Method;
 public class ParagraphCompletion implements Completion {
 
   private final SymbolsRepository symbolsRepository;
+  private final Function<AnalysisResult, PrefixIndex<String>> indexes =
+      PrefixIndex.perAnalysisResult(this::buildIndex);
 
   @Inject
   public ParagraphCompletion(SymbolsRepository symbolsRepository) {
@@ -47,21 +52,33 @@ public class ParagraphCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
+    return getCompletionItems(token, document, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public @NonNull Collection<CompletionItem> getCompletionItems(
+      @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
     if (!isDocumentReadyForSemanticCollection(document)) return emptyList();
-    return document
-        .getLastAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(symbolsRepository::getParagraphMap)
-        .map(Map::keySet)
-        .flatMap(Collection::stream)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.apply(document.getLastAnalysisResult())
+        .find(token, limit)
+        .stream()
         .map(this::toParagraphCompletion)
         .collect(toList());
   }
 
+  private PrefixIndex<String> buildIndex(AnalysisResult result) {
+    return PrefixIndex.of(
+        result.getNodeIndex()
+            .getNodes(PROGRAM)
+            .stream()
+            .map(ProgramNode.class::cast)
+            .map(symbolsRepository::getParagraphMap)
+            .map(Map::keySet)
+            .flatMap(Collection::stream)
+            .collect(toCollection(LinkedHashSet::new)),
+        Function.identity());
+  }
+
   private CompletionItem toParagraphCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.common.cache.CacheBuilder;
+import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A case-insensitive prefix index over named elements. The names are upper-cased and kept in a
+ * sorted array, so all the elements that start with a prefix are found by a binary search followed
+ * by a scan of the matching range only.
+ *
+ * @param <T> the type of the indexed elements
+ */
+final class PrefixIndex<T> {
+  private final String[] keys;
+  private final Object[] values;
+
+  private PrefixIndex(String[] keys, Object[] values) {
+    this.keys = keys;
+    this.values = values;
+  }
+
+  /**
+   * Create an index for the given elements. Elements with the same name keep their original order.
+   *
+   * @param elements the elements to index
+   * @param nameFunction the function that returns the name of an element
+   * @param <T> the type of the indexed elements
+   * @return the index
+   */
+  static <T> PrefixIndex<T> of(
+      @NonNull Collection<? extends T> elements, @NonNull Function<? super T, String> nameFunction) {
+    List<Map.Entry<String, T>> entries = new ArrayList<>(elements.size());
+    for (T element : elements) {
+      entries.add(new AbstractMap.SimpleImmutableEntry<>(toKey(nameFunction.apply(element)), element));
+    }
+    entries.sort(Map.Entry.<String, T>comparingByKey());
+    String[] keys = new String[entries.size()];
+    Object[] values = new Object[entries.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = entries.get(i).getKey();
+      values[i] = entries.get(i).getValue();
+    }
+    return new PrefixIndex<>(keys, values);
+  }
+
+  /**
+   * Create a function that builds the index for an analysis result once and keeps it while the
+   * result is in use
+   *
+   * @param builder the function that builds an index for an analysis result
+   * @param <T> the type of the indexed elements
+   * @return the function that returns the index of an analysis result
+   */
+  static <T> Function<AnalysisResult, PrefixIndex<T>> perAnalysisResult(
+      @NonNull Function<AnalysisResult, PrefixIndex<T>> builder) {
+    Map<AnalysisResult, PrefixIndex<T>> indexes =
+        CacheBuilder.newBuilder().weakKeys().<AnalysisResult, PrefixIndex<T>>build().asMap();
+    return result -> indexes.computeIfAbsent(result, builder);
+  }
+
+  /**
+   * Find the elements which names start with the given prefix ignoring case
+   *
+   * @param prefix the prefix of the names
+   * @param limit the maximum number of elements to return
+   * @return the found elements in the order of their names
+   */
+  @NonNull
+  List<T> find(@NonNull String prefix, int limit) {
+    String key = toKey(prefix);
+    List<T> result = new ArrayList<>();
+    for (int i = lowerBound(key); i < keys.length && result.size() < limit && keys[i].startsWith(key); i++) {
+      result.add(valueAt(i));
+    }
+    return result;
+  }
+
+  /**
+   * Find the elements with the given name ignoring case
+   *
+   * @param name the name of the elements
+   * @return the found elements
+   */
+  @NonNull
+  List<T> get(@NonNull String name) {
+    String key = toKey(name);
+    List<T> result = new ArrayList<>();
+    for (int i = lowerBound(key); i < keys.length && keys[i].equals(key); i++) {
+      result.add(valueAt(i));
+    }
+    return result;
+  }
+
+  /**
+   * Get the number of the indexed elements
+   *
+   * @return the size of the index
+   */
+  int size() {
+    return keys.length;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T valueAt(int i) {
+    return (T) values[i];
+  }
+
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (keys[middle].compareTo(key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static String toKey(String name) {
+    return name == null ? "" : name.toUpperCase(Locale.ROOT);
+  }
+}
@@ -41,8 +41,15 @@ public class SubroutineCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
+    return getCompletionItems(token, document, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public @NonNull Collection<CompletionItem> getCompletionItems(
+      @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
     return subroutineService.getNames().stream()
         .filter(DocumentationUtils.startsWithIgnoreCase(token))
+        .limit(limit)
         .map(this::toSubroutineCompletionItem)
         .collect(toList());
   }
@@ -18,6 +18,7 @@ import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
@@ -27,11 +28,10 @@ import org.eclipse.lsp4j.CompletionItem;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.function.Predicate;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.common.model.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.CONSTANTS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
@@ -40,12 +40,15 @@ import static org.eclipse.lsp4j.CompletionItemKind.Variable;
 
 /**
  * This completion provider returns all the defined variables as completion suggestions and their
- * definition as documentation
+ * definition as documentation. The variables of an analysis result are indexed by name once, and
+ * the documentation is built only when the client resolves the item.
  */
 @Singleton
 public class VariableCompletion implements Completion {
 
   private final SymbolsRepository symbolsRepository;
+  private final Function<AnalysisResult, PrefixIndex<VariableNode>> indexes =
+      PrefixIndex.perAnalysisResult(this::buildIndex);
 
   @Inject
   public VariableCompletion(SymbolsRepository symbolsRepository) {
@@ -55,31 +58,53 @@ public class VariableCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
+    return getCompletionItems(token, document, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public @NonNull Collection<CompletionItem> getCompletionItems(
+      @NonNull String token, @Nullable CobolDocumentModel document, int limit) {
     if (!isDocumentReadyForSemanticCollection(document)) return emptyList();
-    return document
-        .getLastAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(symbolsRepository::getVariables)
-        .map(Multimap::values)
-        .flatMap(Collection::stream)
-        .filter(matchNames(token))
-        .map(this::toCompletionItem)
+    return indexes.apply(document.getLastAnalysisResult())
+        .find(token, limit)
+        .stream()
+        .map(it -> toCompletionItem(it, document.getUri()))
         .collect(toList());
   }
 
-  private Predicate<VariableNode> matchNames(@NonNull String token) {
-    return it -> it.getName().regionMatches(true, 0, token, 0, token.length());
+  @Override
+  public boolean resolve(@NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    if (!CompletionData.isOf(item, VARIABLES)) return false;
+    if (isDocumentReadyForSemanticCollection(document)) {
+      indexes.apply(document.getLastAnalysisResult())
+          .get(item.getLabel())
+          .stream()
+          .filter(it -> CompletionData.isDefinedAt(item, it.getLocality()))
+          .findFirst()
+          .ifPresent(it -> item.setDocumentation(it.getFullVariableDescription()));
+    }
+    return true;
+  }
+
+  private PrefixIndex<VariableNode> buildIndex(AnalysisResult result) {
+    return PrefixIndex.of(
+        result.getNodeIndex()
+            .getNodes(PROGRAM)
+            .stream()
+            .map(ProgramNode.class::cast)
+            .map(symbolsRepository::getVariables)
+            .map(Multimap::values)
+            .flatMap(Collection::stream)
+            .collect(toList()),
+        VariableNode::getName);
   }
 
-  private CompletionItem toCompletionItem(VariableNode it) {
+  private CompletionItem toCompletionItem(VariableNode it, String documentUri) {
     String name = it.getName();
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
-    item.setDocumentation(it.getFullVariableDescription());
+    item.setData(CompletionData.create(VARIABLES, documentUri, it.getLocality()));
     if (ImplicitCodeUtils.isImplicit(it.getLocality().getUri())) {
       item.setSortText(CONSTANTS.prefix + name);
       item.setKind(Constant);
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.service.settings;
 
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
 
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -23,6 +24,7 @@ import com.google.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.inject.Inject;
@@ -32,12 +34,21 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.service.utils.ServerTypeUtil;
 
-/** This service fetches configuration settings from the client. */
+/**
+ * This service fetches configuration settings from the client. The configuration is cached per scope until the
+ * client reports a configuration change or the dialect registry changes. Concurrent requests of the same scope share
+ * one client request. The number of the cached scopes is limited, the least recently used ones are requested again.
+ */
 @Slf4j
 @Singleton
 public class CachingConfigurationService implements ConfigurationService {
+  private static final String NO_SCOPE = "<no scope>";
+  private static final int MAX_SCOPES = 500;
   private final SettingsService settingsService;
   private final DialectService dialectService;
+  private final Map<String, CompletableFuture<ConfigurationEntity>> configurations =
+      CacheBuilder.newBuilder().maximumSize(MAX_SCOPES).<String, CompletableFuture<ConfigurationEntity>>build().asMap();
+  private final AtomicLong clientRequests = new AtomicLong();
 
   @Inject
   public CachingConfigurationService(SettingsService settingsService, DialectService dialectService) {
@@ -60,6 +71,7 @@ public class CachingConfigurationService implements ConfigurationService {
 
     settingsList.addAll(dialectsSections);
 
+    LOG.debug("Request configuration for {}, client requests: {}", documentURI, clientRequests.incrementAndGet());
     return Optional.ofNullable(settingsService.fetchConfigurations(documentURI, settingsList))
         .map(c -> c.thenApply(future ->
             Optional.ofNullable(future)
@@ -68,17 +80,45 @@ public class CachingConfigurationService implements ConfigurationService {
         ).orElse(CompletableFuture.completedFuture(new ConfigurationEntity()));
   }
 
+  private CompletableFuture<ConfigurationEntity> getConfigFuture(String scopeURI) {
+    String key = Optional.ofNullable(scopeURI).orElse(NO_SCOPE);
+    CompletableFuture<ConfigurationEntity> future =
+        configurations.computeIfAbsent(key, k -> createConfigFuture(scopeURI));
+    future.whenComplete((config, e) -> {
+      if (e != null) {
+        configurations.remove(key, future);
+      }
+    });
+    return future;
+  }
+
+  @Override
+  public void invalidateConfiguration() {
+    LOG.debug("Configuration cache invalidated, client requests so far: {}", clientRequests.get());
+    configurations.clear();
+  }
+
+  /**
+   * Returns how many times the configuration was requested from the client
+   *
+   * @return the number of client requests
+   */
+  public long getClientRequestCount() {
+    return clientRequests.get();
+  }
+
   @Override
   @SuppressWarnings("java:S2142")
   public AnalysisConfig getConfig(String scopeURI, CopybookProcessingMode mode) {
     try {
-      AnalysisConfig config = AnalysisConfigHelper.fromConfigEntity(mode, createConfigFuture(scopeURI).get());
+      AnalysisConfig config = AnalysisConfigHelper.fromConfigEntity(mode, getConfigFuture(scopeURI).get());
       if (ServerTypeUtil.isNativeServerType()) {
         return config;
       }
       if (dialectService.updateDialects(config.getDialectRegistry())) {
-        // if list of dialects were changed - request config one more time
-        config = AnalysisConfigHelper.fromConfigEntity(mode, createConfigFuture(scopeURI).get());
+        // if list of dialects were changed - the dialect settings sections changed as well
+        invalidateConfiguration();
+        config = AnalysisConfigHelper.fromConfigEntity(mode, getConfigFuture(scopeURI).get());
       }
       return config;
     } catch (InterruptedException e) {
@@ -93,7 +133,7 @@ public class CachingConfigurationService implements ConfigurationService {
   @Override
   public List<String> getSubroutineDirectories() {
     try {
-      return createConfigFuture(null).get().getSubroutines();
+      return getConfigFuture(null).get().getSubroutines();
     } catch (InterruptedException e) {
       LOG.error("Issue while resolving subroutine configuration", e);
       Thread.currentThread().interrupt();
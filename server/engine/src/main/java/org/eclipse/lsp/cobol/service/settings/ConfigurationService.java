@@ -39,6 +39,11 @@ public interface ConfigurationService {
    */
   AnalysisConfig getConfig(String scopeURI, CopybookProcessingMode mode);
 
+  /**
+   * Drops the cached configuration, so the next request fetches it from the client.
+   */
+  void invalidateConfiguration();
+
   /**
    * Gets a client configuration for the Subroutine settings
    *
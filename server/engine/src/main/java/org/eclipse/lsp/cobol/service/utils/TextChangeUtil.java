@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import java.util.List;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+
+/**
+ * Applies the incremental content changes the client sends to the document text
+ */
+@Slf4j
+@UtilityClass
+public class TextChangeUtil {
+  /**
+   * Applies the content changes of the didChange notification to the document text. A change without a range
+   * replaces the whole text, otherwise the given range is replaced with the change text. A ranged change of an
+   * unknown text can't be applied, so it is skipped until a change without a range provides the whole text again.
+   *
+   * @param uri - the document uri
+   * @param text - the document text before the changes, may be null if it is unknown
+   * @param changes - the content changes in the order they were made
+   * @return the document text after the changes, or null if it is unknown
+   */
+  public String applyChanges(String uri, String text, List<TextDocumentContentChangeEvent> changes) {
+    String result = text;
+    for (TextDocumentContentChangeEvent change : changes) {
+      if (change.getRange() == null) {
+        result = change.getText();
+      } else if (result == null) {
+        LOG.error("The text of {} is not synchronized, the change at line {} is skipped", uri,
+            change.getRange().getStart().getLine());
+      } else {
+        int start = toOffset(result, change.getRange().getStart());
+        int end = Math.max(start, toOffset(result, change.getRange().getEnd()));
+        result = new StringBuilder(result.length() - (end - start) + change.getText().length())
+            .append(result, 0, start)
+            .append(change.getText())
+            .append(result, end, result.length())
+            .toString();
+      }
+    }
+    return result;
+  }
+
+  private int toOffset(String text, Position position) {
+    int offset = 0;
+    int line = 0;
+    while (line < position.getLine() && offset < text.length()) {
+      char character = text.charAt(offset++);
+      if (character == '\n' || (character == '\r' && (offset == text.length() || text.charAt(offset) != '\n'))) {
+        line++;
+      }
+    }
+    int lineEnd = offset;
+    while (lineEnd < text.length() && text.charAt(lineEnd) != '\n' && text.charAt(lineEnd) != '\r') {
+      lineEnd++;
+    }
+    return Math.min(offset + position.getCharacter(), lineEnd);
+  }
+}
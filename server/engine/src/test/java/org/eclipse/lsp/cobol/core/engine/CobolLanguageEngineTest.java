@@ -28,6 +28,7 @@ import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.ErrorSource;
@@ -83,7 +84,7 @@ class CobolLanguageEngineTest {
 
     CobolLanguageEngine engine =
             new CobolLanguageEngine(
-                    preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
+                    preprocessor, grammarPreprocessor, mock(CopybookService.class), mockMessageService, treeListener, mock(SubroutineService.class), null,
                     dialectService, astProcessor, symbolsRepository, mock(ErrorFinalizerService.class));
     when(mockMessageService.getMessage(anyString(), anyString(), anyString())).thenReturn("");
     Locality locality =
@@ -146,7 +147,7 @@ class CobolLanguageEngineTest {
     System.setProperty("serverType", "NATIVE");
     CobolLanguageEngine engine =
             new CobolLanguageEngine(
-                    preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
+                    preprocessor, grammarPreprocessor, mock(CopybookService.class), mockMessageService, treeListener, mock(SubroutineService.class), null,
                     dialectService, astProcessor, symbolsRepository, mock(ErrorFinalizerService.class));
 
     AnalysisResult actual = engine.run(URI, TEXT, DialectConfigs.getDaCoAnalysisConfig());
@@ -30,6 +30,7 @@ import org.mockito.InOrder;
 import java.net.URI;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 /**
@@ -76,7 +77,11 @@ class DialectServiceTest {
 
     when(ddService.loadDialects(URI.create(""), copybookService, messageService)).thenReturn(ImmutableList.of(dialect));
     List<DialectRegistryItem> dialectRegistry = ImmutableList.of(new DialectRegistryItem(dialect.getName(), URI.create(""), "", "extensionId"));
+    assertEquals(0, dialectService.getVersion());
     dialectService.updateDialects(dialectRegistry);
+    assertEquals(1, dialectService.getVersion());
+    dialectService.updateDialects(dialectRegistry);
+    assertEquals(1, dialectService.getVersion());
 
     dialectService.process(ImmutableList.of("dialect"), context);
 
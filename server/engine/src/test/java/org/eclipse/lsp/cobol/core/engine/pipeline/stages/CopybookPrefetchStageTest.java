@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.pipeline.stages;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.lsp.cobol.common.AnalysisConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test CopybookPrefetchStage
+ */
+class CopybookPrefetchStageTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+  private static final String TEXT = "       IDENTIFICATION DIVISION.\n"
+      + "       PROGRAM-ID. TEST1.\n"
+      + "       DATA DIVISION.\n"
+      + "       WORKING-STORAGE SECTION.\n"
+      + "       COPY STRUCT1.\n"
+      + "       COPY 'struct2' REPLACING ==A== BY ==B==.\n"
+      + "       COPY LIBCPY OF LIB.\n"
+      + "           EXEC SQL INCLUDE SQLCPY END-EXEC.\n"
+      + "       01 WS-COPY PIC X.\n"
+      + "       COPY IDMS RECORD EMPLOYEE.\n"
+      + "       01 COPY MAID ABC-XYZ WRK.\n"
+      + "       COPY STRUCT1.\n";
+
+  @Test
+  void testCobolCopybooksArePrefetched() {
+    CopybookService copybookService = mock(CopybookService.class);
+    new CopybookPrefetchStage(copybookService).run(createContext(ImmutableList.of(), CopybookProcessingMode.ENABLED), null);
+
+    verify(copybookService).prefetch(URI, ImmutableSet.of(
+        new CopybookName("STRUCT1"), new CopybookName("struct2"), new CopybookName("SQLCPY")));
+  }
+
+  @Test
+  void testDialectCopybooksArePrefetchedForEnabledDialects() {
+    CopybookService copybookService = mock(CopybookService.class);
+    new CopybookPrefetchStage(copybookService)
+        .run(createContext(ImmutableList.of("IDMS", "DaCo"), CopybookProcessingMode.ENABLED), null);
+
+    verify(copybookService).prefetch(URI, ImmutableSet.of(
+        new CopybookName("STRUCT1"), new CopybookName("struct2"), new CopybookName("SQLCPY"),
+        new CopybookName("EMPLOYEE", "IDMS"), new CopybookName("ABC-XYZ_WRK", "DaCo")));
+  }
+
+  @Test
+  void testNothingIsPrefetchedWhenCopybooksAreNotAnalyzed() {
+    CopybookService copybookService = mock(CopybookService.class);
+    new CopybookPrefetchStage(copybookService).run(createContext(ImmutableList.of(), CopybookProcessingMode.DISABLED), null);
+
+    verify(copybookService, never()).prefetch(anyString(), any());
+  }
+
+  private static AnalysisContext createContext(List<String> dialects, CopybookProcessingMode mode) {
+    AnalysisConfig config = new AnalysisConfig(mode, dialects, true, ImmutableList.of(), ImmutableMap.of());
+    return new AnalysisContext(new ExtendedDocument(TEXT, URI), config);
+  }
+}
@@ -216,6 +216,52 @@ class NodeProcessingTest {
     assertEquals(ImmutableList.of(ERROR_2), errors);
   }
 
+  @Test
+  void testChildrenAddedByProcessorAreProcessedInTreeOrder() {
+    /** The node that gets its children from the processor */
+    class ParentNode extends Node {
+      ParentNode() {
+        super(null, NodeType.ROOT);
+      }
+    }
+
+    /** The node that reports its error when processed */
+    class ChildNode extends Node {
+      private final SyntaxError error;
+
+      ChildNode(SyntaxError error) {
+        super(null, NodeType.ROOT);
+        this.error = error;
+      }
+    }
+
+    ParentNode root = new ParentNode();
+    ParentNode parent = new ParentNode();
+    root.addChild(parent);
+    root.addChild(new ChildNode(ERROR_3));
+    ProcessingContext ctx = new ProcessingContext(new ArrayList<>(), new SymbolAccumulatorService(), ImmutableMap.of());
+    ctx.register(
+        new ProcessorDescription(
+            ParentNode.class,
+            ProcessingPhase.TRANSFORMATION,
+            (n, c) -> {
+              if (n == parent) {
+                n.addChild(new ChildNode(ERROR_1));
+                n.addChild(new ChildNode(ERROR_2));
+              }
+            }));
+    ctx.register(
+        new ProcessorDescription(
+            ChildNode.class, ProcessingPhase.TRANSFORMATION, (n, c) -> c.getErrors().add(((ChildNode) n).error)));
+
+    AstProcessor astProcessor = new AstProcessor();
+    astProcessor.process(ProcessingPhase.TRANSFORMATION, root, ctx);
+    assertEquals(ImmutableList.of(ERROR_1, ERROR_2, ERROR_3), ctx.getErrors());
+    ctx.getErrors().clear();
+    astProcessor.process(ProcessingPhase.VALIDATION, root, ctx);
+    assertTrue(ctx.getErrors().isEmpty());
+  }
+
   private static SyntaxError getError(String message) {
     return SyntaxError.syntaxError().messageTemplate(MessageTemplate.of(message)).build();
   }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.tree.logic.implicit;
+
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
+import org.eclipse.lsp.cobol.common.symbols.VariableAccumulator;
+import org.eclipse.lsp.cobol.core.engine.processors.implicit.ImplicitVariablesPrototype;
+import org.eclipse.lsp.cobol.core.engine.processors.implicit.SRImplicitVariablesGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for ImplicitVariablesPrototype
+ */
+class ImplicitVariablesPrototypeTest {
+
+  @Test
+  void testEachAttachmentRegistersFreshCopies() {
+    AtomicInteger generated = new AtomicInteger();
+    ImplicitVariablesPrototype prototype =
+        ImplicitVariablesPrototype.of(
+            () -> {
+              generated.incrementAndGet();
+              return SRImplicitVariablesGenerator.generate();
+            });
+
+    List<VariableNode> first = attach(prototype);
+    List<VariableNode> second = attach(prototype);
+
+    assertEquals(1, generated.get());
+    assertEquals(first.size(), second.size());
+    for (int i = 0; i < first.size(); i++) {
+      assertNotSame(first.get(i), second.get(i));
+      assertEquals(first.get(i).getName(), second.get(i).getName());
+      assertEquals(
+          first.get(i).getFullVariableDescription(), second.get(i).getFullVariableDescription());
+      assertEquals(first.get(i).isGlobal(), second.get(i).isGlobal());
+    }
+  }
+
+  @Test
+  void testCopiesMatchGeneratedStructure() {
+    List<VariableNode> generated = SRImplicitVariablesGenerator.generate();
+    List<VariableNode> attached =
+        attach(ImplicitVariablesPrototype.of(SRImplicitVariablesGenerator::generate));
+
+    int expected =
+        generated.stream().mapToInt(variable -> 1 + variable.getChildren().size()).sum();
+    assertEquals(expected, attached.size());
+    assertEquals(
+        generated.get(0).getFullVariableDescription(), attached.get(0).getFullVariableDescription());
+  }
+
+  private static List<VariableNode> attach(ImplicitVariablesPrototype prototype) {
+    VariableAccumulator accumulator = mock(VariableAccumulator.class);
+    ProgramNode programNode = new ProgramNode(Locality.builder().build());
+    prototype.attach(accumulator, programNode);
+
+    ArgumentCaptor<VariableNode> captor = ArgumentCaptor.forClass(VariableNode.class);
+    verify(accumulator, atLeastOnce()).addVariableDefinition(eq(programNode), captor.capture());
+    return captor.getAllValues();
+  }
+}
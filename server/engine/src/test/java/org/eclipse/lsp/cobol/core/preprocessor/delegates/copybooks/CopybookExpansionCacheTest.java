@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CopybookExpansionCache}
+ */
+class CopybookExpansionCacheTest {
+  private static final String COPYBOOK_URI = "file:///c:/copybooks/CPY.cpy";
+  private static final String NESTED_URI = "file:///c:/copybooks/NESTED.cpy";
+  private static final String CONTENT = "       01 A PIC X.\n       COPY NESTED.";
+
+  private final CopybookExpansionCache cache = new CopybookExpansionCache(10, 1, "HOURS");
+  private final CopybookModel copybook = new CopybookModel(null, new CopybookName("CPY"), COPYBOOK_URI, CONTENT);
+
+  @Test
+  void testKeyDependsOnContentAndReplacing() {
+    CopybookExpansionCache.Key key = CopybookExpansionCache.Key.of(copybook, ImmutableList.of(), CopybookProcessingMode.ENABLED);
+    store(key);
+
+    assertTrue(cache.get(CopybookExpansionCache.Key.of(copybook, ImmutableList.of(), CopybookProcessingMode.ENABLED)).isPresent());
+    assertFalse(cache.get(CopybookExpansionCache.Key.of(copybook, ImmutableList.of(Pair.of("A", "B")), CopybookProcessingMode.ENABLED)).isPresent());
+    assertFalse(cache.get(CopybookExpansionCache.Key.of(copybook, ImmutableList.of(), CopybookProcessingMode.SKIP)).isPresent());
+
+    CopybookModel changed = new CopybookModel(null, new CopybookName("CPY"), COPYBOOK_URI, CONTENT + " ");
+    assertFalse(cache.get(CopybookExpansionCache.Key.of(changed, ImmutableList.of(), CopybookProcessingMode.ENABLED)).isPresent());
+  }
+
+  @Test
+  void testStoredTextIsCopied() {
+    CopybookExpansionCache.Key key = CopybookExpansionCache.Key.of(copybook, ImmutableList.of(), CopybookProcessingMode.ENABLED);
+    ExtendedText text = new ExtendedText(CONTENT, COPYBOOK_URI);
+    cache.store(key, text, new CopybooksRepository(), ImmutableList.of());
+
+    ExtendedText stored = cache.get(key).get().getText();
+    assertNotSame(text, stored);
+    assertEquals(CONTENT, stored.toString());
+  }
+
+  @Test
+  void testInvalidateByNestedCopybook() {
+    CopybookExpansionCache.Key key = CopybookExpansionCache.Key.of(copybook, ImmutableList.of(), CopybookProcessingMode.ENABLED);
+    store(key);
+
+    cache.invalidate("file:///c:/copybooks/OTHER.cpy");
+    assertTrue(cache.get(key).isPresent());
+
+    cache.invalidate(NESTED_URI);
+    assertFalse(cache.get(key).isPresent());
+  }
+
+  @Test
+  void testInvalidateByCopybook() {
+    CopybookExpansionCache.Key key = CopybookExpansionCache.Key.of(copybook, ImmutableList.of(), CopybookProcessingMode.ENABLED);
+    store(key);
+
+    cache.invalidate(COPYBOOK_URI);
+    assertFalse(cache.get(key).isPresent());
+  }
+
+  private void store(CopybookExpansionCache.Key key) {
+    cache.store(key, new ExtendedText(CONTENT, COPYBOOK_URI), new CopybooksRepository(),
+        ImmutableList.of(new CopybookExpansionCache.Dependency("NESTED", NESTED_URI, CopybookExpansionCache.hash("       01 B PIC X."))));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.CobolPreprocessor;
+import org.eclipse.lsp.cobol.core.CobolPreprocessorBaseListener;
+import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingServiceImpl;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CopybookPreprocessorService}
+ */
+class CopybookPreprocessorServiceTest {
+  private static final String PROGRAM_URI = "file:///c:/workspace/PRG.cbl";
+  private static final String COPYBOOK_URI = "file:///c:/workspace/copybooks/CPY.cpy";
+  private static final CopybookName NAME = new CopybookName("CPY");
+
+  private final CopybookService copybookService = mock(CopybookService.class);
+  private final GrammarPreprocessor grammarPreprocessor = mock(GrammarPreprocessor.class);
+  private final MessageService messageService = mock(MessageService.class);
+  private final CopybookExpansionCache expansionCache = new CopybookExpansionCache(10, 1, "HOURS");
+
+  @BeforeEach
+  void setUp() {
+    CopybookModel copybook = new CopybookModel(NAME.toCopybookId(PROGRAM_URI), NAME, COPYBOOK_URI, "       01 ITEM-A PIC X.");
+    when(copybookService.resolve(any(), any(), anyString(), anyString(), anyBoolean()))
+        .thenReturn(new ResultWithErrors<>(copybook, Collections.emptyList()));
+    when(grammarPreprocessor.preprocess(any()))
+        .thenReturn(new ResultWithErrors<>(new CopybooksRepository(), Collections.emptyList()));
+    when(messageService.getMessage(anyString(), any())).thenReturn("message");
+  }
+
+  @Test
+  void testSameReplacingReusesTheExpansion() {
+    String first = expand("       COPY CPY REPLACING ==ITEM-A== BY ==ITEM-B==.");
+    String second = expand("       COPY CPY REPLACING ==ITEM-A== BY ==ITEM-B==.");
+
+    assertEquals(first, second);
+    assertTrue(second.contains("ITEM-B"));
+    verify(grammarPreprocessor, times(1)).preprocess(any());
+  }
+
+  @Test
+  void testOtherReplacingMissesTheCache() {
+    expand("       COPY CPY REPLACING ==ITEM-A== BY ==ITEM-B==.");
+    String other = expand("       COPY CPY REPLACING ==ITEM-A== BY ==ITEM-C==.");
+
+    assertTrue(other.contains("ITEM-C"));
+    verify(grammarPreprocessor, times(2)).preprocess(any());
+  }
+
+  private String expand(String text) {
+    ExtendedDocument document = new ExtendedDocument(text, PROGRAM_URI);
+    CopybookPreprocessorService service = new CopybookPreprocessorService(PROGRAM_URI, grammarPreprocessor, document,
+        copybookService, CopybookProcessingMode.ENABLED, new CopybooksRepository(), new CopybookHierarchy(),
+        messageService, new ReplacingServiceImpl(messageService), expansionCache);
+    CobolPreprocessor parser = new CobolPreprocessor(new CommonTokenStream(new CobolPreprocessorLexer(CharStreams.fromString(text))));
+    new ParseTreeWalker().walk(new CobolPreprocessorBaseListener() {
+      @Override
+      public void exitCopyStatement(CobolPreprocessor.CopyStatementContext ctx) {
+        service.addCopybook(ctx, ctx.copySource(), 8, null);
+      }
+    }, parser.startRule());
+    document.commitTransformations();
+    return document.toString();
+  }
+}
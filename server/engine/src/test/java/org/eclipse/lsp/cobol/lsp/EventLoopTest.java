@@ -15,12 +15,39 @@
 package org.eclipse.lsp.cobol.lsp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.lsp.cobol.lsp.events.queries.CompletionQuery;
+import org.eclipse.lsp.cobol.lsp.events.queries.DocumentHighlightQuery;
+import org.eclipse.lsp.cobol.lsp.events.queries.HoverLspQuery;
+import org.eclipse.lsp.cobol.lsp.handlers.text.CompletionHandler;
+import org.eclipse.lsp.cobol.lsp.handlers.text.DocumentHighlightHandler;
+import org.eclipse.lsp.cobol.lsp.handlers.text.HoverHandler;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.DocumentHighlightParams;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,4 +88,186 @@ class EventLoopTest {
     });
     assertEquals(initResult, result.get(1, TimeUnit.SECONDS));
   }
+
+  @Test
+  void testParkedQueryDoesNotBlockOthers() throws ExecutionException, InterruptedException, TimeoutException {
+    AtomicBoolean ready = new AtomicBoolean();
+    CompletableFuture<Void> change = new CompletableFuture<>();
+    LspEventDependency dependency = new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        return ready.get();
+      }
+
+      @Override
+      public CompletableFuture<?> onChange() {
+        return change;
+      }
+    };
+    CompletableFuture<String> waiting = messageBroker.query(new TestQuery("waiting", Collections.singletonList(dependency), null));
+    CompletableFuture<String> other = messageBroker.query(new TestQuery("other", Collections.emptyList(), null));
+
+    assertEquals("other", other.get(1, TimeUnit.SECONDS));
+    assertFalse(waiting.isDone());
+
+    ready.set(true);
+    change.complete(null);
+    assertEquals("waiting", waiting.get(1, TimeUnit.SECONDS));
+    assertTrue(consumer.getQueryWaitMetrics().getStatistics().get("TestQuery").getCount() >= 2);
+  }
+
+  @Test
+  void testSupersededQueryIsCanceled() throws ExecutionException, InterruptedException, TimeoutException {
+    CompletableFuture<Void> change = new CompletableFuture<>();
+    AtomicBoolean ready = new AtomicBoolean();
+    LspEventDependency dependency = new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        return ready.get();
+      }
+
+      @Override
+      public CompletableFuture<?> onChange() {
+        return change;
+      }
+    };
+    CompletableFuture<String> older = messageBroker.query(new TestQuery("older", Collections.singletonList(dependency), "hover#uri"));
+    CompletableFuture<String> newer = messageBroker.query(new TestQuery("newer", Collections.emptyList(), "hover#uri"));
+
+    assertEquals("newer", newer.get(1, TimeUnit.SECONDS));
+    ready.set(true);
+    change.complete(null);
+    assertThrows(CancellationException.class, () -> older.get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testParkedQueriesAreReleasedInArrivalOrder() throws ExecutionException, InterruptedException, TimeoutException {
+    AtomicBoolean ready = new AtomicBoolean();
+    CompletableFuture<Void> change = new CompletableFuture<>();
+    LspEventDependency dependency = new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        return ready.get();
+      }
+
+      @Override
+      public CompletableFuture<?> onChange() {
+        return change;
+      }
+    };
+    List<String> executed = new CopyOnWriteArrayList<>();
+    List<CompletableFuture<String>> results = new ArrayList<>();
+    for (String value : Arrays.asList("first", "second", "third")) {
+      results.add(messageBroker.query(new TestQuery(value, Collections.singletonList(dependency), null, executed)));
+    }
+    assertEquals("other", messageBroker.query(new TestQuery("other", Collections.emptyList(), null)).get(1, TimeUnit.SECONDS));
+
+    ready.set(true);
+    change.complete(null);
+    for (CompletableFuture<String> result : results) {
+      result.get(1, TimeUnit.SECONDS);
+    }
+    assertEquals(Arrays.asList("first", "second", "third"), executed);
+  }
+
+  @Test
+  void testQueriesAtOtherPositionsAreNotSuperseded() throws Exception {
+    AtomicBoolean ready = new AtomicBoolean();
+    CompletableFuture<Void> change = new CompletableFuture<>();
+    LspEventDependency dependency = new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        return ready.get();
+      }
+
+      @Override
+      public CompletableFuture<?> onChange() {
+        return change;
+      }
+    };
+    HoverParams first = new HoverParams(new TextDocumentIdentifier("uri"), new Position(1, 1));
+    HoverParams second = new HoverParams(new TextDocumentIdentifier("uri"), new Position(2, 2));
+    HoverHandler hoverHandler = mock(HoverHandler.class);
+    when(hoverHandler.getDependencies(first)).thenReturn(ImmutableList.of(dependency));
+    when(hoverHandler.getDependencies(second)).thenReturn(ImmutableList.of());
+    when(hoverHandler.hover(first)).thenReturn(new Hover(new MarkupContent("plaintext", "first")));
+    when(hoverHandler.hover(second)).thenReturn(new Hover(new MarkupContent("plaintext", "second")));
+
+    CompletableFuture<Hover> older = messageBroker.query(new HoverLspQuery(first, hoverHandler));
+    CompletableFuture<Hover> newer = messageBroker.query(new HoverLspQuery(second, hoverHandler));
+    assertEquals("second", newer.get(1, TimeUnit.SECONDS).getContents().getRight().getValue());
+
+    ready.set(true);
+    change.complete(null);
+    assertEquals("first", older.get(1, TimeUnit.SECONDS).getContents().getRight().getValue());
+  }
+
+  @Test
+  void testSupersedeKeysIncludeThePosition() {
+    TextDocumentIdentifier document = new TextDocumentIdentifier("uri");
+    CompletionHandler completionHandler = mock(CompletionHandler.class);
+    DocumentHighlightHandler highlightHandler = mock(DocumentHighlightHandler.class);
+    HoverHandler hoverHandler = mock(HoverHandler.class);
+
+    assertEquals(
+        new CompletionQuery(new CompletionParams(document, new Position(1, 1)), completionHandler).getSupersedeKey(),
+        new CompletionQuery(new CompletionParams(document, new Position(1, 1)), completionHandler).getSupersedeKey());
+    assertNotEquals(
+        new CompletionQuery(new CompletionParams(document, new Position(1, 1)), completionHandler).getSupersedeKey(),
+        new CompletionQuery(new CompletionParams(document, new Position(1, 2)), completionHandler).getSupersedeKey());
+    assertNotEquals(
+        new DocumentHighlightQuery(new DocumentHighlightParams(document, new Position(1, 1)), highlightHandler)
+            .getSupersedeKey(),
+        new DocumentHighlightQuery(new DocumentHighlightParams(document, new Position(2, 1)), highlightHandler)
+            .getSupersedeKey());
+    assertNotEquals(
+        new HoverLspQuery(new HoverParams(document, new Position(1, 1)), hoverHandler).getSupersedeKey(),
+        new HoverLspQuery(new HoverParams(document, new Position(2, 1)), hoverHandler).getSupersedeKey());
+  }
+
+  private static class TestQuery implements LspQuery<String> {
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private final String value;
+    private final List<LspEventDependency> dependencies;
+    private final String supersedeKey;
+
+    private final List<String> executed;
+
+    TestQuery(String value, List<LspEventDependency> dependencies, String supersedeKey) {
+      this(value, dependencies, supersedeKey, new ArrayList<>());
+    }
+
+    TestQuery(String value, List<LspEventDependency> dependencies, String supersedeKey, List<String> executed) {
+      this.value = value;
+      this.dependencies = dependencies;
+      this.supersedeKey = supersedeKey;
+      this.executed = executed;
+    }
+
+    @Override
+    public String getDocumentUri() {
+      return "uri";
+    }
+
+    @Override
+    public String getSupersedeKey() {
+      return supersedeKey;
+    }
+
+    @Override
+    public String query() {
+      executed.add(value);
+      return value;
+    }
+
+    @Override
+    public CompletableFuture<String> getResult() {
+      return result;
+    }
+
+    @Override
+    public List<LspEventDependency> getDependencies() {
+      return dependencies;
+    }
+  }
 }
@@ -19,12 +19,12 @@ import static org.mockito.Mockito.*;
 
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.stream.Stream;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.file.WorkspaceFileService;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp.cobol.lsp.analysis.AnalysisState;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
@@ -72,7 +72,7 @@ class SourceUnitGraphTest {
     String copy3Uri = "file://copy3.cpy";
     SourceUnitGraph sourceUnitGraph =
         new SourceUnitGraph(fileService, asyncAnalysisService, uriDecodeService);
-    Node rootNode = mock(Node.class);
+    Node rootNode = new RootNode();
     when(fileService.getPathFromURI(anyString())).thenReturn(Paths.get(""));
     when(fileService.getContentByPath(any()))
         .thenReturn("COPY 1 TEXT")
@@ -96,7 +96,9 @@ class SourceUnitGraphTest {
             new Location(copy2Uri, new Range(new Position(0, 7), new Position(0, 16))),
             "COPY3",
             copy3Uri);
-    when(rootNode.getDepthFirstStream()).thenReturn(Stream.of(copyNode1, copyNode2, copyNode3));
+    rootNode.addChild(copyNode1);
+    rootNode.addChild(copyNode2);
+    rootNode.addChild(copyNode3);
     AnalysisResult analysisResult = AnalysisResult.builder().rootNode(rootNode).build();
     CobolDocumentModel model = new CobolDocumentModel(URI, "text", analysisResult);
     sourceUnitGraph.notifyState(
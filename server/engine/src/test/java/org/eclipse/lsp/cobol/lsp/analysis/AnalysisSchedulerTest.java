@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link AnalysisScheduler} */
+class AnalysisSchedulerTest {
+
+  @Test
+  void testOrderingAndPriority() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+      await(release);
+      order.add("A1");
+    }, scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE));
+    CompletableFuture<Void> background = CompletableFuture.runAsync(() -> order.add("B"),
+        scheduler.executorFor("B", AnalysisScheduler.Priority.BACKGROUND));
+    CompletableFuture<Void> interactive = CompletableFuture.runAsync(() -> order.add("C"),
+        scheduler.executorFor("C", AnalysisScheduler.Priority.INTERACTIVE));
+    CompletableFuture<Void> second = CompletableFuture.runAsync(() -> order.add("A2"),
+        scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE));
+
+    release.countDown();
+    CompletableFuture.allOf(first, background, interactive, second).get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList("A1", "A2", "C", "B"), order);
+  }
+
+  @Test
+  void testCancelDropsPendingAnalyses() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    CountDownLatch started = new CountDownLatch(1);
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+        order.add("finished");
+      } catch (InterruptedException e) {
+        order.add("interrupted");
+      }
+    }, scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE));
+    CompletableFuture<Void> pending = CompletableFuture.runAsync(() -> order.add("pending"),
+        scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE));
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    scheduler.cancel("A", 5, TimeUnit.SECONDS);
+    running.get(5, TimeUnit.SECONDS);
+    CompletableFuture.runAsync(() -> order.add("next"),
+        scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE)).get(5, TimeUnit.SECONDS);
+
+    assertEquals(Arrays.asList("interrupted", "next"), order);
+    assertFalse(pending.isDone());
+  }
+
+  @Test
+  void testResubmittedAnalysisWaitsForTheCancelledOne() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(2);
+    List<String> order = new CopyOnWriteArrayList<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+      started.countDown();
+      // ignores the interruption like an analysis blocked on a client request
+      while (true) {
+        try {
+          release.await();
+          break;
+        } catch (InterruptedException e) {
+          order.add("interrupted");
+        }
+      }
+      order.add("cancelled finished");
+    }, scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE));
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Void> stopped = scheduler.cancelAll(Collections.singletonList("A"));
+    CompletableFuture<Void> next = CompletableFuture.runAsync(() -> order.add("next"),
+        scheduler.executorFor("A", AnalysisScheduler.Priority.INTERACTIVE));
+
+    Thread.sleep(200);
+    assertFalse(next.isDone());
+    assertFalse(stopped.isDone());
+
+    release.countDown();
+    CompletableFuture.allOf(running, stopped, next).get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList("interrupted", "cancelled finished", "next"), order);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.analysis;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.CopybookExpansionCache;
+import org.eclipse.lsp.cobol.lsp.SourceUnitGraph;
+import org.eclipse.lsp.cobol.service.AnalysisService;
+import org.eclipse.lsp.cobol.service.DocumentModelService;
+import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link AsyncAnalysisService} */
+class AsyncAnalysisServiceTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+
+  private final DocumentModelService documentModelService = new DocumentModelService();
+  private final AnalysisService analysisService = mock(AnalysisService.class);
+  private AsyncAnalysisService asyncAnalysisService;
+
+  @BeforeEach
+  void init() {
+    asyncAnalysisService = new AsyncAnalysisService(documentModelService, analysisService,
+        mock(CopybookService.class), mock(SubroutineService.class), mock(Communications.class),
+        mock(CopybookExpansionCache.class));
+  }
+
+  @Test
+  void testReanalysisUsesTheLatestEdit() throws Exception {
+    asyncAnalysisService.openDocument(URI, "TEXT 1");
+    asyncAnalysisService.scheduleAnalysis(URI, "TEXT 1", 1, true, SourceUnitGraph.EventSource.IDE)
+        .get(5, TimeUnit.SECONDS);
+
+    // the edit is synced, but the model keeps the analysed text until its analysis finishes
+    asyncAnalysisService.applyChanges(URI,
+        Collections.singletonList(new TextDocumentContentChangeEvent("TEXT 2")));
+    asyncAnalysisService.reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class)).get(5, TimeUnit.SECONDS);
+
+    verify(analysisService, timeout(5000)).analyzeDocument(URI, "TEXT 2", false);
+    verify(analysisService, never()).analyzeDocument(URI, "TEXT 1", false);
+  }
+
+  @Test
+  void testCopybookChangeReanalysesTheLatestEdit() throws Exception {
+    asyncAnalysisService.openDocument(URI, "TEXT 1");
+    asyncAnalysisService.scheduleAnalysis(URI, "TEXT 1", 1, true, SourceUnitGraph.EventSource.IDE)
+        .get(5, TimeUnit.SECONDS);
+
+    asyncAnalysisService.applyChanges(URI,
+        Collections.singletonList(new TextDocumentContentChangeEvent("TEXT 2")));
+    asyncAnalysisService.reanalyseCopybooksAssociatedPrograms(Collections.singletonList(URI),
+        "file:///c:/workspace/COPY.cpy", "", SourceUnitGraph.EventSource.IDE);
+
+    verify(analysisService, timeout(5000)).analyzeDocument(URI, "TEXT 2", false);
+  }
+}
@@ -26,6 +26,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonPrimitive;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.ParserRuntimeService;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.service.AnalysisService;
 import org.eclipse.lsp.cobol.service.WatcherService;
@@ -47,6 +48,7 @@ class InitializedHandlerTest {
     CopybookNameService copybookNameService = mock(CopybookNameService.class);
     MessageService messageService = mock(MessageService.class);
     Keywords keywords = mock(Keywords.class);
+    ParserRuntimeService parserRuntimeService = mock(ParserRuntimeService.class);
 
     DialectService dialectService = mock(DialectService.class);
     when(dialectService.getWatchingFolderSettings()).thenReturn(ImmutableList.of("dialect"));
@@ -62,13 +64,15 @@ class InitializedHandlerTest {
             settingsService,
             localeStore,
             mock(AnalysisService.class),
-            messageService);
+            messageService,
+            parserRuntimeService);
     initializedHandler.initialized(new InitializedParams());
     verify(watchingService).watchConfigurationChange();
     verify(settingsService).fetchConfiguration(LOCALE.label);
     verify(settingsService).fetchConfiguration(LOGGING_LEVEL.label);
     verify(settingsService).fetchConfiguration(CPY_EXTENSIONS.label);
     verify(localeStore).notifyLocaleStore();
+    verify(parserRuntimeService).warmUp();
   }
 
   private void prepareSettingsService(SettingsService settingsService, LocaleStore localeStore) {
@@ -25,16 +25,23 @@ import static org.mockito.Mockito.*;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonPrimitive;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.lsp.*;
+import org.eclipse.lsp.cobol.lsp.analysis.AnalysisCache;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
+import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.service.CobolLSPServerStateService;
+import org.eclipse.lsp.cobol.service.DocumentModelService;
 import org.eclipse.lsp.cobol.service.WatcherService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp.cobol.service.settings.SettingsServiceImpl;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
@@ -66,7 +73,10 @@ class DidChangeConfigurationHandlerTest {
                         localeStore,
                         keywords,
                         messageService,
-                        asyncAnalysisService);
+                        asyncAnalysisService,
+                        mock(DialectService.class),
+                        mock(ConfigurationService.class),
+                        mock(DocumentModelService.class));
 
 
         when(copybookNameService.copybookLocalFolders(null))
@@ -75,13 +85,15 @@ class DidChangeConfigurationHandlerTest {
                 .thenReturn(completedFuture(singletonList("LOCALE")));
         when(settingsService.fetchConfiguration(LOGGING_LEVEL.label))
                 .thenReturn(completedFuture(singletonList("INFO")));
+        when(settingsService.fetchConfigurations(any(), anyList()))
+                .thenReturn(completedFuture(emptyList()));
         when(watchingService.getWatchingFolders()).thenReturn(emptyList());
         when(localeStore.notifyLocaleStore()).thenReturn(e -> {});
 
         didChangeConfigurationHandler.didChangeConfiguration(new DidChangeConfigurationParams(new Object()));
         verify(watchingService).addWatchers(emptyList());
         verify(watchingService).removeWatchers(emptyList());
-        verify(asyncAnalysisService).reanalyseOpenedPrograms();
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
     }
 
     /** Test no watchers added or removed when the path list not changed */
@@ -105,7 +117,10 @@ class DidChangeConfigurationHandlerTest {
                         localeStore,
                         keywords,
                         messageService,
-                        asyncAnalysisService);
+                        asyncAnalysisService,
+                        mock(DialectService.class),
+                        mock(ConfigurationService.class),
+                        mock(DocumentModelService.class));
 
         String path = "foo/bar";
 
@@ -115,13 +130,15 @@ class DidChangeConfigurationHandlerTest {
                 .thenReturn(completedFuture(singletonList("LOCALE")));
         when(settingsService.fetchConfiguration(LOGGING_LEVEL.label))
                 .thenReturn(completedFuture(singletonList("INFO")));
+        when(settingsService.fetchConfigurations(any(), anyList()))
+                .thenReturn(completedFuture(emptyList()));
         when(watchingService.getWatchingFolders()).thenReturn(singletonList(path));
         when(localeStore.notifyLocaleStore()).thenReturn(e -> {});
 
         didChangeConfigurationHandler.didChangeConfiguration(new DidChangeConfigurationParams(new Object()));
         verify(watchingService).addWatchers(emptyList());
         verify(watchingService).removeWatchers(emptyList());
-        verify(asyncAnalysisService).reanalyseOpenedPrograms();
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
         verify(localeStore).notifyLocaleStore();
     }
 
@@ -146,7 +163,10 @@ class DidChangeConfigurationHandlerTest {
                         localeStore,
                         keywords,
                         messageService,
-                        asyncAnalysisService);
+                        asyncAnalysisService,
+                        mock(DialectService.class),
+                        mock(ConfigurationService.class),
+                        mock(DocumentModelService.class));
 
         ArgumentCaptor<List<String>> watcherCaptor = forClass(List.class);
         String path = "foo/bar";
@@ -157,6 +177,8 @@ class DidChangeConfigurationHandlerTest {
                 .thenReturn(completedFuture(singletonList("LOCALE")));
         when(settingsService.fetchConfiguration(LOGGING_LEVEL.label))
                 .thenReturn(completedFuture(singletonList("INFO")));
+        when(settingsService.fetchConfigurations(any(), anyList()))
+                .thenReturn(completedFuture(emptyList()));
         when(watchingService.getWatchingFolders()).thenReturn(emptyList());
         when(localeStore.notifyLocaleStore()).thenReturn(e -> {});
 
@@ -164,7 +186,7 @@ class DidChangeConfigurationHandlerTest {
 
         verify(watchingService).addWatchers(watcherCaptor.capture());
         verify(watchingService).removeWatchers(emptyList());
-        verify(asyncAnalysisService).reanalyseOpenedPrograms();
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
         verify(localeStore).notifyLocaleStore();
 
         assertEquals(path, watcherCaptor.getValue().get(0));
@@ -191,7 +213,10 @@ class DidChangeConfigurationHandlerTest {
                         localeStore,
                         keywords,
                         messageService,
-                        asyncAnalysisService);
+                        asyncAnalysisService,
+                        mock(DialectService.class),
+                        mock(ConfigurationService.class),
+                        mock(DocumentModelService.class));
         ArgumentCaptor<List<String>> watcherCaptor = forClass(List.class);
         JsonArray arr = new JsonArray();
         String path = "foo/bar";
@@ -203,13 +228,111 @@ class DidChangeConfigurationHandlerTest {
                 .thenReturn(completedFuture(singletonList("LOCALE")));
         when(settingsService.fetchConfiguration(LOGGING_LEVEL.label))
                 .thenReturn(completedFuture(singletonList("INFO")));
+        when(settingsService.fetchConfigurations(any(), anyList()))
+                .thenReturn(completedFuture(emptyList()));
         when(watchingService.getWatchingFolders()).thenReturn(singletonList(path));
         when(localeStore.notifyLocaleStore()).thenReturn(e -> {});
 
         didChangeConfigurationHandler.didChangeConfiguration(new DidChangeConfigurationParams(localeStore));
         verify(watchingService).addWatchers(emptyList());
         verify(watchingService).removeWatchers(watcherCaptor.capture());
-        verify(asyncAnalysisService).reanalyseOpenedPrograms();
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
         assertEquals(path, watcherCaptor.getValue().get(0));
     }
+
+    /** Test only the caches affected by the changed settings are reported for invalidation */
+    @Test
+    void testChangeConfigurationInvalidatesAffectedCachesOnly() {
+        SettingsService settingsService = mock(SettingsService.class);
+        WatcherService watchingService = mock(WatcherService.class);
+        LocaleStore localeStore = mock(LocaleStore.class);
+        CopybookNameService copybookNameService = mock(CopybookNameService.class);
+        AsyncAnalysisService asyncAnalysisService = mock(AsyncAnalysisService.class);
+
+        DidChangeConfigurationHandler didChangeConfigurationHandler =
+                new DidChangeConfigurationHandler(
+                        new CobolLSPServerStateService(),
+                        settingsService,
+                        copybookNameService,
+                        watchingService,
+                        localeStore,
+                        mock(Keywords.class),
+                        mock(MessageService.class),
+                        asyncAnalysisService,
+                        mock(DialectService.class),
+                        mock(ConfigurationService.class),
+                        mock(DocumentModelService.class));
+
+        when(copybookNameService.copybookLocalFolders(null)).thenReturn(completedFuture(emptyList()));
+        when(settingsService.fetchConfiguration(LOCALE.label)).thenReturn(completedFuture(singletonList("LOCALE")));
+        when(settingsService.fetchConfiguration(LOGGING_LEVEL.label)).thenReturn(completedFuture(singletonList("INFO")));
+        when(watchingService.getWatchingFolders()).thenReturn(emptyList());
+        when(localeStore.notifyLocaleStore()).thenReturn(e -> {});
+        when(settingsService.fetchConfigurations(isNull(), anyList()))
+                .thenReturn(completedFuture(settings("sub", "cpy", "")))
+                .thenReturn(completedFuture(settings("sub", "cpy", "")))
+                .thenReturn(completedFuture(settings("sub2", "cpy", "")))
+                .thenReturn(completedFuture(settings("sub2", "cpy", "XMLPARSE(COMPAT)")));
+
+        DidChangeConfigurationParams params = new DidChangeConfigurationParams(new Object());
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.noneOf(AnalysisCache.class));
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.of(AnalysisCache.SUBROUTINES));
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.of(AnalysisCache.COPYBOOKS));
+    }
+
+    /** Test a change of the settings of an opened document scope is detected while the global ones stay the same */
+    @Test
+    void testChangeConfigurationComparesDocumentScopes() {
+        SettingsService settingsService = mock(SettingsService.class);
+        WatcherService watchingService = mock(WatcherService.class);
+        LocaleStore localeStore = mock(LocaleStore.class);
+        CopybookNameService copybookNameService = mock(CopybookNameService.class);
+        AsyncAnalysisService asyncAnalysisService = mock(AsyncAnalysisService.class);
+        DocumentModelService documentModelService = mock(DocumentModelService.class);
+        String uri = "file:///c:/workspace/folder/PRG.cbl";
+
+        DidChangeConfigurationHandler didChangeConfigurationHandler =
+                new DidChangeConfigurationHandler(
+                        new CobolLSPServerStateService(),
+                        settingsService,
+                        copybookNameService,
+                        watchingService,
+                        localeStore,
+                        mock(Keywords.class),
+                        mock(MessageService.class),
+                        asyncAnalysisService,
+                        mock(DialectService.class),
+                        mock(ConfigurationService.class),
+                        documentModelService);
+
+        when(copybookNameService.copybookLocalFolders(null)).thenReturn(completedFuture(emptyList()));
+        when(settingsService.fetchConfiguration(LOCALE.label)).thenReturn(completedFuture(singletonList("LOCALE")));
+        when(settingsService.fetchConfiguration(LOGGING_LEVEL.label)).thenReturn(completedFuture(singletonList("INFO")));
+        when(watchingService.getWatchingFolders()).thenReturn(emptyList());
+        when(localeStore.notifyLocaleStore()).thenReturn(e -> {});
+        when(documentModelService.getAllOpened()).thenReturn(singletonList(new CobolDocumentModel(uri, "")));
+        when(settingsService.fetchConfigurations(isNull(), anyList()))
+                .thenReturn(completedFuture(settings("sub", "cpy", "")));
+        when(settingsService.fetchConfigurations(eq(uri), anyList()))
+                .thenReturn(completedFuture(settings("sub", "cpy", "")))
+                .thenReturn(completedFuture(settings("sub", "cpy", "")))
+                .thenReturn(completedFuture(settings("sub", "folder-cpy", "")));
+
+        DidChangeConfigurationParams params = new DidChangeConfigurationParams(new Object());
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.noneOf(AnalysisCache.class));
+        didChangeConfigurationHandler.didChangeConfiguration(params);
+        verify(asyncAnalysisService).reanalyseOpenedPrograms(EnumSet.of(AnalysisCache.COPYBOOKS));
+    }
+
+    private static List<Object> settings(String subroutinePaths, String copybookPaths, String compilerOptions) {
+        return Arrays.asList(subroutinePaths, copybookPaths, "dsn", "ext", "dialects", "registry", compilerOptions, "true");
+    }
 }
@@ -24,12 +24,18 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullSource;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This test collects the time that the Language Engine needs to parse the given text from the
- * positive tests set. The result outputs to the console in the form "TEST.cbl 100 10" where
- * "TEST.cbl" is a file name, "100" is the length of the file in chars and "10" is the parsing time.
+ * positive tests set. The result outputs to the console in the form "TEST.cbl 100 10 2048" where
+ * "TEST.cbl" is a file name, "100" is the length of the file in chars, "10" is the parsing time and
+ * "2048" is the peak heap usage in KB during the analysis, that is dominated by the text mapping model
+ * on programs with many copybooks.
  * Disabled by default, to enable provide <code>-Dtests.perf=true</code> as a system property for
  * the run configuration.
  */
@@ -50,14 +56,29 @@ class PerformanceTest extends FileBasedTest {
       String name = text.getFileName();
       String fullText = text.getFullText();
 
+      resetPeakMemory();
       long start = System.currentTimeMillis();
       List<Diagnostic> result =
           UseCaseUtils.analyzeForErrors(
               UseCase.builder().documentUri(name).text(fullText).copybooks(getCopybooks(cobolTextRegistry)).build());
       long stop = System.currentTimeMillis();
+      long peakMemory = peakMemory();
 
       assertNoSyntaxErrorsFound(result, name);
-      System.out.printf("%s %d %d\n", name, fullText.length(), stop - start);
+      System.out.printf("%s %d %d %d\n", name, fullText.length(), stop - start, peakMemory / 1024);
     }
   }
+
+  private static void resetPeakMemory() {
+    System.gc();
+    heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+  private static long peakMemory() {
+    return heapPools().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+  }
+
+  private static Stream<MemoryPoolMXBean> heapPools() {
+    return ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP);
+  }
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.model.tree.NodeIndex;
 import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookIdentificationService;
 import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
@@ -97,7 +98,7 @@ class AnalysisServiceTest {
   @Test
   void testAnalyzeDocument_program() {
     AnalysisResult result = mock(AnalysisResult.class);
-    when(result.getRootNode()).thenReturn(new RootNode());
+    when(result.getNodeIndex()).thenReturn(NodeIndex.build(new RootNode()));
 
     String uri = UUID.randomUUID().toString();
     String text = UUID.randomUUID().toString();
@@ -166,4 +166,38 @@ class CachingConfigurationServiceTest {
     CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
     assertEquals(configuration.getDialectWatchingFolders().get(0), expectedResult);
   }
+
+  @Test
+  void testConfigurationIsCachedUntilInvalidated() {
+    SettingsService settingsService = mock(SettingsService.class);
+    when(settingsService.fetchConfigurations(anyString(), anyList()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    DialectService dialectService = mock(DialectService.class);
+    CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
+
+    configuration.getConfig("scope", CopybookProcessingMode.ENABLED);
+    configuration.getConfig("scope", CopybookProcessingMode.DISABLED);
+    configuration.getSubroutineDirectories();
+    assertEquals(2, configuration.getClientRequestCount());
+
+    configuration.invalidateConfiguration();
+    configuration.getConfig("scope", CopybookProcessingMode.ENABLED);
+    assertEquals(3, configuration.getClientRequestCount());
+    verify(settingsService, times(2)).fetchConfigurations(eq("scope"), anyList());
+  }
+
+  @Test
+  void testNumberOfCachedScopesIsLimited() {
+    SettingsService settingsService = mock(SettingsService.class);
+    when(settingsService.fetchConfigurations(anyString(), anyList()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    CachingConfigurationService configuration =
+        new CachingConfigurationService(settingsService, mock(DialectService.class));
+
+    for (int i = 0; i < 1000; i++) {
+      configuration.getConfig("scope" + i, CopybookProcessingMode.ENABLED);
+    }
+    configuration.getConfig("scope0", CopybookProcessingMode.ENABLED);
+    assertEquals(1001, configuration.getClientRequestCount());
+  }
 }
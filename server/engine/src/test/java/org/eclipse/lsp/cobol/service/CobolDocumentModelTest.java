@@ -14,12 +14,18 @@
  */
 package org.eclipse.lsp.cobol.service;
 
+import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
+import org.eclipse.lsp.cobol.service.copybooks.CopybookIdentificationService;
 import org.eclipse.lsp4j.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 /** This test check functions of the {@link CobolDocumentModel}. */
 class CobolDocumentModelTest {
@@ -123,6 +129,33 @@ class CobolDocumentModelTest {
     assertEquals(1, model.getLines().size());
   }
 
+  @Test
+  void testCopybookClassificationIsComputedOncePerRevision() {
+    CopybookIdentificationService identificationService = mock(CopybookIdentificationService.class);
+    when(identificationService.isCopybook(any(), any(), any())).thenReturn(false, true);
+    List<String> extensions = ImmutableList.of(".cpy");
+    CobolDocumentModel model = new CobolDocumentModel("", TEXT);
+
+    assertFalse(model.isCopybook(extensions, identificationService));
+    assertFalse(model.isCopybook(extensions, identificationService));
+    verify(identificationService, times(1)).isCopybook("", TEXT, extensions);
+
+    model.update("       01 A PIC X.");
+    assertTrue(model.isCopybook(extensions, identificationService));
+    assertTrue(model.isCopybook(extensions, identificationService));
+    verify(identificationService, times(2)).isCopybook(any(), any(), any());
+  }
+
+  @Test
+  void testCopybookClassificationFollowsExtensionConfig() {
+    CopybookIdentificationService identificationService = mock(CopybookIdentificationService.class);
+    CobolDocumentModel model = new CobolDocumentModel("", TEXT);
+
+    model.isCopybook(ImmutableList.of(".cpy"), identificationService);
+    model.isCopybook(ImmutableList.of(".copy"), identificationService);
+    verify(identificationService, times(2)).isCopybook(any(), any(), any());
+  }
+
   private String retrieveFirstTextLine() {
     return TEXT.substring(0, getFirstLineBreak());
   }
@@ -34,6 +34,7 @@ import java.util.concurrent.TimeoutException;
 import org.eclipse.lsp.cobol.common.error.ErrorCodes;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.ParserRuntimeService;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.lsp.*;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
@@ -123,7 +124,7 @@ class CobolLanguageServerTest {
                     null,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageBroker),
+                    new ShutdownHandler(stateService, lspMessageBroker, mock(ParserRuntimeService.class)),
                     new InitializeHandler(watchingService),
                     initializedHandler,
                     lspEventConsumer);
@@ -132,7 +133,7 @@ class CobolLanguageServerTest {
     server.initialized(new InitializedParams());
     waitingQuery(lspMessageBroker).join();
     lspMessageBroker.stop();
-    verify(initializedHandler).initialized(any(InitializedParams.class));
+    verify(initializedHandler, timeout(5000)).initialized(any(InitializedParams.class));
   }
 
   private static CompletableFuture<List<Either<Command, CodeAction>>> waitingQuery(LspMessageBroker lspMessageBroker) {
@@ -195,9 +196,10 @@ class CobolLanguageServerTest {
                     textService,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageBroker),
+                    new ShutdownHandler(stateService, lspMessageBroker, mock(ParserRuntimeService.class)),
                     new InitializeHandler(watchingService),
-                    new InitializedHandler(watchingService, copybookNameService, keywords, settingsService, localeStore, analysisService, messageService),
+                    new InitializedHandler(watchingService, copybookNameService, keywords, settingsService, localeStore, analysisService, messageService,
+                        mock(ParserRuntimeService.class)),
                     lspEventConsumer);
 
     server.initialized(new InitializedParams());
@@ -240,9 +242,9 @@ class CobolLanguageServerTest {
                     null,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageBroker),
+                    new ShutdownHandler(stateService, lspMessageBroker, mock(ParserRuntimeService.class)),
                     new InitializeHandler(mock(WatcherServiceImpl.class)),
-                    new InitializedHandler(mock(WatcherServiceImpl.class), null, null, null, null, null, null),
+                    new InitializedHandler(mock(WatcherServiceImpl.class), null, null, null, null, null, null, null),
                     lspEventConsumer);
 
     try {
@@ -301,9 +303,9 @@ class CobolLanguageServerTest {
                     textDocumentService,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageBroker),
+                    new ShutdownHandler(stateService, lspMessageBroker, mock(ParserRuntimeService.class)),
                     new InitializeHandler(null),
-                    new InitializedHandler(null, null, null, null, null, null, null),
+                    new InitializedHandler(null, null, null, null, null, null, null, null),
                     lspEventConsumer);
     assertEquals(1, stateService.getExitCode());
     server.shutdown();
@@ -315,7 +317,7 @@ class CobolLanguageServerTest {
   }
 
   private void checkOnlySupportedCapabilitiesAreSet(ServerCapabilities capabilities) {
-    assertEquals(TextDocumentSyncKind.Full, capabilities.getTextDocumentSync().getLeft());
+    assertEquals(TextDocumentSyncKind.Incremental, capabilities.getTextDocumentSync().getLeft());
     assertTrue(capabilities.getWorkspace().getWorkspaceFolders().getSupported());
     assertTrue(capabilities.getDefinitionProvider().getLeft());
     assertTrue(capabilities.getReferencesProvider().getLeft());
@@ -327,7 +329,7 @@ class CobolLanguageServerTest {
     assertEquals(ImmutableList.of(ErrorCodes.MISSING_COPYBOOK.getLabel()),
             capabilities.getExecuteCommandProvider().getCommands());
 
-    assertFalse(capabilities.getCompletionProvider().getResolveProvider());
+    assertTrue(capabilities.getCompletionProvider().getResolveProvider());
     assertNull(capabilities.getWorkspace().getWorkspaceFolders().getChangeNotifications());
     assertNull(capabilities.getDocumentRangeFormattingProvider());
     assertTrue(capabilities.getHoverProvider().getLeft());
@@ -24,6 +24,7 @@ import java.util.UUID;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +48,19 @@ class DocumentModelServiceTest {
     assertTrue(service.get(uri).isOpened());
   }
 
+  @Test
+  void testSyncedTextIsAheadOfTheModel() {
+    String uri = UUID.randomUUID().toString();
+    service.openDocument(uri, "TEXT 1");
+    service.applyChanges(uri, ImmutableList.of(new TextDocumentContentChangeEvent("TEXT 2")));
+
+    assertEquals("TEXT 2", service.getSyncedText(uri));
+    assertEquals("TEXT 1", service.get(uri).getText());
+
+    service.closeDocument(uri);
+    assertEquals("TEXT 1", service.getSyncedText(uri));
+  }
+
   private AnalysisResult createAnalysisResult(String uri) {
     return AnalysisResult.builder()
         .diagnostics(ImmutableMap.of(uri, ImmutableList.of(new Diagnostic())))
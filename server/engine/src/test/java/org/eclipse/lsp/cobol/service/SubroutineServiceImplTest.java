@@ -17,8 +17,13 @@ package org.eclipse.lsp.cobol.service;
 import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -72,4 +77,83 @@ public class SubroutineServiceImplTest {
     verify(languageClient, times(1)).resolveSubroutine(PRESENT_FILE);
     verify(languageClient, times(1)).resolveSubroutine(MISSING_FILE);
   }
+
+  @Test
+  void subroutinesPrefetchedInBatch() {
+    CobolLanguageClient languageClient = mock(CobolLanguageClient.class);
+    when(languageClient.resolveSubroutines(any()))
+        .thenReturn(CompletableFuture.completedFuture(Arrays.asList("URI", null)));
+
+    SubroutineService subroutineService =
+        new SubroutineServiceImpl(() -> languageClient, 3, 3, "HOURS");
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+
+    assertEquals("URI", subroutineService.getUri(PRESENT_FILE).get());
+    assertFalse(subroutineService.getUri(MISSING_FILE).isPresent());
+    verify(languageClient, times(1)).resolveSubroutines(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+    verify(languageClient, never()).resolveSubroutine(any());
+  }
+
+  @Test
+  void subroutinesPrefetchedOneByOneWhenBatchUnsupported() {
+    CobolLanguageClient languageClient = mock(CobolLanguageClient.class);
+    when(languageClient.resolveSubroutines(any())).thenThrow(new UnsupportedOperationException());
+    when(languageClient.resolveSubroutine(PRESENT_FILE)).thenReturn(CompletableFuture.completedFuture("URI"));
+    when(languageClient.resolveSubroutine(MISSING_FILE)).thenReturn(CompletableFuture.completedFuture(null));
+
+    SubroutineService subroutineService =
+        new SubroutineServiceImpl(() -> languageClient, 3, 3, "HOURS");
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+    subroutineService.invalidateCache();
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+
+    assertEquals("URI", subroutineService.getUri(PRESENT_FILE).get());
+    assertFalse(subroutineService.getUri(MISSING_FILE).isPresent());
+    verify(languageClient, times(1)).resolveSubroutines(any());
+    verify(languageClient, times(2)).resolveSubroutine(PRESENT_FILE);
+    verify(languageClient, times(2)).resolveSubroutine(MISSING_FILE);
+  }
+
+  @Test
+  void subroutinesPrefetchedInBatchAfterTransientFailure() {
+    CobolLanguageClient languageClient = mock(CobolLanguageClient.class);
+    CompletableFuture<List<String>> failed = new CompletableFuture<>();
+    failed.completeExceptionally(
+        new ResponseErrorException(new ResponseError(ResponseErrorCode.InternalError, "Failed", null)));
+    when(languageClient.resolveSubroutines(any()))
+        .thenReturn(failed)
+        .thenReturn(CompletableFuture.completedFuture(Arrays.asList("URI", null)));
+    when(languageClient.resolveSubroutine(PRESENT_FILE)).thenReturn(CompletableFuture.completedFuture("URI"));
+    when(languageClient.resolveSubroutine(MISSING_FILE)).thenReturn(CompletableFuture.completedFuture(null));
+
+    SubroutineService subroutineService =
+        new SubroutineServiceImpl(() -> languageClient, 3, 3, "HOURS");
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+    subroutineService.invalidateCache();
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+
+    assertEquals("URI", subroutineService.getUri(PRESENT_FILE).get());
+    verify(languageClient, times(2)).resolveSubroutines(any());
+    verify(languageClient, times(1)).resolveSubroutine(PRESENT_FILE);
+  }
+
+  @Test
+  void subroutinesPrefetchedOneByOneWhenBatchMethodNotFound() {
+    CobolLanguageClient languageClient = mock(CobolLanguageClient.class);
+    CompletableFuture<List<String>> unsupported = new CompletableFuture<>();
+    unsupported.completeExceptionally(
+        new ResponseErrorException(new ResponseError(ResponseErrorCode.MethodNotFound, "Unsupported", null)));
+    when(languageClient.resolveSubroutines(any())).thenReturn(unsupported);
+    when(languageClient.resolveSubroutine(PRESENT_FILE)).thenReturn(CompletableFuture.completedFuture("URI"));
+    when(languageClient.resolveSubroutine(MISSING_FILE)).thenReturn(CompletableFuture.completedFuture(null));
+
+    SubroutineService subroutineService =
+        new SubroutineServiceImpl(() -> languageClient, 3, 3, "HOURS");
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+    subroutineService.invalidateCache();
+    subroutineService.prefetch(ImmutableList.of(PRESENT_FILE, MISSING_FILE));
+
+    verify(languageClient, times(1)).resolveSubroutines(any());
+    verify(languageClient, times(2)).resolveSubroutine(PRESENT_FILE);
+  }
 }
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.*;
 
 import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonPrimitive;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -29,14 +30,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.error.ErrorCodes;
+import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.lsp.*;
+import org.eclipse.lsp.cobol.lsp.analysis.AnalysisCache;
 import org.eclipse.lsp.cobol.lsp.analysis.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.events.queries.CodeActionQuery;
 import org.eclipse.lsp.cobol.lsp.handlers.text.CodeActionHandler;
 import org.eclipse.lsp.cobol.lsp.handlers.workspace.DidChangeConfigurationHandler;
 import org.eclipse.lsp.cobol.lsp.handlers.workspace.ExecuteCommandHandler;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
+import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
+import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp.cobol.test.engine.UseCaseUtils;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -78,7 +85,10 @@ class WorkspaceServiceTest {
             null,
             null,
             messageService,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(DialectService.class),
+            mock(ConfigurationService.class),
+            mock(DocumentModelService.class));
     ExecuteCommandHandler executeCommandHandler = new ExecuteCommandHandler(stateService, asyncAnalysisService);
 
     LspMessageBroker lspMessageBroker = new LspMessageBroker();
@@ -122,7 +132,10 @@ class WorkspaceServiceTest {
             null,
             null,
             null,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(DialectService.class),
+            mock(ConfigurationService.class),
+            mock(DocumentModelService.class));
     ExecuteCommandHandler executeCommandHandler = new ExecuteCommandHandler(stateService, asyncAnalysisService);
 
     LspMessageBroker lspMessageBroker = new LspMessageBroker();
@@ -179,7 +192,49 @@ class WorkspaceServiceTest {
     workspaceService.didChangeConfiguration(didChangeConfigurationParams);
     waitingQuery(lspMessageBroker).join();
     lspMessageBroker.stop();
-    verify(didChangeConfigurationHandler).didChangeConfiguration(didChangeConfigurationParams);
+    verify(didChangeConfigurationHandler, timeout(5000)).didChangeConfiguration(didChangeConfigurationParams);
+  }
+
+  /** Test configuration change reanalyses the opened programs through the handler */
+  @Test
+  void testChangeConfigurationReanalysesOpenedPrograms() throws InterruptedException {
+    SettingsService settingsService = mock(SettingsService.class);
+    CopybookNameService copybookNameService = mock(CopybookNameService.class);
+    WatcherService watcherService = mock(WatcherService.class);
+    LocaleStore localeStore = mock(LocaleStore.class);
+    AsyncAnalysisService asyncAnalysisService = mock(AsyncAnalysisService.class);
+    DialectService dialectService = mock(DialectService.class);
+    when(copybookNameService.copybookLocalFolders(null)).thenReturn(CompletableFuture.completedFuture(emptyList()));
+    when(settingsService.fetchConfiguration(any())).thenReturn(CompletableFuture.completedFuture(emptyList()));
+    when(settingsService.fetchConfigurations(any(), anyList())).thenReturn(CompletableFuture.completedFuture(emptyList()));
+    when(watcherService.getWatchingFolders()).thenReturn(emptyList());
+    when(localeStore.notifyLocaleStore()).thenReturn(e -> { });
+
+    DidChangeConfigurationHandler didChangeConfigurationHandler = new DidChangeConfigurationHandler(stateService,
+            settingsService,
+            copybookNameService,
+            watcherService,
+            localeStore,
+            mock(Keywords.class),
+            mock(MessageService.class),
+            asyncAnalysisService,
+            dialectService,
+            mock(ConfigurationService.class),
+            mock(DocumentModelService.class));
+
+    LspMessageBroker lspMessageBroker = new LspMessageBroker();
+    WorkspaceService service = new CobolWorkspaceServiceImpl(
+            lspMessageBroker,
+            new ExecuteCommandHandler(stateService, asyncAnalysisService),
+            mock(SourceUnitGraph.class),
+            didChangeConfigurationHandler,
+            asyncAnalysisService, uriDecodeService);
+    ((LspEventConsumer) service).startConsumer();
+    service.didChangeConfiguration(new DidChangeConfigurationParams(new Object()));
+
+    verify(asyncAnalysisService, timeout(5000)).reanalyseOpenedPrograms(EnumSet.allOf(AnalysisCache.class));
+    verify(dialectService).getSettingsSections();
+    lspMessageBroker.stop();
   }
 
   /**
@@ -225,7 +280,8 @@ class WorkspaceServiceTest {
 
     DidChangeConfigurationHandler didChangeConfigurationHandler =
         new DidChangeConfigurationHandler(
-            stateService, null, copybookNameService, null, null, null, null, asyncAnalysisService);
+            stateService, null, copybookNameService, null, null, null, null, asyncAnalysisService,
+            mock(DialectService.class), mock(ConfigurationService.class), mock(DocumentModelService.class));
 
     ExecuteCommandHandler executeCommandHandler =
         new ExecuteCommandHandler(stateService, asyncAnalysisService);
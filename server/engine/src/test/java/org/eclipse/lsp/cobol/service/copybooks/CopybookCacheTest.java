@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.copybooks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.lsp.cobol.common.copybook.CopybookId;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link CopybookCache} */
+class CopybookCacheTest {
+  private static final String COPYBOOK_URI = "file:///c:/workspace/copybooks/CPY.cpy";
+  private static final CopybookName NAME = new CopybookName("CPY");
+  private static final CopybookId ID = CopybookId.create("CPY", null, "file:///c:/workspace/PRG.cbl");
+
+  @Test
+  void testGenerationInvalidation() throws ExecutionException {
+    CopybookCache cache = new CopybookCache(3, 3, "HOURS");
+    cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "OLD"));
+    assertEquals("OLD", cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "NEW")).getContent());
+
+    cache.invalidateAll();
+    assertEquals("NEW", cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "NEW")).getContent());
+
+    CopybookCache.Statistics statistics = cache.getStatistics().get(ID);
+    assertEquals(0, statistics.getHits());
+    assertEquals(1, statistics.getMisses());
+  }
+
+  @Test
+  void testStatisticsAreDroppedWithTheirEntries() throws ExecutionException {
+    CopybookCache cache = new CopybookCache(1, 3, "HOURS");
+    CopybookId otherId = CopybookId.create("OTHER", null, "file:///c:/workspace/PRG.cbl");
+    cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "CONTENT"));
+    cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "CONTENT"));
+    assertEquals(1, cache.getStatistics().get(ID).getHits());
+
+    cache.get(otherId, () -> new CopybookModel(otherId, new CopybookName("OTHER"), COPYBOOK_URI, "OTHER"));
+    assertEquals(ImmutableSet.of(otherId), cache.getStatistics().keySet());
+
+    cache.invalidate(otherId);
+    assertTrue(cache.getStatistics().isEmpty());
+
+    cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "CONTENT"));
+    cache.invalidateAll();
+    assertTrue(cache.getStatistics().isEmpty());
+  }
+
+  @Test
+  void testOutdatedEntriesAndConsumers() throws ExecutionException {
+    CopybookCache cache = new CopybookCache(3, 3, "HOURS");
+    cache.get(ID, () -> new CopybookModel(ID, NAME, COPYBOOK_URI, "CONTENT"));
+    cache.recordUsage(ID, "file:///c:/workspace/PRG.cbl");
+
+    assertTrue(cache.findOutdated(COPYBOOK_URI, "CONTENT").isEmpty());
+    assertTrue(cache.findOutdated("file:///c:/workspace/copybooks/OTHER.cpy", "CHANGED").isEmpty());
+    assertEquals(1, cache.findOutdated(COPYBOOK_URI, "CHANGED").size());
+    assertEquals(ImmutableSet.of("file:///c:/workspace/PRG.cbl"), cache.getConsumers(ImmutableList.of(ID)));
+  }
+}
@@ -134,4 +134,27 @@ class CopybookIdentificationServiceBasedOnContentTest {
     Assertions.assertFalse(service.isCopybook(doc.getUri(), doc.getText(), ImmutableList.of()));
   }
 
+  @Test
+  void WhenProgramIdAfterLongCopybookContent_thenReturnFalse() {
+    String content =
+        "       01 WS-REC.\r\n"
+            + "          05 WS-PROGRAM-ID PIC X(8).\r\n"
+            + "      *   IDENTIFICATION DIVISION.\r\n"
+            + "       PROCEDURE DIVISION.\r\n"
+            + "       PROGRAM-ID.    EMPRPT.                                           00340501";
+
+    CopybookIdentificationService service = new CopybookIdentificationServiceBasedOnContent();
+    Assertions.assertFalse(service.isCopybook("", content, ImmutableList.of()));
+  }
+
+  @Test
+  void WhenHeaderKeywordsAreOnlyPartOfNames_thenReturnTrue() {
+    String content =
+        "       01 WS-REC.\r\n"
+            + "          05 WS-PROGRAM-ID PIC X(8).\r\n"
+            + "          05 ID-DIVISION PIC X(8).\r\n";
+
+    CopybookIdentificationService service = new CopybookIdentificationServiceBasedOnContent();
+    Assertions.assertTrue(service.isCopybook("", content, ImmutableList.of()));
+  }
 }
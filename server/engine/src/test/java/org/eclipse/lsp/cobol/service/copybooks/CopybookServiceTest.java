@@ -29,6 +29,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.*;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
@@ -40,6 +43,9 @@ import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.eclipse.lsp.cobol.service.providers.ClientProvider;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -482,11 +488,131 @@ class CopybookServiceTest {
     assertTrue(copybookService.getCopybooksForDownloading().isEmpty());
   }
 
+  @Test
+  void testPrefetchResolvesCopybooksInOneBatch() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CopybookName invalidName = createCopybook(INVALID_CPY_NAME);
+    when(client.resolveCopybooks(DOCUMENT_URI, ImmutableList.of(VALID_CPY_NAME, INVALID_CPY_NAME), "COBOL"))
+        .thenReturn(completedFuture(asList(VALID_CPY_URI, null)));
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName, invalidName, validName));
+
+    CopybookModel valid = copybookService
+        .resolve(validName.toCopybookId(DOCUMENT_URI), validName, DOCUMENT_URI, DOCUMENT_URI, false)
+        .getResult();
+    CopybookModel invalid = copybookService
+        .resolve(invalidName.toCopybookId(DOCUMENT_URI), invalidName, DOCUMENT_URI, DOCUMENT_URI, false)
+        .getResult();
+
+    assertEquals(VALID_CPY_URI, valid.getUri());
+    assertEquals(CONTENT, valid.getContent());
+    assertNull(invalid.getUri());
+    verify(client, times(1)).resolveCopybooks(anyString(), any(), anyString());
+    verify(client, never()).resolveCopybook(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void testPrefetchResolvesCopybooksOneByOneWhenBatchIsNotSupported() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CompletableFuture<List<String>> unsupported = new CompletableFuture<>();
+    unsupported.completeExceptionally(
+        new ResponseErrorException(new ResponseError(ResponseErrorCode.MethodNotFound, "Unsupported", null)));
+    when(client.resolveCopybooks(anyString(), any(), anyString())).thenReturn(unsupported);
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+    CopybookModel valid = copybookService
+        .resolve(validName.toCopybookId(DOCUMENT_URI), validName, DOCUMENT_URI, DOCUMENT_URI, false)
+        .getResult();
+    copybookService.invalidateCache();
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+
+    assertEquals(VALID_CPY_URI, valid.getUri());
+    verify(client, times(1)).resolveCopybooks(anyString(), any(), anyString());
+    verify(client, times(2)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+  }
+
+  @Test
+  void testPrefetchSkipsCachedCopybooks() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.store(new CopybookModel(validName.toCopybookId(DOCUMENT_URI), validName, VALID_CPY_URI, CONTENT));
+
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+
+    verify(client, never()).resolveCopybooks(anyString(), any(), anyString());
+    verify(client, never()).resolveCopybook(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void testPrefetchRestoresPersistedCopybooks() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CopybookId copybookId = validName.toCopybookId(DOCUMENT_URI);
+    CopybookModel persisted = new CopybookModel(copybookId, validName, VALID_CPY_URI, CONTENT);
+    PersistentCopybookCache persistentCache = mock(PersistentCopybookCache.class);
+    when(persistentCache.getResolvedCopybook(eq(copybookId), eq(validName), any())).thenReturn(Optional.of(persisted));
+    ClientProvider provider = new ClientProvider();
+    provider.setClient(client);
+    CopybookServiceImpl copybookService = new CopybookServiceImpl(
+        provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"), persistentCache);
+
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+    CopybookModel valid = copybookService.resolve(copybookId, validName, DOCUMENT_URI, DOCUMENT_URI, true).getResult();
+
+    assertEquals(persisted, valid);
+    verify(client, never()).resolveCopybooks(anyString(), any(), anyString());
+    verify(client, never()).resolveCopybook(anyString(), anyString(), anyString());
+    verify(files, never()).getContentByPath(any());
+  }
+
+  @Test
+  void testReleasedPrefetchedCopybooksAreRequestedAgain() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    when(client.resolveCopybooks(DOCUMENT_URI, ImmutableList.of(VALID_CPY_NAME), "COBOL"))
+        .thenReturn(completedFuture(ImmutableList.of(VALID_CPY_URI)));
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+    copybookService.releasePrefetched(DOCUMENT_URI);
+    CopybookModel valid = copybookService
+        .resolve(validName.toCopybookId(DOCUMENT_URI), validName, DOCUMENT_URI, DOCUMENT_URI, false)
+        .getResult();
+
+    assertEquals(VALID_CPY_URI, valid.getUri());
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+  }
+
+  @Test
+  void testFailedPrefetchIsRequestedAgainAndKeepsBatching() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CompletableFuture<List<String>> failedBatch = new CompletableFuture<>();
+    failedBatch.completeExceptionally(
+        new ResponseErrorException(new ResponseError(ResponseErrorCode.InternalError, "Failed", null)));
+    CompletableFuture<String> failedUri = new CompletableFuture<>();
+    failedUri.completeExceptionally(new IllegalStateException("Failed"));
+    when(client.resolveCopybooks(anyString(), any(), anyString())).thenReturn(failedBatch);
+    when(client.resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL"))
+        .thenReturn(failedUri)
+        .thenReturn(completedFuture(VALID_CPY_URI));
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+    CopybookModel valid = copybookService
+        .resolve(validName.toCopybookId(DOCUMENT_URI), validName, DOCUMENT_URI, DOCUMENT_URI, false)
+        .getResult();
+    copybookService.invalidateCache();
+    copybookService.prefetch(DOCUMENT_URI, ImmutableList.of(validName));
+
+    assertEquals(VALID_CPY_URI, valid.getUri());
+    verify(client, times(2)).resolveCopybooks(anyString(), any(), anyString());
+  }
+
   private CopybookServiceImpl createCopybookService() {
     ClientProvider provider = new ClientProvider();
     provider.setClient(client);
     return new CopybookServiceImpl(
-        provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"));
+        provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"), new PersistentCopybookCache());
   }
 
   private CopybookName createCopybook(String displayName) {
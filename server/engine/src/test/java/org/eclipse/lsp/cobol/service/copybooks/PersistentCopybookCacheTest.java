@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.copybooks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.eclipse.lsp.cobol.common.copybook.CopybookId;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Test {@link PersistentCopybookCache} */
+class PersistentCopybookCacheTest {
+  private static final CopybookName NAME = new CopybookName("CPY");
+  private static final CopybookId ID = NAME.toCopybookId("file:///c:/workspace/PRG.cbl");
+  private static final String URI = "file:///c:/workspace/copybooks/CPY.cpy";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testStoredTextSurvivesNewInstance() {
+    new PersistentCopybookCache(directory, "1.0").putCleanText("       01 A PIC X.  ", "       01 A PIC X.");
+
+    PersistentCopybookCache cache = new PersistentCopybookCache(directory, "1.0");
+    assertEquals(Optional.of("       01 A PIC X."), cache.getCleanText("       01 A PIC X.  "));
+    assertFalse(cache.getCleanText("       01 B PIC X.").isPresent());
+  }
+
+  @Test
+  void testEntriesOfOtherServerVersionAreIgnored() {
+    new PersistentCopybookCache(directory, "1.0").putCleanText("CONTENT", "CLEAN");
+
+    assertFalse(new PersistentCopybookCache(directory, "2.0").getCleanText("CONTENT").isPresent());
+  }
+
+  @Test
+  void testDisabledCache() {
+    PersistentCopybookCache cache = new PersistentCopybookCache(null, "1.0");
+    cache.putCleanText("CONTENT", "CLEAN");
+    assertFalse(cache.isEnabled());
+    assertFalse(cache.getCleanText("CONTENT").isPresent());
+  }
+
+  @Test
+  void testCacheIsDisabledForUnidentifiedBuild() {
+    PersistentCopybookCache cache = new PersistentCopybookCache(directory, null);
+    cache.putCleanText("CONTENT", "CLEAN");
+    assertFalse(cache.isEnabled());
+    assertFalse(new PersistentCopybookCache(directory, "1.0").getCleanText("CONTENT").isPresent());
+  }
+
+  @Test
+  void testResolvedCopybookIsRestoredWhileItsFileIsUnchanged() throws IOException {
+    Path file = Files.write(directory.resolve("CPY.cpy"), "CONTENT".getBytes());
+    PersistentCopybookCache writer = new PersistentCopybookCache(directory.resolve("cache"), "1.0");
+    writer.putCleanText("CONTENT", "CLEAN");
+    writer.putResolvedCopybook(ID, URI, file, "CONTENT");
+
+    PersistentCopybookCache cache = new PersistentCopybookCache(directory.resolve("cache"), "1.0");
+    assertEquals(Optional.of(new CopybookModel(ID, NAME, URI, "CLEAN")),
+        cache.getResolvedCopybook(ID, NAME, uri -> file));
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+    assertFalse(cache.getResolvedCopybook(ID, NAME, uri -> file).isPresent());
+  }
+
+  @Test
+  void testResolutionsAreNotTrustedAfterInvalidation() throws IOException {
+    Path file = Files.write(directory.resolve("CPY.cpy"), "CONTENT".getBytes());
+    PersistentCopybookCache cache = new PersistentCopybookCache(directory.resolve("cache"), "1.0");
+    cache.putCleanText("CONTENT", "CLEAN");
+    cache.putResolvedCopybook(ID, URI, file, "CONTENT");
+
+    cache.distrustResolutions();
+    assertFalse(cache.getResolvedCopybook(ID, NAME, uri -> file).isPresent());
+  }
+
+  @Test
+  void testFirstWriteRemovesEntriesOfOtherServerVersion() {
+    new PersistentCopybookCache(directory, "1.0", Long.MAX_VALUE, Runnable::run).putCleanText("OLD", "CLEAN");
+    PersistentCopybookCache cache = new PersistentCopybookCache(directory, "2.0", Long.MAX_VALUE, Runnable::run);
+    cache.putCleanText("NEW", "CLEAN");
+
+    assertEquals(Optional.of("CLEAN"), cache.getCleanText("NEW"));
+    assertFalse(new PersistentCopybookCache(directory, "1.0").getCleanText("OLD").isPresent());
+  }
+
+  @Test
+  void testPruneRemovesLeastRecentlyUsedEntriesOverTheLimit() throws IOException {
+    PersistentCopybookCache writer = new PersistentCopybookCache(directory, "1.0", Long.MAX_VALUE, Runnable::run);
+    writer.putCleanText("OLD", "CLEAN");
+    writer.putCleanText("NEW", "CLEAN");
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.filter(Files::isRegularFile).forEach(PersistentCopybookCacheTest::age);
+    }
+    // a single entry takes 24 bytes
+    PersistentCopybookCache cache = new PersistentCopybookCache(directory, "1.0", 30, Runnable::run);
+    assertTrue(cache.getCleanText("NEW").isPresent());
+
+    cache.prune();
+    assertTrue(cache.getCleanText("NEW").isPresent());
+    assertFalse(cache.getCleanText("OLD").isPresent());
+  }
+
+  private static void age(Path file) {
+    try {
+      Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 60_000));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service.delegates.communications;
 
 import static org.eclipse.lsp.cobol.test.engine.UseCaseUtils.DOCUMENT_URI;
 import static org.eclipse.lsp4j.MessageType.Info;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Mockito.*;
 
 import com.google.common.collect.ImmutableList;
@@ -113,7 +114,28 @@ class ServerCommunicationsTest {
 
     // Check that cleanup was performed for Diagnostic message
     diagnostic.setMessage("test");
-    verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+    verify(client, timeout(TEST_TIMEOUT).times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+  }
+
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should send diagnostics only for the
+   * files which diagnostics differ from the already published ones.
+   */
+  @Test
+  void testPublishOnlyChangedDiagnostics() {
+    String uri = UUID.randomUUID().toString();
+    String otherUri = UUID.randomUUID().toString();
+    List<Diagnostic> diagnostics = ImmutableList.of(new Diagnostic(new Range(), "test"));
+    when(uriDecodeService.getOriginalUri(anyString())).then(returnsFirstArg());
+
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics, otherUri, ImmutableList.of()));
+    verify(client, timeout(TEST_TIMEOUT)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+
+    communications.publishDiagnostics(ImmutableMap.of(
+        uri, ImmutableList.of(new Diagnostic(new Range(), "test")), otherUri, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(uri, ImmutableList.of()));
+    verify(client, timeout(TEST_TIMEOUT)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, ImmutableList.of())));
+    verify(client, times(2)).publishDiagnostics(any());
   }
 
   @Test
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.lsp.cobol.service.settings.SettingsService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompletionStorage}
+ */
+class CompletionStorageTest {
+  private final AtomicInteger loads = new AtomicInteger();
+  private Map<String, String> data = ImmutableMap.of("ACCEPT", "accept");
+  private long version;
+
+  @Test
+  void testStorageIsRebuiltOnlyWhenTheDataVersionChanges() {
+    TestStorage storage = new TestStorage();
+    assertEquals(ImmutableList.of("ACCEPT"), storage.findLabels("acc", 10));
+    assertEquals(ImmutableList.of("ACCEPT"), storage.findLabels("acc", 10));
+    assertEquals(1, loads.get());
+
+    version = 1;
+    data = ImmutableMap.of("ACCEPT", "accept", "ACCESS", "access");
+    assertEquals(ImmutableList.of("ACCEPT", "ACCESS"), storage.findLabels("acc", 10));
+    assertEquals(2, loads.get());
+    assertEquals("access", storage.getInformationFor("ACCESS"));
+  }
+
+  /** A storage with the data and the version set by the test */
+  private class TestStorage extends CompletionStorage<String> {
+    TestStorage() {
+      super(mock(SettingsService.class));
+    }
+
+    @Override
+    protected Map<String, String> getDataMap(List<String> dialectType) {
+      loads.incrementAndGet();
+      return data;
+    }
+
+    @Override
+    protected long getDataVersion() {
+      return version;
+    }
+  }
+}
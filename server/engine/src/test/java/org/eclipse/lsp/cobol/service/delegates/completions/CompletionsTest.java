@@ -16,42 +16,68 @@
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.common.collect.ImmutableSet;
+import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.*;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
 import static org.eclipse.lsp.cobol.service.delegates.completions.MockCompletionModel.*;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * This test checks the logic of completion support. It retrieves the token by the given position
  * and calls all the providers in attempt to resolve it.
  */
 class CompletionsTest {
+  private static final Object VARIABLE_DATA = CompletionData.create(VARIABLES, "", Locality.builder().build());
+  private static final CobolDocumentModel DOCUMENT = new CobolDocumentModel("", "Lorem ipsum dolor c amet", RESULT);
+  private static final CompletionParams PARAMS =
+      new CompletionParams(new TextDocumentIdentifier(""), new Position(0, 19)); // The position of 'c;
+
+  private final Completions completions =
+      new Completions(
+          ImmutableSet.of(
+              new CopybookCompletion(), new VariableCompletion(REPO),
+                  new ParagraphCompletion(REPO)));
+
   @Test
   void testCollecting() {
-    Completions completions =
-        new Completions(
-            ImmutableSet.of(
-                new CopybookCompletion(), new VariableCompletion(REPO),
-                    new ParagraphCompletion(REPO)));
-    CompletionList actual =
-        completions.collectFor(
-            new CobolDocumentModel("", "Lorem ipsum dolor c amet", RESULT),
-            new CompletionParams(
-                new TextDocumentIdentifier(""), new Position(0, 19))); // The position of 'c;
+    CompletionList actual = completions.collectFor(DOCUMENT, PARAMS);
+    assertFalse(actual.isIncomplete());
     assertThat(actual.getItems(), Matchers.containsInAnyOrder(createExpected()));
   }
 
+  @Test
+  void testResolve() {
+    CompletionItem item = createItem("constD1", CompletionItemKind.Variable, VARIABLES, VARIABLE_DATA);
+    assertSame(item, completions.resolve(item, DOCUMENT));
+    assertEquals("sys IS constD1.", item.getDocumentation().getLeft());
+  }
+
+  @Test
+  void testResultIsLimited() {
+    List<CompletionItem> items = IntStream.range(0, 1500)
+        .mapToObj(it -> createItem("c" + it, CompletionItemKind.Text, COPYBOOKS))
+        .collect(toList());
+    CompletionList actual = new Completions(ImmutableSet.<Completion>of((token, document) -> items)).collectFor(DOCUMENT, PARAMS);
+    assertTrue(actual.isIncomplete());
+    assertEquals(1000, actual.getItems().size());
+  }
+
   private CompletionItem[] createExpected() {
     return new CompletionItem[] {
       createItem("cpyU1", CompletionItemKind.Class, COPYBOOKS),
       createItem("CpyU2", CompletionItemKind.Class, COPYBOOKS),
-      createItem("constD1", CompletionItemKind.Variable, VARIABLES, "sys IS constD1."),
-      createItem("ConstD2", CompletionItemKind.Variable, VARIABLES, "sys IS ConstD2.")
+      createItem("constD1", CompletionItemKind.Variable, VARIABLES, VARIABLE_DATA),
+      createItem("ConstD2", CompletionItemKind.Variable, VARIABLES, VARIABLE_DATA)
     };
   }
 
@@ -59,14 +85,13 @@ class CompletionsTest {
     return createItem(name, kind, order, null);
   }
 
-  private CompletionItem createItem(String name, CompletionItemKind kind, CompletionOrder order, String documentation) {
+  private CompletionItem createItem(String name, CompletionItemKind kind, CompletionOrder order, Object data) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
     item.setKind(kind);
     item.setSortText(order.prefix + name);
-    if (documentation != null)
-      item.setDocumentation(documentation);
+    item.setData(data);
     return item;
   }
 }
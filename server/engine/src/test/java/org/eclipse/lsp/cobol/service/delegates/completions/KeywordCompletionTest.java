@@ -34,6 +34,7 @@ import java.util.Optional;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -108,18 +109,25 @@ class KeywordCompletionTest {
         createExpected(), completion.getCompletionItems("ACCEP", MockCompletionModel.MODEL));
   }
 
+  @Test
+  void testResolve() {
+    CompletionItem item = createItem();
+    assertTrue(completion.resolve(item, null));
+    MarkupContent doc = new MarkupContent();
+    doc.setValue(DOCUMENTATION_TEXT);
+    doc.setKind("markdown");
+    assertEquals(doc, item.getDocumentation().getRight());
+  }
+
   private List<CompletionItem> createExpected() {
     return ImmutableList.of(createItem());
   }
 
   private CompletionItem createItem() {
-    MarkupContent doc = new MarkupContent();
-    doc.setValue(DOCUMENTATION_TEXT);
-    doc.setKind("markdown");
     CompletionItem item = new CompletionItem(LABEL);
     item.setLabel(LABEL);
     item.setInsertText(LABEL);
-    item.setDocumentation(doc);
+    item.setData(CompletionData.create(CompletionOrder.KEYWORDS, null));
     item.setKind(CompletionItemKind.Keyword);
     item.setSortText("6" + LABEL);
     return item;
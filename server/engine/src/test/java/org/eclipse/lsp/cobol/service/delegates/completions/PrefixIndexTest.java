@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** This test asserts that {@link PrefixIndex} finds names by prefix ignoring case */
+class PrefixIndexTest {
+  private final PrefixIndex<String> index =
+      PrefixIndex.of(ImmutableList.of("var-b", "VAR-A", "other", "Var-a", "va", "x"), Function.identity());
+
+  @Test
+  void testFindByPrefix() {
+    assertEquals(ImmutableList.of("va", "VAR-A", "Var-a", "var-b"), index.find("Va", Integer.MAX_VALUE));
+    assertEquals(ImmutableList.of("VAR-A", "Var-a"), index.find("var-a", Integer.MAX_VALUE));
+    assertEquals(ImmutableList.of("x"), index.find("X", Integer.MAX_VALUE));
+    assertTrue(index.find("y", Integer.MAX_VALUE).isEmpty());
+    assertEquals(6, index.find("", Integer.MAX_VALUE).size());
+  }
+
+  @Test
+  void testFindIsLimited() {
+    assertEquals(ImmutableList.of("va", "VAR-A"), index.find("v", 2));
+  }
+
+  @Test
+  void testGetByName() {
+    assertEquals(ImmutableList.of("VAR-A", "Var-a"), index.get("var-A"));
+    assertTrue(index.get("var").isEmpty());
+  }
+}
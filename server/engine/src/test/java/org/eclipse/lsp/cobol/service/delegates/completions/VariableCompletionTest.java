@@ -23,12 +23,16 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This test {@link VariableCompletion} asserts that filtration and preparing the variable
@@ -67,7 +71,22 @@ class VariableCompletionTest {
     CobolDocumentModel model = getModel(FULL_TEXT);
     Completion completion =
         new VariableCompletion(new SymbolsRepository(model.getAnalysisResult().getSymbolTableMap()));
-    assertEquals(createExpected(), completion.getCompletionItems("va", model));
+    List<CompletionItem> actual = new ArrayList<>(completion.getCompletionItems("va", model));
+    assertEquals(
+        ImmutableList.of("VAR1", "VAR2"),
+        actual.stream().map(CompletionItem::getLabel).collect(toList()));
+    actual.forEach(it -> assertNull(it.getDocumentation()));
+    actual.forEach(it -> assertTrue(completion.resolve(it, model)));
+    actual.forEach(it -> it.setData(null));
+    assertEquals(createExpected(), actual);
+  }
+
+  @Test
+  void testCompletionLimit() {
+    CobolDocumentModel model = getModel(FULL_TEXT);
+    Completion completion =
+        new VariableCompletion(new SymbolsRepository(model.getAnalysisResult().getSymbolTableMap()));
+    assertEquals(1, completion.getCompletionItems("", model, 1).size());
   }
 
   private List<CompletionItem> createExpected() {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TextChangeUtil}
+ */
+class TextChangeUtilTest {
+  private static final String URI = "file:///c:/workspace/PRG.cbl";
+  private static final String TEXT = "       PROCEDURE DIVISION.\r\n       MAIN.\n           STOP RUN.";
+
+  @Test
+  void testFullChange() {
+    assertEquals("NEW", TextChangeUtil.applyChanges(URI, TEXT, ImmutableList.of(new TextDocumentContentChangeEvent("NEW"))));
+  }
+
+  @Test
+  void testRangedChanges() {
+    String result = TextChangeUtil.applyChanges(URI, TEXT, ImmutableList.of(
+        new TextDocumentContentChangeEvent(range(1, 7, 1, 11), "BEGIN"),
+        new TextDocumentContentChangeEvent(range(2, 11, 2, 15), "GOBACK")));
+    assertEquals("       PROCEDURE DIVISION.\r\n       BEGIN.\n           GOBACK RUN.", result);
+  }
+
+  @Test
+  void testMultilineChange() {
+    String result = TextChangeUtil.applyChanges(URI, TEXT, ImmutableList.of(
+        new TextDocumentContentChangeEvent(range(0, 26, 2, 0), "\n")));
+    assertEquals("       PROCEDURE DIVISION.\n           STOP RUN.", result);
+  }
+
+  @Test
+  void testPositionOutOfLine() {
+    String result = TextChangeUtil.applyChanges(URI, TEXT, ImmutableList.of(
+        new TextDocumentContentChangeEvent(range(1, 100, 1, 100), " X")));
+    assertEquals("       PROCEDURE DIVISION.\r\n       MAIN. X\n           STOP RUN.", result);
+  }
+
+  @Test
+  void testRangedChangeOfUnknownTextIsSkipped() {
+    assertNull(TextChangeUtil.applyChanges(URI, null, ImmutableList.of(
+        new TextDocumentContentChangeEvent(range(1, 7, 1, 11), "BEGIN"))));
+    assertEquals("NEW", TextChangeUtil.applyChanges(URI, null, ImmutableList.of(
+        new TextDocumentContentChangeEvent(range(1, 7, 1, 11), "BEGIN"),
+        new TextDocumentContentChangeEvent("NEW"))));
+  }
+
+  private static Range range(int startLine, int startCharacter, int endLine, int endCharacter) {
+    return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+  }
+}
@@ -28,6 +28,7 @@ import org.antlr.v4.runtime.tree.ParseTreeListener;
 public class AntlrCobolParser implements AstBuilder {
   private final CommonTokenStream tokens;
   private final CobolParser antlrParser;
+  private final DefaultErrorStrategy errorStrategy;
 
   public AntlrCobolParser(CharStream input, BaseErrorListener listener, DefaultErrorStrategy errorStrategy, ParseTreeListener treeListener) {
     CobolLexer antlrLexer = new CobolLexer(input);
@@ -37,12 +38,12 @@ public class AntlrCobolParser implements AstBuilder {
     antlrParser = new CobolParser(tokens);
     antlrParser.removeErrorListeners();
     antlrParser.addErrorListener(listener);
-    antlrParser.setErrorHandler(errorStrategy);
+    this.errorStrategy = errorStrategy;
     antlrParser.addParseListener(treeListener);
   }
   @Override
   public CobolParser.StartRuleContext runParser() {
-    return antlrParser.startRule();
+    return TwoStageParsing.parse(antlrParser, errorStrategy, CobolParser::startRule);
   }
 
   @Override
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the reported syntax errors, so they can be passed to other listeners later or dropped
+ */
+public class BufferingErrorListener extends BaseErrorListener {
+  private final List<SyntaxErrorCall> errors = new ArrayList<>();
+
+  @Override
+  public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                          String msg, RecognitionException e) {
+    errors.add(new SyntaxErrorCall(recognizer, offendingSymbol, line, charPositionInLine, msg, e));
+  }
+
+  /**
+   * Pass the kept errors to the given listener in the order they were reported
+   *
+   * @param listener the listener to notify
+   */
+  public void replay(ANTLRErrorListener listener) {
+    for (SyntaxErrorCall error : errors) {
+      listener.syntaxError(error.recognizer, error.offendingSymbol, error.line, error.charPositionInLine,
+          error.msg, error.exception);
+    }
+  }
+
+  /**
+   * The arguments of a syntax error notification
+   */
+  private static final class SyntaxErrorCall {
+    private final Recognizer<?, ?> recognizer;
+    private final Object offendingSymbol;
+    private final int line;
+    private final int charPositionInLine;
+    private final String msg;
+    private final RecognitionException exception;
+
+    private SyntaxErrorCall(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                            String msg, RecognitionException exception) {
+      this.recognizer = recognizer;
+      this.offendingSymbol = offendingSymbol;
+      this.line = line;
+      this.charPositionInLine = charPositionInLine;
+      this.msg = msg;
+      this.exception = exception;
+    }
+  }
+}
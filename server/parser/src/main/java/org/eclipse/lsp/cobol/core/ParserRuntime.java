@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.atn.LexerATNSimulator;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.dfa.DFA;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the DFA and prediction context caches of the ANTLR recognizers. The generated lexers and parsers share static
+ * caches that grow for the whole life of the server. Instead, the recognizers attached here use caches kept per
+ * grammar, which can be measured and dropped at any time. A cache that grows over the limit set by the
+ * "parser.dfa.max.states" system property is dropped before the next parse. The recognizers that are already running
+ * keep using the old cache until they finish.
+ */
+@Slf4j
+@UtilityClass
+public class ParserRuntime {
+  private static final String MAX_DFA_STATES = "parser.dfa.max.states";
+  private static final int DEFAULT_MAX_DFA_STATES = 200_000;
+  private final Map<Class<?>, GrammarCaches> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Make the parser and its lexer, if the token stream is produced by one, use the shared caches. It should be called
+   * before parsing starts.
+   *
+   * @param parser the parser to attach
+   */
+  public void attach(Parser parser) {
+    GrammarCaches grammarCaches = grammarCaches(parser.getClass(), parser.getGrammarFileName(), parser.getATN());
+    Caches current = grammarCaches.current;
+    if (parser.getInterpreter().decisionToDFA != current.decisionToDFA) {
+      parser.setInterpreter(new ParserATNSimulator(parser, parser.getATN(), current.decisionToDFA,
+          current.contextCache));
+    }
+    TokenSource tokenSource = parser.getTokenStream().getTokenSource();
+    if (tokenSource instanceof Lexer) {
+      attach((Lexer) tokenSource);
+    }
+  }
+
+  /**
+   * Make the lexer use the shared caches. The lexer position is kept, so it may be attached after the first tokens
+   * are read.
+   *
+   * @param lexer the lexer to attach
+   */
+  public void attach(Lexer lexer) {
+    GrammarCaches grammarCaches = grammarCaches(lexer.getClass(), lexer.getGrammarFileName(), lexer.getATN());
+    Caches current = grammarCaches.current;
+    if (lexer.getInterpreter().decisionToDFA != current.decisionToDFA) {
+      LexerATNSimulator simulator = new LexerATNSimulator(lexer, lexer.getATN(), current.decisionToDFA,
+          current.contextCache);
+      simulator.copyState(lexer.getInterpreter());
+      lexer.setInterpreter(simulator);
+    }
+  }
+
+  /**
+   * Get the sizes of the caches
+   *
+   * @return the cache sizes by the grammar file name
+   */
+  public Map<String, CacheSize> getCacheSizes() {
+    Map<String, CacheSize> result = new TreeMap<>();
+    caches.values().forEach(c -> result.put(c.grammarFileName, c.size()));
+    return result;
+  }
+
+  /**
+   * Drop the caches of all grammars. The parsing that starts after this call fills the caches again.
+   */
+  public void trim() {
+    caches.values().forEach(GrammarCaches::reset);
+  }
+
+  private GrammarCaches grammarCaches(Class<?> recognizer, String grammarFileName, ATN atn) {
+    GrammarCaches grammarCaches = caches.computeIfAbsent(recognizer, k -> new GrammarCaches(grammarFileName, atn));
+    if (grammarCaches.size().getDfaStates() > maxDfaStates()) {
+      log.debug("The DFA cache of {} exceeded the limit, dropping it", grammarFileName);
+      grammarCaches.reset();
+    }
+    return grammarCaches;
+  }
+
+  private int maxDfaStates() {
+    return Integer.getInteger(MAX_DFA_STATES, DEFAULT_MAX_DFA_STATES);
+  }
+
+  /**
+   * The caches of one grammar
+   */
+  private static final class GrammarCaches {
+    private final String grammarFileName;
+    private final ATN atn;
+    private volatile Caches current;
+
+    private GrammarCaches(String grammarFileName, ATN atn) {
+      this.grammarFileName = grammarFileName;
+      this.atn = atn;
+      current = new Caches(atn);
+    }
+
+    private void reset() {
+      current = new Caches(atn);
+    }
+
+    private CacheSize size() {
+      Caches caches = current;
+      long states = 0;
+      for (DFA dfa : caches.decisionToDFA) {
+        states += dfa.states.size();
+      }
+      return new CacheSize(states, caches.contextCache.size());
+    }
+  }
+
+  /**
+   * The DFA and prediction context caches that recognizers share
+   */
+  private static final class Caches {
+    private final DFA[] decisionToDFA;
+    private final PredictionContextCache contextCache = new PredictionContextCache();
+
+    private Caches(ATN atn) {
+      decisionToDFA = new DFA[atn.getNumberOfDecisions()];
+      for (int i = 0; i < decisionToDFA.length; i++) {
+        decisionToDFA[i] = new DFA(atn.getDecisionState(i), i);
+      }
+    }
+  }
+
+  /**
+   * The size of the caches of a grammar
+   */
+  @Value
+  public static class CacheSize {
+    long dfaStates;
+    int predictionContexts;
+  }
+}
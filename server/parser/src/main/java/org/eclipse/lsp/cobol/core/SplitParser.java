@@ -30,6 +30,7 @@ import org.eclipse.lsp.cobol.core.hw.Diagnostic;
 import org.eclipse.lsp.cobol.core.hw.ParseResult;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * COBOL parser class.
@@ -40,13 +41,14 @@ public class SplitParser implements AstBuilder {
   private final List<Diagnostic> diagnostics;
 
   org.eclipse.lsp.cobol.core.CobolParser.StartRuleContext root;
-  public SplitParser(CharStream input, BaseErrorListener listener, DefaultErrorStrategy errorStrategy, ParseTreeListener treeListener) {
+  public SplitParser(CharStream input, BaseErrorListener listener, Supplier<DefaultErrorStrategy> errorStrategyFactory,
+                     ParseTreeListener treeListener) {
     org.eclipse.lsp.cobol.core.hw.CobolLexer lexer = new org.eclipse.lsp.cobol.core.hw.CobolLexer(
             input.getText(Interval.of(0, input.size())));
     ParseResult parseResult = new org.eclipse.lsp.cobol.core.hw.CobolParser(lexer).parse();
     SourceUnit su = parseResult.getSourceUnit();
     diagnostics = parseResult.getDiagnostics();
-    AntlrAdapter antlrAdapter = new AntlrAdapter(listener, errorStrategy, treeListener);
+    AntlrAdapter antlrAdapter = new AntlrAdapter(listener, errorStrategyFactory, treeListener);
     root = antlrAdapter.sourceUnitToStartRule(su);
     tokens = antlrAdapter.adaptTokens(su);
   }
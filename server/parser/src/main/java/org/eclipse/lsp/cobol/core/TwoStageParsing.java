@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageServiceProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs ANTLR parsers in two stages. The input is parsed with the SLL prediction first, using an error strategy that
+ * gives up on the first syntax error. Only when it fails, the input is parsed again with the full LL prediction and the
+ * error strategy of the caller, which reports the errors and recovers from them. The errors that the grammar actions
+ * report during the first stage are kept until it succeeds, so a fallback does not report them twice. The grammar
+ * actions get their messages from the error strategy, so the first stage strategy provides the message service of the
+ * caller's one.
+ *
+ * <p>The first stage can be switched off by setting the "parser.sll.first" system property to false. The parser is
+ * attached to the {@link ParserRuntime} caches before parsing.
+ */
+@Slf4j
+@UtilityClass
+public class TwoStageParsing {
+  private static final String SLL_FIRST = "parser.sll.first";
+  private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+  /**
+   * Parse the input of the given parser
+   *
+   * @param parser the parser with the error listeners and parse listeners attached
+   * @param errorStrategy the error strategy to report and recover from syntax errors
+   * @param startRule the rule to start parsing with
+   * @param <P> the parser type
+   * @param <R> the start rule context type
+   * @return the parse tree
+   */
+  public <P extends Parser, R extends ParserRuleContext> R parse(P parser, ANTLRErrorStrategy errorStrategy,
+                                                                 Function<P, R> startRule) {
+    ParserRuntime.attach(parser);
+    Statistics grammarStatistics = statistics.computeIfAbsent(parser.getGrammarFileName(), k -> new Statistics());
+    if ("false".equalsIgnoreCase(System.getProperty(SLL_FIRST))) {
+      grammarStatistics.llParses.increment();
+      parser.setErrorHandler(errorStrategy);
+      return startRule.apply(parser);
+    }
+
+    PredictionMode predictionMode = parser.getInterpreter().getPredictionMode();
+    List<ANTLRErrorListener> listeners = new ArrayList<>(parser.getErrorListeners());
+    BufferingErrorListener buffer = new BufferingErrorListener();
+    parser.removeErrorListeners();
+    parser.addErrorListener(buffer);
+    parser.setErrorHandler(new BailingErrorStrategy(errorStrategy));
+    parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+    try {
+      R result = startRule.apply(parser);
+      grammarStatistics.sllParses.increment();
+      listeners.forEach(buffer::replay);
+      return result;
+    } catch (ParseCancellationException e) {
+      grammarStatistics.fallbacks.increment();
+      log.debug("SLL parsing of {} failed, falling back to LL", parser.getGrammarFileName());
+    } finally {
+      parser.removeErrorListeners();
+      listeners.forEach(parser::addErrorListener);
+      parser.getInterpreter().setPredictionMode(predictionMode);
+    }
+
+    parser.setErrorHandler(errorStrategy);
+    parser.reset();
+    return startRule.apply(parser);
+  }
+
+  /**
+   * Get the parsing statistics
+   *
+   * @return the statistics by the grammar file name
+   */
+  public Map<String, Statistics> getStatistics() {
+    return Collections.unmodifiableMap(statistics);
+  }
+
+  /**
+   * The error strategy of the first stage. It gives up on the first syntax error and provides the grammar actions with
+   * the message service of the caller's error strategy.
+   */
+  private static final class BailingErrorStrategy extends BailErrorStrategy implements MessageServiceProvider {
+    private final ANTLRErrorStrategy errorStrategy;
+
+    private BailingErrorStrategy(ANTLRErrorStrategy errorStrategy) {
+      this.errorStrategy = errorStrategy;
+    }
+
+    @Override
+    public MessageService getMessageService() {
+      return ((MessageServiceProvider) errorStrategy).getMessageService();
+    }
+  }
+
+  /**
+   * The number of parses by the way they were completed
+   */
+  public static class Statistics {
+    private final LongAdder sllParses = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder llParses = new LongAdder();
+
+    /**
+     * @return the number of inputs parsed by the SLL stage
+     */
+    public long getSllParses() {
+      return sllParses.sum();
+    }
+
+    /**
+     * @return the number of inputs parsed again with the LL prediction after the SLL stage failed
+     */
+    public long getFallbacks() {
+      return fallbacks.sum();
+    }
+
+    /**
+     * @return the number of inputs parsed with the LL prediction only, because the SLL stage was switched off
+     */
+    public long getLlParses() {
+      return llParses.sum();
+    }
+
+    @Override
+    public String toString() {
+      return "sll=" + getSllParses() + ", fallbacks=" + getFallbacks() + ", ll=" + getLlParses();
+    }
+  }
+}
@@ -16,10 +16,24 @@
  */
 package org.eclipse.lsp.cobol.core.cst;
 
+import lombok.Getter;
 import org.eclipse.lsp.cobol.core.cst.base.CstNodeImpl;
 
 /**
  * SourceUnit node.
  */
 public class SourceUnit extends CstNodeImpl {
+  /**
+   * The text the unit was parsed from, or null if it is unknown
+   */
+  @Getter
+  private final String source;
+
+  public SourceUnit() {
+    this(null);
+  }
+
+  public SourceUnit(String source) {
+    this.source = source;
+  }
 }
@@ -18,8 +18,11 @@ package org.eclipse.lsp.cobol.core.hw;
 
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ErrorNode;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
 import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.eclipse.lsp.cobol.common.UserInterruptException;
 import org.eclipse.lsp.cobol.core.*;
 import org.eclipse.lsp.cobol.core.CobolParser;
 import org.eclipse.lsp.cobol.core.cst.*;
@@ -27,20 +30,31 @@ import org.eclipse.lsp.cobol.core.cst.base.CstNode;
 import org.eclipse.lsp.cobol.core.cst.IdentificationDivision;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
- * Reconstruct the AST
+ * Reconstruct the AST. The divisions of all the programs are independent ANTLR sub-parses, so they run concurrently on
+ * a shared pool, while the calling thread parses the first one. The syntax errors of each sub-parse are buffered and
+ * passed to the error listener in the document order, so the result does not depend on the thread scheduling.
  */
 public class AntlrAdapter {
+  private static final int DIVISION_PARSER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  private static final ExecutorService DIVISION_PARSERS = createDivisionParsers();
+
   private final BaseErrorListener errorListener;
-  private final DefaultErrorStrategy errorStrategy;
+  private final Supplier<DefaultErrorStrategy> errorStrategyFactory;
   private final ParseTreeListener treeListener;
 
-  public AntlrAdapter(BaseErrorListener errorListener, DefaultErrorStrategy errorStrategy, ParseTreeListener treeListener) {
+  public AntlrAdapter(BaseErrorListener errorListener,
+                      Supplier<DefaultErrorStrategy> errorStrategyFactory,
+                      ParseTreeListener treeListener) {
     this.errorListener = errorListener;
-    this.errorStrategy = errorStrategy;
+    this.errorStrategyFactory = errorStrategyFactory;
     this.treeListener = treeListener;
   }
 
@@ -51,37 +65,110 @@ public class AntlrAdapter {
    * @return ANTLR AST
    */
   public CobolParser.StartRuleContext sourceUnitToStartRule(SourceUnit su) {
-    CobolParser.StartRuleContext startRuleContext = (CobolParser.StartRuleContext) convertNode(su, null);
+    Map<CstNode, Future<DivisionParseResult>> divisions = parseDivisions(su);
+    CobolParser.StartRuleContext startRuleContext = (CobolParser.StartRuleContext) convertNode(su, null, divisions);
     startRuleContext.children.add(new TerminalNodeImpl(new CommonToken(Token.EOF, "")));
     return startRuleContext;
   }
 
-  private ParserRuleContext convertNode(CstNode cstNode, ParserRuleContext parent) {
-    ParserRuleContext result = null;
+  private ParserRuleContext convertNode(CstNode cstNode, ParserRuleContext parent,
+                                        Map<CstNode, Future<DivisionParseResult>> divisions) {
     if (cstNode instanceof SourceUnit) {
       CobolParser.StartRuleContext start = new CobolParser.StartRuleContext(null, 0);
       initNode(cstNode, start);
       CobolParser.CompilationUnitContext compilationUnit = new CobolParser.CompilationUnitContext(start, 0);
       initNode(cstNode, compilationUnit);
       start.children.add(compilationUnit);
-      processChildNodes(cstNode, compilationUnit);
+      processChildNodes(cstNode, compilationUnit, divisions);
       return start;
     } else if (cstNode instanceof ProgramUnit) {
-      return processProgramNode(cstNode, parent);
-    } else if (cstNode instanceof DataDivision) {
-      return antlrDataDivisionParser(cstNode).dataDivision();
+      return processProgramNode(cstNode, parent, divisions);
+    } else if (divisions.containsKey(cstNode)) {
+      return awaitDivision(divisions, cstNode);
+    } else {
+      return null;
+    }
+  }
+
+  private Map<CstNode, Future<DivisionParseResult>> parseDivisions(SourceUnit su) {
+    List<CstNode> nodes = new ArrayList<>();
+    collectDivisions(su, nodes);
+    Map<CstNode, Future<DivisionParseResult>> divisions = new IdentityHashMap<>();
+    if (nodes.isEmpty()) {
+      return divisions;
+    }
+    String source = su.getSource() == null ? su.toText() : su.getSource();
+    Thread owner = Thread.currentThread();
+    try {
+      for (CstNode node : nodes.subList(1, nodes.size())) {
+        divisions.put(node, DIVISION_PARSERS.submit(() -> parseDivision(node, source, owner)));
+      }
+      FutureTask<DivisionParseResult> first = new FutureTask<>(() -> parseDivision(nodes.get(0), source, owner));
+      divisions.put(nodes.get(0), first);
+      first.run();
+    } catch (RuntimeException e) {
+      divisions.values().forEach(f -> f.cancel(true));
+      throw e;
+    }
+    return divisions;
+  }
+
+  private void collectDivisions(CstNode cstNode, List<CstNode> result) {
+    if (divisionParser(cstNode) != null) {
+      result.add(cstNode);
+      return;
+    }
+    if (cstNode instanceof SourceUnit || cstNode instanceof ProgramUnit) {
+      cstNode.getChildren().forEach(child -> collectDivisions(child, result));
+    }
+  }
+
+  private DivisionRule divisionParser(CstNode cstNode) {
+    if (cstNode instanceof DataDivision) {
+      return (input, errors, owner) -> TwoStageParsing.parse(antlrDataDivisionParser(input, errors, owner),
+          errorStrategyFactory.get(), CobolDataDivisionParser::dataDivision);
     } else if (cstNode instanceof IdentificationDivision) {
-      return antlrIdDivisionParser(cstNode).identificationDivision();
+      return (input, errors, owner) -> TwoStageParsing.parse(antlrIdDivisionParser(input, errors, owner),
+          errorStrategyFactory.get(), CobolIdentificationDivisionParser::identificationDivision);
     } else if (cstNode instanceof EnvironmentDivision) {
-      return antlrParser(cstNode).environmentDivision();
+      return (input, errors, owner) -> TwoStageParsing.parse(antlrParser(input, errors, owner),
+          errorStrategyFactory.get(), CobolParser::environmentDivision);
     } else if (cstNode instanceof ProcedureDivision) {
-      return antlrParser(cstNode).procedureDivision();
-    } else {
-      return null;
+      return (input, errors, owner) -> TwoStageParsing.parse(antlrParser(input, errors, owner),
+          errorStrategyFactory.get(), CobolParser::procedureDivision);
     }
+    return null;
   }
 
-  private ParserRuleContext processProgramNode(CstNode cstNode, ParserRuleContext parent) {
+  private DivisionParseResult parseDivision(CstNode node, String source, Thread owner) {
+    if (owner.isInterrupted()) {
+      throw new UserInterruptException("Parsing interrupted by user.");
+    }
+    BufferingErrorListener errors = new BufferingErrorListener();
+    ParserRuleContext context = divisionParser(node).parse(sourceWindow(node, source), errors, owner);
+    return new DivisionParseResult(context, errors);
+  }
+
+  private ParserRuleContext awaitDivision(Map<CstNode, Future<DivisionParseResult>> divisions, CstNode node) {
+    try {
+      DivisionParseResult result = divisions.get(node).get();
+      result.errors.replay(errorListener);
+      return result.context;
+    } catch (InterruptedException e) {
+      divisions.values().forEach(f -> f.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new UserInterruptException("Parsing interrupted by user.");
+    } catch (ExecutionException e) {
+      divisions.values().forEach(f -> f.cancel(true));
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private ParserRuleContext processProgramNode(CstNode cstNode, ParserRuleContext parent,
+                                               Map<CstNode, Future<DivisionParseResult>> divisions) {
     CobolParser.ProgramUnitContext program = new CobolParser.ProgramUnitContext(parent, 0);
     program.children = new ArrayList<>();
 
@@ -89,7 +176,7 @@ public class AntlrAdapter {
 
     CstNode stopToken = findStopToken(cstNode);
     program.stop = toAntlrToken(stopToken);
-    processChildNodes(cstNode, program);
+    processChildNodes(cstNode, program, divisions);
 
     if (parent instanceof CobolParser.CompilationUnitContext) {
       return program;
@@ -108,11 +195,17 @@ public class AntlrAdapter {
     start.children = new ArrayList<>();
   }
 
+  // Every token is still converted to a separate CommonToken, because the ANTLR token stream writes its own index
+  // into each token. The lexeme string is shared, not copied.
   private Token toAntlrToken(CstNode node) {
-    CommonToken commonToken = new CommonToken(0, node.toText());
     org.eclipse.lsp.cobol.core.hw.Token token = (org.eclipse.lsp.cobol.core.hw.Token) node;
+    CommonToken commonToken = new CommonToken(0, token.getLexeme());
     commonToken.setLine(token.getLine() + 1);
     commonToken.setCharPositionInLine(token.getStartPositionInLine());
+    if (token.getStartIndex() >= 0) {
+      commonToken.setStartIndex(token.getStartIndex());
+      commonToken.setStopIndex(token.getStartIndex() + token.length() - 1);
+    }
     if (token.getType() == TokenType.WHITESPACE || token.getType() == TokenType.NEW_LINE) {
       commonToken.setChannel(Token.HIDDEN_CHANNEL);
     }
@@ -133,10 +226,11 @@ public class AntlrAdapter {
     return findStartToken(cstNode.getChildren().get(cstNode.getChildren().size() - 1));
   }
 
-  private void processChildNodes(CstNode cstNode, ParserRuleContext result) {
+  private void processChildNodes(CstNode cstNode, ParserRuleContext result,
+                                 Map<CstNode, Future<DivisionParseResult>> divisions) {
     result.children = new ArrayList<>();
     for (CstNode child : cstNode.getChildren()) {
-      ParserRuleContext ruleContext = convertNode(child, result);
+      ParserRuleContext ruleContext = convertNode(child, result, divisions);
       if (ruleContext != null) {
 
         ruleContext.setParent(result);
@@ -145,54 +239,138 @@ public class AntlrAdapter {
     }
   }
 
-  private CobolIdentificationDivisionParser antlrIdDivisionParser(CstNode node) {
-    org.eclipse.lsp.cobol.core.hw.Token startToken = (org.eclipse.lsp.cobol.core.hw.Token) findStartToken(node);
-    String input = generatePrefix(startToken.getLine(), startToken.getStartPositionInLine()) + node.toText();
-    CobolIdentificationDivisionLexer antlrLexer = new CobolIdentificationDivisionLexer(CharStreams.fromString(input));
+  private CobolIdentificationDivisionParser antlrIdDivisionParser(SourceWindowCharStream input,
+                                                                  ANTLRErrorListener errors, Thread owner) {
+    CobolIdentificationDivisionLexer antlrLexer = new CobolIdentificationDivisionLexer(input);
+    input.positionLexer(antlrLexer);
     antlrLexer.removeErrorListeners();
-    antlrLexer.addErrorListener(errorListener);
+    antlrLexer.addErrorListener(errors);
     CommonTokenStream tokens = new CommonTokenStream(antlrLexer);
     CobolIdentificationDivisionParser antlrParser = new CobolIdentificationDivisionParser(tokens);
     antlrParser.removeErrorListeners();
-    antlrParser.addErrorListener(errorListener);
-    antlrParser.setErrorHandler(errorStrategy);
+    antlrParser.addErrorListener(errors);
     antlrParser.addParseListener(treeListener);
+    if (owner != Thread.currentThread()) {
+      antlrParser.addParseListener(new OwnerInterruptionListener(owner));
+    }
     return antlrParser;
   }
 
-  private CobolDataDivisionParser antlrDataDivisionParser(CstNode node) {
-    org.eclipse.lsp.cobol.core.hw.Token startToken = (org.eclipse.lsp.cobol.core.hw.Token) findStartToken(node);
-    String input = generatePrefix(startToken.getLine(), startToken.getStartPositionInLine()) + node.toText();
-    CobolDataDivisionLexer antlrLexer = new CobolDataDivisionLexer(CharStreams.fromString(input));
+  private CobolDataDivisionParser antlrDataDivisionParser(SourceWindowCharStream input,
+                                                          ANTLRErrorListener errors, Thread owner) {
+    CobolDataDivisionLexer antlrLexer = new CobolDataDivisionLexer(input);
+    input.positionLexer(antlrLexer);
     antlrLexer.removeErrorListeners();
-    antlrLexer.addErrorListener(errorListener);
+    antlrLexer.addErrorListener(errors);
     CommonTokenStream tokens = new CommonTokenStream(antlrLexer);
     CobolDataDivisionParser antlrParser = new CobolDataDivisionParser(tokens);
     antlrParser.removeErrorListeners();
-    antlrParser.addErrorListener(errorListener);
-    antlrParser.setErrorHandler(errorStrategy);
+    antlrParser.addErrorListener(errors);
     antlrParser.addParseListener(treeListener);
+    if (owner != Thread.currentThread()) {
+      antlrParser.addParseListener(new OwnerInterruptionListener(owner));
+    }
     return antlrParser;
   }
 
-  private CobolParser antlrParser(CstNode node) {
-    org.eclipse.lsp.cobol.core.hw.Token startToken = (org.eclipse.lsp.cobol.core.hw.Token) findStartToken(node);
-    String input = generatePrefix(startToken.getLine(), startToken.getStartPositionInLine()) + node.toText();
-    org.eclipse.lsp.cobol.core.CobolLexer antlrLexer = new org.eclipse.lsp.cobol.core.CobolLexer(CharStreams.fromString(input));
+  private CobolParser antlrParser(SourceWindowCharStream input, ANTLRErrorListener errors, Thread owner) {
+    org.eclipse.lsp.cobol.core.CobolLexer antlrLexer = new org.eclipse.lsp.cobol.core.CobolLexer(input);
+    input.positionLexer(antlrLexer);
     antlrLexer.removeErrorListeners();
-    antlrLexer.addErrorListener(errorListener);
+    antlrLexer.addErrorListener(errors);
     CommonTokenStream tokens = new CommonTokenStream(antlrLexer);
     org.eclipse.lsp.cobol.core.CobolParser antlrParser = new org.eclipse.lsp.cobol.core.CobolParser(tokens);
     antlrParser.removeErrorListeners();
-    antlrParser.addErrorListener(errorListener);
-    antlrParser.setErrorHandler(errorStrategy);
+    antlrParser.addErrorListener(errors);
     antlrParser.addParseListener(treeListener);
+    if (owner != Thread.currentThread()) {
+      antlrParser.addParseListener(new OwnerInterruptionListener(owner));
+    }
     return antlrParser;
   }
 
-  private String generatePrefix(int line, int startPositionInLine) {
-    return new String(new char[line]).replace('\0', '\n')
-            + new String(new char[startPositionInLine]).replace('\0', ' ');
+  private SourceWindowCharStream sourceWindow(CstNode node, String source) {
+    org.eclipse.lsp.cobol.core.hw.Token startToken = (org.eclipse.lsp.cobol.core.hw.Token) findStartToken(node);
+    org.eclipse.lsp.cobol.core.hw.Token lastToken = (org.eclipse.lsp.cobol.core.hw.Token) findLastToken(node);
+    return new SourceWindowCharStream(source, startToken.getStartIndex(),
+        lastToken.getStartIndex() + lastToken.length(), startToken.getLine(), startToken.getStartPositionInLine());
+  }
+
+  private CstNode findLastToken(CstNode cstNode) {
+    if (cstNode.getChildren().isEmpty()) {
+      return cstNode;
+    }
+    return findLastToken(cstNode.getChildren().get(cstNode.getChildren().size() - 1));
+  }
+
+  private static ExecutorService createDivisionParsers() {
+    AtomicInteger counter = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(DIVISION_PARSER_THREADS, DIVISION_PARSER_THREADS,
+        30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+          Thread thread = new Thread(r, "Division parser #" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * ANTLR parser invocation for a division
+   */
+  @FunctionalInterface
+  private interface DivisionRule {
+    ParserRuleContext parse(SourceWindowCharStream input, ANTLRErrorListener errors, Thread owner);
+  }
+
+  /**
+   * The parse tree of a division and the syntax errors found while parsing it
+   */
+  private static final class DivisionParseResult {
+    private final ParserRuleContext context;
+    private final BufferingErrorListener errors;
+
+    private DivisionParseResult(ParserRuleContext context, BufferingErrorListener errors) {
+      this.context = context;
+      this.errors = errors;
+    }
+  }
+
+  /**
+   * Stops a sub-parse running on the shared pool when the thread that requested the parsing is interrupted
+   */
+  private static final class OwnerInterruptionListener implements ParseTreeListener {
+    private final Thread owner;
+
+    private OwnerInterruptionListener(Thread owner) {
+      this.owner = owner;
+    }
+
+    private void check() {
+      if (owner.isInterrupted()) {
+        throw new UserInterruptException("Parsing interrupted by user.");
+      }
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+      check();
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+      check();
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+      check();
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+      check();
+    }
   }
 
   /**
@@ -202,18 +380,18 @@ public class AntlrAdapter {
    * @return ANTLR token stream
    */
   public CommonTokenStream adaptTokens(SourceUnit su) {
-    List<CstNode> tokens = new ArrayList<>();
+    List<Token> tokens = new ArrayList<>();
     collectTokens(su, tokens);
-    CommonTokenStream commonTokenStream = new CommonTokenStream(new ListTokenSource(tokens.stream()
-            .filter(t -> ((org.eclipse.lsp.cobol.core.hw.Token) t).getType() != TokenType.WHITESPACE)
-            .map(this::toAntlrToken).collect(Collectors.toList())));
+    CommonTokenStream commonTokenStream = new CommonTokenStream(new ListTokenSource(tokens));
     commonTokenStream.fill();
     return commonTokenStream;
   }
 
-  private void collectTokens(CstNode su, List<CstNode> result) {
+  private void collectTokens(CstNode su, List<Token> result) {
     if (su instanceof org.eclipse.lsp.cobol.core.hw.Token) {
-      result.add(su);
+      if (((org.eclipse.lsp.cobol.core.hw.Token) su).getType() != TokenType.WHITESPACE) {
+        result.add(toAntlrToken(su));
+      }
     }
     for (CstNode node : su.getChildren()) {
       collectTokens(node, result);
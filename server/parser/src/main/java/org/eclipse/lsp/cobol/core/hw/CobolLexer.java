@@ -16,23 +16,32 @@
  */
 package org.eclipse.lsp.cobol.core.hw;
 
-import lombok.Data;
-
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
 /**
- * COBOL language lexer.
+ * COBOL language lexer. The source is split into a {@link TokenTable} once, and the lexer is a cursor over it, so
+ * peeking does not rescan the text. The token nodes are created on first access and reused by the following lookups.
  */
 public class CobolLexer {
-  private final String source;
-  private Position position = new Position();
-  private Position lastTokenStartPosition = new Position();
+  private final TokenTable table;
+  private final List<Token>[] tokens;
+  private int cursor;
 
+  @SuppressWarnings("unchecked")
   public CobolLexer(String source) {
-    this.source = source;
+    table = TokenTable.tokenize(source);
+    tokens = new List[table.size()];
+  }
+
+  /**
+   * Get the source text.
+   * @return the text that is tokenized.
+   */
+  public String getSource() {
+    return table.source();
   }
 
   /**
@@ -40,7 +49,7 @@ public class CobolLexer {
    * @return true if there are more tokens.
    */
   public boolean hasMore() {
-    return position.getIndex() < source.length();
+    return cursor < eofIndex();
   }
 
   /**
@@ -49,12 +58,11 @@ public class CobolLexer {
    * @return list of possible tokens (at least one).
    */
   public List<Token> forward(GrammarRule rule) {
-    if (position.getIndex() == source.length()) {
-      return Collections.singletonList(new Token("", position.getLine(), position.getCharacter(), TokenType.EOF));
+    List<Token> result = tokensAt(cursor);
+    if (cursor < eofIndex()) {
+      cursor++;
     }
-    String lexeme = scan(rule, false);
-    Token token = new Token(lexeme, lastTokenStartPosition.getLine(), lastTokenStartPosition.getCharacter(), detectType(rule, lexeme));
-    return Collections.singletonList(token);
+    return result;
   }
 
   /**
@@ -63,62 +71,7 @@ public class CobolLexer {
    * @return list of possible tokens (at least one).
    */
   public List<Token> peek(GrammarRule rule) {
-    if (position.getIndex() == source.length()) {
-      return Collections.singletonList(new Token("", position.getLine(), position.getCharacter(), TokenType.EOF));
-    }
-    String lexeme = scan(rule, true);
-    Token token = new Token(lexeme, lastTokenStartPosition.getLine(), lastTokenStartPosition.getCharacter(), detectType(rule, lexeme));
-    return Collections.singletonList(token);
-  }
-
-  private TokenType detectType(GrammarRule rule, String lexeme) {
-    if (lexeme.trim().isEmpty()) {
-      return TokenType.WHITESPACE;
-    }
-    return null;
-  }
-
-  private String scan(GrammarRule rule, boolean look) {
-    if (isWhitespace(source.charAt(position.getIndex()))) {
-      return consumeUntil(c -> !isWhitespace(c), look);
-    }
-    if (isNewLine(source.charAt(position.getIndex()))) {
-      return consumeUntil(c -> !isNewLine(c), look);
-    }
-    if (isSeparator(source.charAt(position.getIndex()))) {
-      return consumeUntil(c -> !isSeparator(c), look);
-    }
-    return consumeUntil(c -> isSeparator(c) || isWhitespace(c) || isNewLine(c), look);
-  }
-
-  private String consumeUntil(Predicate<Character> predicate, boolean look) {
-    StringBuilder sb = new StringBuilder();
-    Position localPos = new Position(position);
-    while (localPos.getIndex() < source.length()) {
-      char charAt = source.charAt(localPos.getIndex());
-      if (predicate.test(charAt)) {
-        break;
-      }
-      sb.append(charAt);
-      localPos.updateLinePosition(charAt);
-    }
-    if (!look) {
-      lastTokenStartPosition = position;
-      position = localPos;
-    }
-    return sb.toString();
-  }
-
-  private boolean isSeparator(char c) {
-    return c == '.';
-  }
-
-  private boolean isWhitespace(char c) {
-    return c == ' ' || c == '\t';
-  }
-
-  private boolean isNewLine(char c) {
-    return c == '\n' || c == '\r';
+    return tokensAt(cursor);
   }
 
   /**
@@ -130,43 +83,38 @@ public class CobolLexer {
    */
   // TODO: it should return a list of lists
   public List<Token> peekSeq(GrammarRule rule, int count, Predicate<Token> skip) {
-    List<Token> result = new ArrayList<>();
-    Position localPos = new Position(position);
-    while (result.size() < count && position.getIndex() < source.length()) {
-      Token token = forward(rule).get(0);
+    List<Token> result = new ArrayList<>(count);
+    for (int index = cursor; result.size() < count && index < eofIndex(); index++) {
+      Token token = tokensAt(index).get(0);
       if (!skip.test(token)) {
         result.add(token);
       }
     }
-    position = localPos;
-
     return result;
   }
-}
-
-/**
- * A class to hold position data
- */
-@Data
-class Position {
-  int index = 0;
-  int line = 0;
-  int character = 0;
 
-  Position(Position position) {
-    index = position.index;
-    line = position.line;
-    character = position.character;
+  private int eofIndex() {
+    return table.size() - 1;
   }
-  Position() {
+
+  private List<Token> tokensAt(int index) {
+    List<Token> result = tokens[index];
+    if (result == null) {
+      result = Collections.singletonList(new Token(table.lexeme(index), table.line(index), table.column(index),
+          detectType(index), table.offset(index)));
+      tokens[index] = result;
+    }
+    return result;
   }
-  void updateLinePosition(char charAt) {
-    index++;
-    if (charAt == '\n') {
-      line++;
-      character = 0;
-    } else if (charAt != '\r') {
-      character++;
+
+  private TokenType detectType(int index) {
+    switch (table.type(index)) {
+      case TokenTable.TYPE_WHITESPACE:
+        return TokenType.WHITESPACE;
+      case TokenTable.TYPE_EOF:
+        return TokenType.EOF;
+      default:
+        return null;
     }
   }
 }
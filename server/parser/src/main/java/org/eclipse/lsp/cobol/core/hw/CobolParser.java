@@ -54,7 +54,7 @@ public class CobolParser {
   }
 
   private void parseSourceUnit() {
-    ctx.push(new SourceUnit());
+    ctx.push(new SourceUnit(ctx.getLexer().getSource()));
     while (ctx.getLexer().hasMore()) {
       try {
         spaces();
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.hw;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * A char stream over a range of the original source. The indexes are the offsets in the whole source, so the tokens
+ * produced from the window point to the original text, and the line and column of the window start are passed to the
+ * lexer instead of padding the input.
+ */
+class SourceWindowCharStream implements CharStream {
+  private final String source;
+  private final int start;
+  private final int end;
+  private final int line;
+  private final int column;
+  private int index;
+
+  /**
+   * Create a window
+   *
+   * @param source the whole source text
+   * @param start the offset of the first char of the window
+   * @param end the offset after the last char of the window
+   * @param line the zero-based line of the window start
+   * @param column the column of the window start
+   */
+  SourceWindowCharStream(String source, int start, int end, int line, int column) {
+    this.source = source;
+    this.start = start;
+    this.end = end;
+    this.line = line;
+    this.column = column;
+    this.index = start;
+  }
+
+  /**
+   * Set the lexer position to the start of the window
+   *
+   * @param lexer the lexer that reads the window
+   */
+  void positionLexer(org.antlr.v4.runtime.Lexer lexer) {
+    lexer.setLine(line + 1);
+    lexer.setCharPositionInLine(column);
+  }
+
+  @Override
+  public String getText(Interval interval) {
+    int from = Math.max(interval.a, start);
+    int to = Math.min(interval.b, end - 1);
+    if (to < from) {
+      return "";
+    }
+    return source.substring(from, to + 1);
+  }
+
+  @Override
+  public void consume() {
+    if (index >= end) {
+      throw new IllegalStateException("cannot consume EOF");
+    }
+    index++;
+  }
+
+  @Override
+  public int LA(int i) {
+    if (i == 0) {
+      return 0;
+    }
+    int position = i < 0 ? index + i : index + i - 1;
+    if (position < start || position >= end) {
+      return IntStream.EOF;
+    }
+    return source.charAt(position);
+  }
+
+  @Override
+  public int mark() {
+    return -1;
+  }
+
+  @Override
+  public void release(int marker) {
+    // the whole source is in memory, nothing to release
+  }
+
+  @Override
+  public int index() {
+    return index;
+  }
+
+  @Override
+  public void seek(int index) {
+    this.index = Math.max(start, Math.min(index, end));
+  }
+
+  @Override
+  public int size() {
+    return end;
+  }
+
+  @Override
+  public String getSourceName() {
+    return IntStream.UNKNOWN_SOURCE_NAME;
+  }
+}
@@ -28,12 +28,18 @@ public class Token extends CstNodeImpl {
   private final int startPositionInLine;
   private final String lexeme;
   private final TokenType type;
+  private final int startIndex;
 
   public Token(String lexeme, int line, int startPositionInLine, TokenType type) {
+    this(lexeme, line, startPositionInLine, type, -1);
+  }
+
+  public Token(String lexeme, int line, int startPositionInLine, TokenType type, int startIndex) {
     this.line = line;
     this.lexeme = lexeme;
     this.startPositionInLine = startPositionInLine;
     this.type = type;
+    this.startIndex = startIndex;
   }
 
   /**
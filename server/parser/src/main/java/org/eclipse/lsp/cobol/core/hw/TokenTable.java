@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.hw;
+
+import java.util.Arrays;
+
+/**
+ * The tokens of a source kept in primitive arrays. The source is scanned once, and a token is described by its offset,
+ * length, position and type, so the lookahead of the parser does not rescan the characters. The last entry is always
+ * the EOF token.
+ */
+final class TokenTable {
+  static final int TYPE_NONE = 0;
+  static final int TYPE_WHITESPACE = 1;
+  static final int TYPE_EOF = 2;
+
+  private static final int KIND_WORD = 0;
+  private static final int KIND_WHITESPACE = 1;
+  private static final int KIND_NEW_LINE = 2;
+  private static final int KIND_SEPARATOR = 3;
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private final String source;
+  private int size;
+  private int[] offsets = new int[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  private int[] lines = new int[INITIAL_CAPACITY];
+  private int[] columns = new int[INITIAL_CAPACITY];
+  private int[] types = new int[INITIAL_CAPACITY];
+
+  private TokenTable(String source) {
+    this.source = source;
+  }
+
+  /**
+   * Split the source into tokens
+   *
+   * @param source the source text
+   * @return the token table
+   */
+  static TokenTable tokenize(String source) {
+    TokenTable table = new TokenTable(source);
+    int index = 0;
+    int line = 0;
+    int column = 0;
+    int length = source.length();
+    while (index < length) {
+      int start = index;
+      int startLine = line;
+      int startColumn = column;
+      int kind = kind(source.charAt(index));
+      while (index < length && kind(source.charAt(index)) == kind) {
+        char c = source.charAt(index++);
+        if (c == '\n') {
+          line++;
+          column = 0;
+        } else if (c != '\r') {
+          column++;
+        }
+      }
+      int type = kind == KIND_WHITESPACE || kind == KIND_NEW_LINE ? TYPE_WHITESPACE : TYPE_NONE;
+      table.add(start, index - start, startLine, startColumn, type);
+    }
+    table.add(length, 0, line, column, TYPE_EOF);
+    return table;
+  }
+
+  private static int kind(char c) {
+    if (c == ' ' || c == '\t') {
+      return KIND_WHITESPACE;
+    }
+    if (c == '\n' || c == '\r') {
+      return KIND_NEW_LINE;
+    }
+    if (c == '.') {
+      return KIND_SEPARATOR;
+    }
+    return KIND_WORD;
+  }
+
+  private void add(int offset, int length, int line, int column, int type) {
+    if (size == offsets.length) {
+      int capacity = size * 2;
+      offsets = Arrays.copyOf(offsets, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      lines = Arrays.copyOf(lines, capacity);
+      columns = Arrays.copyOf(columns, capacity);
+      types = Arrays.copyOf(types, capacity);
+    }
+    offsets[size] = offset;
+    lengths[size] = length;
+    lines[size] = line;
+    columns[size] = column;
+    types[size] = type;
+    size++;
+  }
+
+  String source() {
+    return source;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int offset(int index) {
+    return offsets[index];
+  }
+
+  int length(int index) {
+    return lengths[index];
+  }
+
+  int line(int index) {
+    return lines[index];
+  }
+
+  int column(int index) {
+    return columns[index];
+  }
+
+  int type(int index) {
+    return types[index];
+  }
+
+  String lexeme(int index) {
+    return source.substring(offsets[index], offsets[index] + lengths[index]);
+  }
+}
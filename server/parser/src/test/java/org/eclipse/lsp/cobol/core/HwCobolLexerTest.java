@@ -22,8 +22,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.eclipse.lsp.cobol.core.hw.GrammarRule;
 import org.eclipse.lsp.cobol.core.hw.Token;
+import org.eclipse.lsp.cobol.core.hw.TokenType;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 /**
  * test hw lexer
  */
@@ -56,6 +60,26 @@ class HwCobolLexerTest {
     assertFalse(lexer.hasMore());
   }
 
+  @Test
+  void lookaheadDoesNotMoveForward() {
+    CobolLexer lexer = new CobolLexer("A.. B\r\n\n");
+    Token peeked = lexer.peek(GrammarRule.ProgramUnit).get(0);
+    assertSame(peeked, lexer.peek(GrammarRule.ProgramUnit).get(0));
+    assertEquals(Arrays.asList("A", "..", "B"), lexer.peekSeq(GrammarRule.ProgramUnit, 3,
+        t -> t.getType() == TokenType.WHITESPACE).stream().map(Token::getLexeme).collect(Collectors.toList()));
+    assertSame(peeked, lexer.forward(GrammarRule.ProgramUnit).get(0));
+    assertToken(lexer.forward(GrammarRule.ProgramUnit).get(0), "..", 0, 1);
+    assertToken(lexer.forward(GrammarRule.ProgramUnit).get(0), " ", 0, 3);
+    assertToken(lexer.forward(GrammarRule.ProgramUnit).get(0), "B", 0, 4);
+    Token newLine = lexer.forward(GrammarRule.ProgramUnit).get(0);
+    assertToken(newLine, "\r\n\n", 0, 5);
+    assertEquals(TokenType.WHITESPACE, newLine.getType());
+    assertEquals(5, newLine.getStartIndex());
+    assertFalse(lexer.hasMore());
+    assertEquals(TokenType.EOF, lexer.forward(GrammarRule.ProgramUnit).get(0).getType());
+    assertToken(lexer.peek(GrammarRule.ProgramUnit).get(0), "", 2, 0);
+  }
+
   private static void assertToken(Token token, String lexeme, int line, int charPos) {
     assertEquals(lexeme, token.getLexeme());
     assertEquals(line, token.getLine());
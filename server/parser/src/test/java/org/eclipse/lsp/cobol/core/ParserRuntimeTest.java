@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test {@link ParserRuntime}
+ */
+class ParserRuntimeTest {
+
+  @Test
+  void testParsersShareTheCachesUntilTrimmed() {
+    CobolParser first = parser();
+    CobolParser second = parser();
+    ParserRuntime.attach(first);
+    ParserRuntime.attach(second);
+    assertSame(first.getInterpreter().decisionToDFA, second.getInterpreter().decisionToDFA);
+    assertSame(((CobolLexer) first.getTokenStream().getTokenSource()).getInterpreter().decisionToDFA,
+        ((CobolLexer) second.getTokenStream().getTokenSource()).getInterpreter().decisionToDFA);
+
+    first.startRule();
+    assertTrue(ParserRuntime.getCacheSizes().get("CobolParser.g4").getDfaStates() > 0);
+
+    ParserRuntime.trim();
+    assertEquals(0, ParserRuntime.getCacheSizes().get("CobolParser.g4").getDfaStates());
+    CobolParser third = parser();
+    ParserRuntime.attach(third);
+    assertTrue(third.getInterpreter().decisionToDFA != first.getInterpreter().decisionToDFA);
+  }
+
+  private static CobolParser parser() {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString("ID DIVISION. PROGRAM-ID. Pr1.\n"));
+    lexer.removeErrorListeners();
+    CobolParser parser = new CobolParser(new CommonTokenStream(lexer));
+    parser.removeErrorListeners();
+    return parser;
+  }
+}
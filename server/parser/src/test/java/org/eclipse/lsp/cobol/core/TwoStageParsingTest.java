@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import org.antlr.v4.runtime.*;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageServiceProvider;
+import org.eclipse.lsp.cobol.common.message.MessageTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test {@link TwoStageParsing}
+ */
+class TwoStageParsingTest {
+
+  @Test
+  void testCorrectInputIsParsedBySll() {
+    List<String> errors = new ArrayList<>();
+    long fallbacks = fallbacks();
+
+    CobolParser.StartRuleContext tree = TwoStageParsing.parse(parser("ID DIVISION. PROGRAM-ID. Pr1.\n", errors),
+        new DefaultErrorStrategy(), CobolParser::startRule);
+
+    assertNull(tree.exception);
+    assertTrue(errors.isEmpty());
+    assertEquals(fallbacks, fallbacks());
+    assertTrue(TwoStageParsing.getStatistics().get("CobolParser.g4").getSllParses() > 0);
+  }
+
+  @Test
+  void testIncorrectInputFallsBackToLl() {
+    List<String> errors = new ArrayList<>();
+    long fallbacks = fallbacks();
+
+    TwoStageParsing.parse(parser("ID DIVISION. PROGRAM-ID. Pr1.\nPROCEDURE DIVISION.\n    DISPLAY.\n", errors),
+        new DefaultErrorStrategy(), CobolParser::startRule);
+
+    assertFalse(errors.isEmpty());
+    assertEquals(fallbacks + 1, fallbacks());
+  }
+
+  @Test
+  void testGrammarActionsGetMessagesFromCallerStrategy() {
+    List<String> errors = new ArrayList<>();
+
+    TwoStageParsing.parse(parser("ID DIVISION. PROGRAM-ID. Pr1.\nDATA DIVISION.\nWORKING-STORAGE SECTION.\n"
+            + "01 A2345678901234567890123456789012345678901234567890.\n", errors),
+        new MessageErrorStrategy(), CobolParser::startRule);
+
+    assertEquals(1, errors.size());
+    assertEquals("parsers.maxLength", errors.get(0));
+  }
+
+  private static long fallbacks() {
+    TwoStageParsing.Statistics statistics = TwoStageParsing.getStatistics().get("CobolParser.g4");
+    return statistics == null ? 0 : statistics.getFallbacks();
+  }
+
+  private static CobolParser parser(String text, List<String> errors) {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    CobolParser parser = new CobolParser(new CommonTokenStream(lexer));
+    parser.removeErrorListeners();
+    parser.addErrorListener(new BaseErrorListener() {
+      @Override
+      public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                              String msg, RecognitionException e) {
+        errors.add(msg);
+      }
+    });
+    return parser;
+  }
+
+  /**
+   * The error strategy that provides the message service as the ones of the language server do. The messages are the
+   * message keys.
+   */
+  private static class MessageErrorStrategy extends DefaultErrorStrategy implements MessageServiceProvider {
+    @Override
+    public MessageService getMessageService() {
+      return new MessageService() {
+        @Override
+        public String getMessage(String key, Object... parameters) {
+          return key;
+        }
+
+        @Override
+        public String localizeTemplate(MessageTemplate template) {
+          return template.getTemplate();
+        }
+
+        @Override
+        public void reloadMessages() {
+        }
+      };
+    }
+  }
+}
@@ -25,7 +25,12 @@ import org.eclipse.lsp.cobol.core.hw.CobolLexer;
 import org.eclipse.lsp.cobol.core.hw.CobolParser;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -43,7 +48,7 @@ class ProgramsTest {
     SourceUnit su = new CobolParser(new CobolLexer(program)).parse().getSourceUnit();
     org.eclipse.lsp.cobol.core.CobolParser.StartRuleContext migrated = new AntlrAdapter(
             mock(BaseErrorListener.class),
-            mock(DefaultErrorStrategy.class),
+            () -> mock(DefaultErrorStrategy.class),
             mock(ParseTreeListener.class)).sourceUnitToStartRule(su);
 
 
@@ -55,6 +60,59 @@ class ProgramsTest {
     assertEquals(antlrPu.getChildCount(), migratedPu.getChildCount());
   }
 
+  @Test
+  void testDivisionErrorsAreReportedInDocumentOrder() {
+    final String nestedProgram = "ID DIVISION. PROGRAM-ID. Pr2.\n"
+            + "PROCEDURE DIVISION.\n"
+            + "    DISPLAY.\n"
+            + "END PROGRAM Pr2.\n";
+    final String program = "ID DIVISION. PROGRAM-ID. Pr1.\n"
+            + "PROCEDURE DIVISION.\n"
+            + "    DISPLAY.\n"
+            + nestedProgram
+            + "END PROGRAM Pr1.\n";
+    List<Integer> errorLines = new ArrayList<>();
+    BaseErrorListener listener = new BaseErrorListener() {
+      @Override
+      public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                              String msg, RecognitionException e) {
+        errorLines.add(line);
+      }
+    };
+
+    SourceUnit su = new CobolParser(new CobolLexer(program)).parse().getSourceUnit();
+    new AntlrAdapter(listener, DefaultErrorStrategy::new, mock(ParseTreeListener.class)).sourceUnitToStartRule(su);
+
+    assertFalse(errorLines.isEmpty());
+    List<Integer> sorted = new ArrayList<>(errorLines);
+    sorted.sort(Integer::compareTo);
+    assertEquals(sorted, errorLines);
+  }
+
+  @Test
+  void testDivisionTokensPointToOriginalSource() {
+    final String program = "ID DIVISION. PROGRAM-ID. Pr1.\n"
+            + "PROCEDURE DIVISION.\n"
+            + "    DISPLAY 'A'.\n";
+    SourceUnit su = new CobolParser(new CobolLexer(program)).parse().getSourceUnit();
+    org.eclipse.lsp.cobol.core.CobolParser.StartRuleContext migrated = new AntlrAdapter(
+            mock(BaseErrorListener.class), DefaultErrorStrategy::new, mock(ParseTreeListener.class))
+            .sourceUnitToStartRule(su);
+
+    ParseTree programUnit = migrated.getChild(0).getChild(0);
+    ParserRuleContext procedureDivision = null;
+    for (int i = 0; i < programUnit.getChildCount(); i++) {
+      if (programUnit.getChild(i) instanceof org.eclipse.lsp.cobol.core.CobolParser.ProcedureDivisionContext) {
+        procedureDivision = (ParserRuleContext) programUnit.getChild(i);
+      }
+    }
+    assertNotNull(procedureDivision);
+    assertEquals(2, procedureDivision.start.getLine());
+    assertEquals(0, procedureDivision.start.getCharPositionInLine());
+    assertEquals(program.indexOf("PROCEDURE"), procedureDivision.start.getStartIndex());
+    assertEquals("PROCEDURE", procedureDivision.start.getText());
+  }
+
   org.eclipse.lsp.cobol.core.CobolParser.StartRuleContext antlrParse(String input) {
     org.eclipse.lsp.cobol.core.CobolLexer antlrLexer = new org.eclipse.lsp.cobol.core.CobolLexer(CharStreams.fromString(input));
     antlrLexer.removeErrorListeners();